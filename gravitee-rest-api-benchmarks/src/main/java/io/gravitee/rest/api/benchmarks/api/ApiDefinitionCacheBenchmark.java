@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.benchmarks.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.rest.api.service.impl.definition.ApiDefinitionCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading of an API definition, either parsed from its JSON text as before the definition cache, or bound from the
+ * tokens kept by the {@link ApiDefinitionCache}. Both give a new definition instance on each call.
+ *
+ * Run with <code>java -jar target/benchmarks.jar ApiDefinitionCacheBenchmark -prof gc</code> to get the
+ * allocations per read too.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ApiDefinitionCacheBenchmark {
+
+    @Param({"50", "500"})
+    private int operations;
+
+    private final ObjectMapper objectMapper = new GraviteeMapper();
+
+    private ApiDefinitionCache cache;
+
+    private Api api;
+
+    @Setup
+    public void setup() throws Exception {
+        api = SyntheticApi.generate(0, 0, 0, operations).getApi();
+        cache = new ApiDefinitionCache(objectMapper);
+        cache.get(api);
+    }
+
+    @Benchmark
+    public io.gravitee.definition.model.Api parse() throws IOException {
+        return objectMapper.readValue(api.getDefinition(), io.gravitee.definition.model.Api.class);
+    }
+
+    @Benchmark
+    public io.gravitee.definition.model.Api cached() throws IOException {
+        return cache.get(api);
+    }
+}
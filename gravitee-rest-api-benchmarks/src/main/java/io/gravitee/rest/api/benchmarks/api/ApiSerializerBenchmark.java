@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.benchmarks.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.gravitee.rest.api.model.api.ApiEntity;
+import io.gravitee.rest.api.service.jackson.ser.api.ApiSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of an API entity by each of the export serializers, the plans, pages, members and metadata being
+ * read from in-memory services.
+ *
+ * Run with <code>java -jar target/benchmarks.jar ApiSerializerBenchmark -prof gc</code> to get the allocations
+ * per serialization too.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ApiSerializerBenchmark {
+
+    /**
+     * The number of plans, pages and members of the API.
+     */
+    @Param({"10", "100"})
+    private int count;
+
+    @Param({"50", "500"})
+    private int operations;
+
+    @Param({"default", "3.0", "1.25", "1.20", "1.15"})
+    private String version;
+
+    private InMemoryManagement management;
+
+    private ApiEntity api;
+
+    @Setup
+    public void setup() throws Exception {
+        management = new InMemoryManagement(SyntheticApi.generate(count, count, count, operations));
+
+        api = management.getApiService().findById(SyntheticApi.API_ID);
+        final Map<String, Object> metadata = new HashMap<>();
+        metadata.put(ApiSerializer.METADATA_EXPORT_VERSION, version);
+        metadata.put(ApiSerializer.METADATA_FILTERED_FIELDS_LIST, Collections.emptyList());
+        api.setMetadata(metadata);
+    }
+
+    @TearDown
+    public void tearDown() {
+        management.shutdown();
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return management.getObjectMapper().writeValueAsString(api);
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.benchmarks.api;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.gravitee.rest.api.model.ImportSwaggerDescriptorEntity;
+import io.gravitee.rest.api.model.api.ApiEntity;
+import io.gravitee.rest.api.model.api.SwaggerApiEntity;
+import io.gravitee.rest.api.service.jackson.ser.api.ApiSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Export and import of APIs of a given number of plans, pages and members, and of operations, through the API and
+ * swagger services running against in-memory repositories.
+ *
+ * Run with <code>java -jar target/benchmarks.jar ImportExportBenchmark -prof gc</code> to get the allocations
+ * per operation too.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ImportExportBenchmark {
+
+    /**
+     * The number of plans, pages and members of the API.
+     */
+    @Param({"10", "100"})
+    private int count;
+
+    @Param({"50", "500"})
+    private int operations;
+
+    /**
+     * Whether the operations of the descriptor are visited by the policy visitors, see {@link PolicyVisitors}.
+     */
+    @Param({"false", "true"})
+    private boolean withPolicies;
+
+    private InMemoryManagement management;
+
+    private ApiEntity api;
+
+    private String definition;
+
+    private String newDefinition;
+
+    private ImportSwaggerDescriptorEntity descriptor;
+
+    @Setup
+    public void setup() throws Exception {
+        final SyntheticApi syntheticApi = SyntheticApi.generate(count, count, count, operations);
+        management = new InMemoryManagement(syntheticApi);
+
+        api = management.getApiService().findById(SyntheticApi.API_ID);
+        definition = management.getApiService().exportAsJson(SyntheticApi.API_ID, ApiSerializer.Version.DEFAULT.getVersion());
+        // without its id, the definition is imported as a new API
+        final ObjectNode node = (ObjectNode) management.getObjectMapper().readTree(definition);
+        node.remove("id");
+        newDefinition = management.getObjectMapper().writeValueAsString(node);
+
+        descriptor = new ImportSwaggerDescriptorEntity();
+        descriptor.setType(ImportSwaggerDescriptorEntity.Type.INLINE);
+        descriptor.setPayload(syntheticApi.getDescriptor());
+        descriptor.setWithPathMapping(true);
+        descriptor.setWithPolicyPaths(true);
+        descriptor.setWithPolicies(withPolicies ? new ArrayList<>(PolicyVisitors.IDS) : Collections.emptyList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        management.shutdown();
+    }
+
+    @Benchmark
+    public String exportAsJson() {
+        return management.getApiService().exportAsJson(SyntheticApi.API_ID, ApiSerializer.Version.DEFAULT.getVersion());
+    }
+
+    @Benchmark
+    public ApiEntity createWithImportedDefinition() {
+        final ApiEntity created = management.getApiService()
+                .createWithImportedDefinition(null, newDefinition, SyntheticApi.PRIMARY_OWNER);
+        // keep the repository at a single API, whatever the number of invocations
+        management.delete(created.getId());
+        return created;
+    }
+
+    @Benchmark
+    public ApiEntity updateWithImportedDefinition() {
+        return management.getApiService().updateWithImportedDefinition(api, definition, SyntheticApi.PRIMARY_OWNER);
+    }
+
+    @Benchmark
+    public SwaggerApiEntity createApiFromDescriptor() {
+        return management.getSwaggerService(false).createAPI(descriptor);
+    }
+
+    @Benchmark
+    public SwaggerApiEntity createApiFromCachedDescriptor() {
+        return management.getSwaggerService(true).createAPI(descriptor);
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.benchmarks.api;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.rest.api.model.*;
+import io.gravitee.rest.api.model.api.ApiEntity;
+import io.gravitee.rest.api.model.documentation.PageQuery;
+import io.gravitee.rest.api.model.parameters.Key;
+import io.gravitee.rest.api.service.*;
+import io.gravitee.rest.api.service.impl.ApiServiceImpl;
+import io.gravitee.rest.api.service.impl.SwaggerServiceImpl;
+import io.gravitee.rest.api.service.impl.definition.ApiDefinitionCache;
+import io.gravitee.rest.api.service.impl.swagger.SwaggerDescriptorCache;
+import io.gravitee.rest.api.service.impl.swagger.policy.PolicyOperationVisitorManager;
+import io.gravitee.rest.api.service.jackson.filter.ApiPermissionFilter;
+import io.gravitee.rest.api.service.jackson.ser.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The API and swagger services wired as Spring would, with the APIs kept in memory by the repository and the other
+ * services stubbed to answer with the plans, pages, members and metadata of a {@link SyntheticApi}.
+ *
+ * The stubs do not record their invocations, so that the measures only grow with the work of the services.
+ *
+ * @author GraviteeSource Team
+ */
+public final class InMemoryManagement {
+
+    private final Map<Class<?>, Object> beans = new HashMap<>();
+
+    private final Map<String, Api> apis = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper = new GraviteeMapper();
+
+    private final ApiServiceImpl apiService = new ApiServiceImpl();
+
+    private final SwaggerServiceImpl swaggerService = new SwaggerServiceImpl();
+
+    private final SwaggerServiceImpl uncachedSwaggerService = new SwaggerServiceImpl();
+
+    public InMemoryManagement(SyntheticApi api) throws Exception {
+        beans.put(ObjectMapper.class, objectMapper);
+        beans.put(ApiDefinitionCache.class, new ApiDefinitionCache(objectMapper));
+        beans.put(ApiRepository.class, apiRepository());
+        beans.put(ApplicationContext.class, applicationContext());
+        beans.put(PolicyOperationVisitorManager.class, PolicyVisitors.manager());
+        registerSerializers();
+
+        inject(apiService);
+        inject(swaggerService, new SwaggerDescriptorCache(33554432, 600));
+        // no descriptor is kept by an empty cache, so that each import parses its descriptor again
+        inject(uncachedSwaggerService, new SwaggerDescriptorCache(0, 600));
+        swaggerService.afterPropertiesSet();
+        uncachedSwaggerService.afterPropertiesSet();
+
+        stub(api);
+        apis.put(api.getApi().getId(), api.getApi());
+    }
+
+    public ApiServiceImpl getApiService() {
+        return apiService;
+    }
+
+    public SwaggerServiceImpl getSwaggerService(boolean cacheDescriptors) {
+        return cacheDescriptors ? swaggerService : uncachedSwaggerService;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public void delete(String apiId) {
+        apis.remove(apiId);
+    }
+
+    public void shutdown() {
+        swaggerService.destroy();
+        uncachedSwaggerService.destroy();
+    }
+
+    private ApiRepository apiRepository() throws Exception {
+        final ApiRepository apiRepository = stub(ApiRepository.class);
+        when(apiRepository.findById(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(apis.get(invocation.<String>getArgument(0))));
+        when(apiRepository.create(any(Api.class))).thenAnswer(invocation -> save(invocation.getArgument(0)));
+        when(apiRepository.update(any(Api.class))).thenAnswer(invocation -> save(invocation.getArgument(0)));
+        return apiRepository;
+    }
+
+    private Api save(Api api) {
+        apis.put(api.getId(), api);
+        return api;
+    }
+
+    private ApplicationContext applicationContext() {
+        final ApplicationContext applicationContext = stub(ApplicationContext.class);
+        when(applicationContext.getBean(any(Class.class))).thenAnswer(invocation -> beans.get(invocation.<Class<?>>getArgument(0)));
+        return applicationContext;
+    }
+
+    /**
+     * Same serializers as the ones registered on the mapper of the management API, see
+     * <code>ServiceConfiguration.objectMapper()</code>.
+     */
+    private void registerSerializers() {
+        objectMapper.setFilterProvider(new SimpleFilterProvider(
+                Collections.singletonMap("apiMembershipTypeFilter", new ApiPermissionFilter())));
+        objectMapper.enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS);
+
+        final List<ApiSerializer> serializers = Arrays.asList(new ApiDefaultSerializer(), new Api1_15VersionSerializer(),
+                new Api1_20VersionSerializer(), new Api1_25VersionSerializer(), new Api3_0VersionSerializer());
+        serializers.forEach(serializer -> serializer.setApplicationContext((ApplicationContext) beans.get(ApplicationContext.class)));
+        final ApiCompositeSerializer apiCompositeSerializer = new ApiCompositeSerializer();
+        apiCompositeSerializer.setSerializers(serializers);
+
+        final SimpleModule module = new SimpleModule();
+        module.addSerializer(ApiEntity.class, apiCompositeSerializer);
+        objectMapper.registerModule(module);
+    }
+
+    private void stub(SyntheticApi api) {
+        final ParameterService parameterService = bean(ParameterService.class);
+        when(parameterService.find(Key.PORTAL_ENTRYPOINT)).thenReturn(Key.PORTAL_ENTRYPOINT.defaultValue());
+
+        final VirtualHostService virtualHostService = bean(VirtualHostService.class);
+        when(virtualHostService.sanitizeAndValidate(any())).then(returnsFirstArg());
+        when(virtualHostService.sanitizeAndValidate(any(), any())).then(returnsFirstArg());
+
+        final RoleService roleService = bean(RoleService.class);
+        when(roleService.findByScopeAndName(any(), anyString())).thenAnswer(invocation -> {
+            final RoleEntity role = new RoleEntity();
+            role.setId("API_" + invocation.<String>getArgument(1));
+            role.setName(invocation.getArgument(1));
+            return Optional.of(role);
+        });
+
+        final UserService userService = bean(UserService.class);
+        when(userService.findById(anyString())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        when(userService.findBySource(anyString(), anyString(), anyBoolean())).thenAnswer(invocation -> user(invocation.getArgument(1)));
+        when(userService.findByIds(anyList(), anyBoolean())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0)
+                .stream()
+                .map(InMemoryManagement::user)
+                .collect(Collectors.toSet()));
+
+        final MembershipService membershipService = bean(MembershipService.class);
+        final MembershipEntity primaryOwner = new MembershipEntity();
+        primaryOwner.setMemberId(SyntheticApi.PRIMARY_OWNER);
+        primaryOwner.setRoleId(SyntheticApi.PRIMARY_OWNER_ROLE);
+        when(membershipService.getPrimaryOwner(eq(MembershipReferenceType.API), anyString())).thenReturn(primaryOwner);
+        when(membershipService.getMembersByReference(eq(MembershipReferenceType.API), anyString())).thenReturn(api.getMembers());
+        when(membershipService.getMembersByReferencesAndRole(eq(MembershipReferenceType.API), anyList(), anyString()))
+                .thenAnswer(invocation -> invocation.<List<String>>getArgument(1)
+                        .stream()
+                        .map(apiId -> {
+                            final MemberEntity member = SyntheticApi.member(SyntheticApi.PRIMARY_OWNER, SyntheticApi.PRIMARY_OWNER_ROLE);
+                            member.setReferenceId(apiId);
+                            return member;
+                        })
+                        .collect(Collectors.toSet()));
+
+        when(bean(PlanService.class).findByApi(anyString())).thenReturn(api.getPlans());
+        when(bean(PageService.class).search(any(PageQuery.class), eq(true))).thenReturn(api.getPages());
+        when(bean(ApiMetadataService.class).findAllByApi(anyString())).thenReturn(api.getMetadata());
+    }
+
+    private static UserEntity user(String id) {
+        final UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setSource(SyntheticApi.USER_SOURCE);
+        user.setSourceId(id);
+        user.setEmail(id + "@benchmark.gravitee.io");
+        return user;
+    }
+
+    /**
+     * Set the autowired fields of the service, with the given beans first, then with the shared ones.
+     */
+    private void inject(Object service, Object... overrides) throws IllegalAccessException {
+        for (Class<?> type = service.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Autowired.class)) {
+                    final Object bean = Arrays.stream(overrides)
+                            .filter(field.getType()::isInstance)
+                            .findFirst()
+                            .orElseGet(() -> bean(field.getType()));
+                    field.setAccessible(true);
+                    field.set(service, bean);
+                }
+            }
+        }
+    }
+
+    private <T> T bean(Class<T> type) {
+        return type.cast(beans.computeIfAbsent(type, InMemoryManagement::stub));
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.benchmarks.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.gravitee.policy.api.swagger.Policy;
+import io.gravitee.policy.api.swagger.v3.OAIOperationVisitor;
+import io.gravitee.rest.api.service.impl.swagger.policy.PolicyOperationVisitor;
+import io.gravitee.rest.api.service.impl.swagger.policy.PolicyOperationVisitorManager;
+import io.gravitee.rest.api.service.impl.swagger.policy.impl.PolicyOperationVisitorManagerImpl;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The operation visitors of the policies bundled with the distribution which generate a configuration from the
+ * descriptor, i.e. the mock and the JSON validation ones. The plugins are not available to the benchmarks, so these
+ * visitors do the same work: resolving the schema of the operation, then writing a configuration from it.
+ *
+ * @author GraviteeSource Team
+ */
+public final class PolicyVisitors {
+
+    public static final List<String> IDS = Arrays.asList("mock", "json-validation");
+
+    private PolicyVisitors() {
+    }
+
+    public static PolicyOperationVisitorManager manager() {
+        final PolicyOperationVisitorManager manager = new PolicyOperationVisitorManagerImpl();
+        manager.add(visitor("mock", new MockVisitor()));
+        manager.add(visitor("json-validation", new JsonValidationVisitor()));
+        return manager;
+    }
+
+    private static PolicyOperationVisitor visitor(String id, OAIOperationVisitor oaiOperationVisitor) {
+        final PolicyOperationVisitor visitor = new PolicyOperationVisitor();
+        visitor.setId(id);
+        visitor.setName(id);
+        visitor.setOaiOperationVisitor(oaiOperationVisitor);
+        return visitor;
+    }
+
+    /**
+     * Mocks the first response of the operation, with a sample of its JSON schema as content.
+     */
+    private static class MockVisitor implements OAIOperationVisitor {
+
+        @Override
+        public Optional<Policy> visit(OpenAPI descriptor, Operation operation) {
+            if (operation.getResponses() == null || operation.getResponses().isEmpty()) {
+                return Optional.empty();
+            }
+            final String status = operation.getResponses().keySet().iterator().next();
+            final ApiResponse response = operation.getResponses().get(status);
+            final Schema<?> schema = jsonSchema(descriptor, response.getContent());
+
+            final ObjectNode configuration = Json.mapper().createObjectNode();
+            configuration.put("status", status);
+            if (schema != null) {
+                configuration.set("content", sample(descriptor, schema));
+            }
+            return policy("mock", configuration.toString());
+        }
+
+        private ObjectNode sample(OpenAPI descriptor, Schema<?> schema) {
+            final ObjectNode sample = Json.mapper().createObjectNode();
+            if (schema.getProperties() != null) {
+                schema.getProperties().forEach((name, property) -> {
+                    final Schema<?> resolved = resolve(descriptor, property);
+                    if ("object".equals(resolved.getType())) {
+                        sample.set(name, sample(descriptor, resolved));
+                    } else {
+                        sample.put(name, resolved.getExample() == null ? name : resolved.getExample().toString());
+                    }
+                });
+            }
+            return sample;
+        }
+    }
+
+    /**
+     * Validates the request body of the operation against its JSON schema.
+     */
+    private static class JsonValidationVisitor implements OAIOperationVisitor {
+
+        @Override
+        public Optional<Policy> visit(OpenAPI descriptor, Operation operation) {
+            if (operation.getRequestBody() == null) {
+                return Optional.empty();
+            }
+            final Schema<?> schema = jsonSchema(descriptor, operation.getRequestBody().getContent());
+            if (schema == null) {
+                return Optional.empty();
+            }
+
+            final ObjectNode configuration = Json.mapper().createObjectNode();
+            configuration.put("scope", "REQUEST_CONTENT");
+            try {
+                configuration.put("schema", Json.mapper().writeValueAsString(schema));
+            } catch (JsonProcessingException jpe) {
+                return Optional.empty();
+            }
+            return policy("json-validation", configuration.toString());
+        }
+    }
+
+    private static Schema<?> jsonSchema(OpenAPI descriptor, Content content) {
+        if (content == null) {
+            return null;
+        }
+        final MediaType mediaType = content.get("application/json");
+        return mediaType == null || mediaType.getSchema() == null ? null : resolve(descriptor, mediaType.getSchema());
+    }
+
+    private static Schema<?> resolve(OpenAPI descriptor, Schema<?> schema) {
+        if (schema.get$ref() == null || descriptor.getComponents() == null || descriptor.getComponents().getSchemas() == null) {
+            return schema;
+        }
+        final String name = schema.get$ref().substring(schema.get$ref().lastIndexOf('/') + 1);
+        final Schema<?> resolved = descriptor.getComponents().getSchemas().get(name);
+        return resolved == null ? schema : resolved;
+    }
+
+    private static Optional<Policy> policy(String name, String configuration) {
+        final Policy policy = new Policy();
+        policy.setName(name);
+        policy.setConfiguration(configuration);
+        return Optional.of(policy);
+    }
+}
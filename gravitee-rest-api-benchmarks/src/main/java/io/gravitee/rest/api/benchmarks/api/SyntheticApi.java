@@ -0,0 +1,256 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.benchmarks.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.definition.model.*;
+import io.gravitee.definition.model.endpoint.HttpEndpoint;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.ApiLifecycleState;
+import io.gravitee.repository.management.model.LifecycleState;
+import io.gravitee.repository.management.model.Visibility;
+import io.gravitee.rest.api.model.*;
+
+import java.util.*;
+
+/**
+ * An API as stored by the repository, with its plans, pages, members and metadata, and the OpenAPI descriptor of
+ * its operations. Each operation of the descriptor is a path of the API with a rate-limit rule, and the first page
+ * is the swagger page holding the descriptor, as the APIs created from an import of their specification are.
+ *
+ * @author GraviteeSource Team
+ */
+public final class SyntheticApi {
+
+    public static final String API_ID = "6a0b8d32-2a9c-4f5e-9d47-6f0e3c1b2a71";
+    public static final String PRIMARY_OWNER = "admin";
+    public static final String USER_SOURCE = "memory";
+
+    static final String PRIMARY_OWNER_ROLE = "API_PRIMARY_OWNER";
+    static final String USER_ROLE = "API_USER";
+
+    private static final String RATE_LIMIT = "{\"rate\":{\"limit\":10,\"periodTime\":1,\"periodTimeUnit\":\"SECONDS\"}}";
+
+    private final Api api;
+    private final Set<PlanEntity> plans;
+    private final List<PageEntity> pages;
+    private final Set<MemberEntity> members;
+    private final List<ApiMetadataEntity> metadata;
+    private final String descriptor;
+
+    private SyntheticApi(Api api, Set<PlanEntity> plans, List<PageEntity> pages, Set<MemberEntity> members,
+                         List<ApiMetadataEntity> metadata, String descriptor) {
+        this.api = api;
+        this.plans = plans;
+        this.pages = pages;
+        this.members = members;
+        this.metadata = metadata;
+        this.descriptor = descriptor;
+    }
+
+    public static SyntheticApi generate(int plans, int pages, int members, int operations) throws JsonProcessingException {
+        final String descriptor = descriptor(operations);
+        return new SyntheticApi(api(operations), plans(plans), pages(pages, descriptor), members(members),
+                metadata(), descriptor);
+    }
+
+    private static Api api(int operations) throws JsonProcessingException {
+        final HttpEndpoint endpoint = new HttpEndpoint("default", "https://backend.benchmark.gravitee.io");
+        final EndpointGroup group = new EndpointGroup();
+        group.setName("default-group");
+        group.setEndpoints(new LinkedHashSet<>(Collections.singletonList(endpoint)));
+        final LoadBalancer loadBalancer = new LoadBalancer();
+        loadBalancer.setType(LoadBalancerType.ROUND_ROBIN);
+        group.setLoadBalancer(loadBalancer);
+
+        final Proxy proxy = new Proxy();
+        proxy.setVirtualHosts(new ArrayList<>(Collections.singletonList(new VirtualHost("/benchmark"))));
+        proxy.setStripContextPath(false);
+        proxy.setGroups(new LinkedHashSet<>(Collections.singletonList(group)));
+
+        final Map<String, Path> paths = new LinkedHashMap<>();
+        paths.put("/", path("/", HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE));
+        for (int i = 0; i < operations; i++) {
+            final String name = "/resources-" + i + "/:id";
+            paths.put(name, path(name, HttpMethod.GET, HttpMethod.PUT, HttpMethod.DELETE));
+        }
+
+        final io.gravitee.definition.model.Api definition = new io.gravitee.definition.model.Api();
+        definition.setId(API_ID);
+        definition.setName("Benchmark");
+        definition.setVersion("1.0.0");
+        definition.setProxy(proxy);
+        definition.setPaths(paths);
+
+        final Api api = new Api();
+        api.setId(API_ID);
+        api.setEnvironmentId("DEFAULT");
+        api.setName("Benchmark");
+        api.setVersion("1.0.0");
+        api.setDescription("An API of " + operations + " operations");
+        api.setVisibility(Visibility.PUBLIC);
+        api.setLifecycleState(LifecycleState.STARTED);
+        api.setApiLifecycleState(ApiLifecycleState.PUBLISHED);
+        api.setLabels(Arrays.asList("benchmark", "synthetic"));
+        api.setCreatedAt(new Date());
+        api.setUpdatedAt(api.getCreatedAt());
+        api.setDefinition(new GraviteeMapper().writeValueAsString(definition));
+        return api;
+    }
+
+    private static Path path(String name, HttpMethod... methods) {
+        final Policy policy = new Policy();
+        policy.setName("rate-limit");
+        policy.setConfiguration(RATE_LIMIT);
+        final Rule rule = new Rule();
+        rule.setEnabled(true);
+        rule.setMethods(new HashSet<>(Arrays.asList(methods)));
+        rule.setPolicy(policy);
+
+        final Path path = new Path();
+        path.setPath(name);
+        path.setRules(new ArrayList<>(Collections.singletonList(rule)));
+        return path;
+    }
+
+    private static Set<PlanEntity> plans(int count) {
+        final Set<PlanEntity> plans = new LinkedHashSet<>(count);
+        for (int i = 0; i < count; i++) {
+            final PlanEntity plan = new PlanEntity();
+            plan.setId("plan-" + i);
+            plan.setApi(API_ID);
+            plan.setName("Plan " + i);
+            plan.setDescription("Plan " + i + " of the benchmark API");
+            plan.setType(PlanType.API);
+            plan.setSecurity(i % 2 == 0 ? PlanSecurityType.API_KEY : PlanSecurityType.KEY_LESS);
+            plan.setValidation(PlanValidationType.AUTO);
+            plan.setStatus(PlanStatus.PUBLISHED);
+            plan.setOrder(i);
+            plan.setCharacteristics(Arrays.asList("characteristic-" + i, "synthetic"));
+            plan.setPaths(Collections.singletonMap("/", path("/", HttpMethod.GET, HttpMethod.POST)));
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    private static List<PageEntity> pages(int count, String descriptor) {
+        final List<PageEntity> pages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final PageEntity page = new PageEntity();
+            page.setId("page-" + i);
+            page.setOrder(i);
+            page.setPublished(true);
+            if (i == 0) {
+                page.setName("Specification");
+                page.setType(PageType.SWAGGER.name());
+                page.setContent(descriptor);
+            } else {
+                page.setName("Page " + i);
+                page.setType(PageType.MARKDOWN.name());
+                page.setContent("# Page " + i + "\n\nThe documentation of the benchmark API, part " + i + ".\n");
+            }
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    private static Set<MemberEntity> members(int count) {
+        final Set<MemberEntity> members = new LinkedHashSet<>(count + 1);
+        members.add(member(PRIMARY_OWNER, PRIMARY_OWNER_ROLE));
+        for (int i = 0; i < count; i++) {
+            members.add(member("user-" + i, USER_ROLE));
+        }
+        return members;
+    }
+
+    static MemberEntity member(String id, String role) {
+        final RoleEntity roleEntity = new RoleEntity();
+        roleEntity.setId(role);
+        final MemberEntity member = new MemberEntity();
+        member.setId(id);
+        member.setReferenceType(MembershipReferenceType.API);
+        member.setReferenceId(API_ID);
+        member.setRoles(Collections.singletonList(roleEntity));
+        return member;
+    }
+
+    private static List<ApiMetadataEntity> metadata() {
+        final ApiMetadataEntity metadata = new ApiMetadataEntity();
+        metadata.setApiId(API_ID);
+        metadata.setKey("email-support");
+        metadata.setName("email-support");
+        metadata.setValue("support@benchmark.gravitee.io");
+        metadata.setDefaultValue("support@benchmark.gravitee.io");
+        metadata.setFormat(MetadataFormat.MAIL);
+        return Collections.singletonList(metadata);
+    }
+
+    private static String descriptor(int operations) {
+        final StringBuilder descriptor = new StringBuilder();
+        descriptor.append("{\"openapi\":\"3.0.0\",")
+                .append("\"info\":{\"title\":\"Benchmark\",\"version\":\"1.0.0\",\"description\":\"An API of ")
+                .append(operations).append(" operations\"},")
+                .append("\"servers\":[{\"url\":\"https://backend.benchmark.gravitee.io/v1\"}],")
+                .append("\"paths\":{");
+        for (int i = 0; i < operations; i++) {
+            if (i > 0) {
+                descriptor.append(',');
+            }
+            descriptor.append("\"/resources-").append(i).append("/{id}\":{")
+                    .append("\"parameters\":[{\"name\":\"id\",\"in\":\"path\",\"required\":true,\"schema\":{\"type\":\"string\"}}],")
+                    .append("\"get\":{\"operationId\":\"get").append(i).append("\",")
+                    .append("\"responses\":{\"200\":{\"description\":\"OK\",\"content\":{\"application/json\":")
+                    .append("{\"schema\":{\"$ref\":\"#/components/schemas/Resource\"}}}}}},")
+                    .append("\"put\":{\"operationId\":\"put").append(i).append("\",")
+                    .append("\"requestBody\":{\"content\":{\"application/json\":")
+                    .append("{\"schema\":{\"$ref\":\"#/components/schemas/Resource\"}}}},")
+                    .append("\"responses\":{\"204\":{\"description\":\"Updated\"}}},")
+                    .append("\"delete\":{\"operationId\":\"delete").append(i).append("\",")
+                    .append("\"responses\":{\"204\":{\"description\":\"Deleted\"}}}}");
+        }
+        descriptor.append("},\"components\":{\"schemas\":{\"Resource\":{\"type\":\"object\",\"properties\":{")
+                .append("\"id\":{\"type\":\"string\"},\"label\":{\"type\":\"string\"},")
+                .append("\"amount\":{\"type\":\"number\"},\"createdAt\":{\"type\":\"string\",\"format\":\"date-time\"}")
+                .append("}}}}}");
+        return descriptor.toString();
+    }
+
+    public Api getApi() {
+        return api;
+    }
+
+    public Set<PlanEntity> getPlans() {
+        return plans;
+    }
+
+    public List<PageEntity> getPages() {
+        return pages;
+    }
+
+    public Set<MemberEntity> getMembers() {
+        return members;
+    }
+
+    public List<ApiMetadataEntity> getMetadata() {
+        return metadata;
+    }
+
+    public String getDescriptor() {
+        return descriptor;
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.benchmarks.wsdl;
+
+/**
+ * Generates document/literal WSDLs of a given number of operations. The messages of all the operations share a
+ * chain of nested complex types, each level holding repeatable elements of the next one, as the enterprise WSDLs
+ * built around a common data model do.
+ *
+ * @author GraviteeSource Team
+ */
+public final class SyntheticWsdl {
+
+    private static final String XSD_NAMESPACE = "http://benchmark.gravitee.io/xsd";
+
+    private SyntheticWsdl() {
+    }
+
+    public static String generate(int operations, int depth) {
+        final StringBuilder wsdl = new StringBuilder();
+        wsdl.append("<?xml version=\"1.0\"?>\n")
+                .append("<definitions name=\"Benchmark\" targetNamespace=\"http://benchmark.gravitee.io/wsdl\"")
+                .append(" xmlns:tns=\"http://benchmark.gravitee.io/wsdl\" xmlns:xsd1=\"").append(XSD_NAMESPACE).append('"')
+                .append(" xmlns:soap=\"http://schemas.xmlsoap.org/wsdl/soap/\" xmlns=\"http://schemas.xmlsoap.org/wsdl/\"")
+                .append(" xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\">\n");
+
+        wsdl.append("<types>\n<schema targetNamespace=\"").append(XSD_NAMESPACE).append('"')
+                .append(" xmlns=\"http://www.w3.org/2001/XMLSchema\" xmlns:xsd1=\"").append(XSD_NAMESPACE).append('"')
+                .append(" elementFormDefault=\"qualified\">\n");
+        for (int level = 0; level < depth; level++) {
+            wsdl.append("<complexType name=\"Level").append(level).append("\"><sequence>")
+                    .append("<element name=\"id\" type=\"string\"/>")
+                    .append("<element name=\"label\" type=\"string\" minOccurs=\"0\"/>")
+                    .append("<element name=\"amount\" type=\"decimal\"/>")
+                    .append("<element name=\"createdAt\" type=\"dateTime\"/>");
+            if (level + 1 < depth) {
+                wsdl.append("<element name=\"items\" type=\"xsd1:Level").append(level + 1)
+                        .append("\" minOccurs=\"0\" maxOccurs=\"unbounded\"/>");
+            }
+            wsdl.append("</sequence></complexType>\n");
+        }
+        for (int i = 0; i < operations; i++) {
+            for (String kind : new String[]{"Request", "Response"}) {
+                wsdl.append("<element name=\"operation").append(i).append(kind).append("\"><complexType><sequence>")
+                        .append("<element name=\"reference\" type=\"string\"/>")
+                        .append("<element name=\"content\" type=\"xsd1:Level0\"/>")
+                        .append("</sequence></complexType></element>\n");
+            }
+        }
+        wsdl.append("</schema>\n</types>\n");
+
+        for (int i = 0; i < operations; i++) {
+            wsdl.append("<message name=\"operation").append(i).append("Input\"><part name=\"body\" element=\"xsd1:operation")
+                    .append(i).append("Request\"/></message>\n")
+                    .append("<message name=\"operation").append(i).append("Output\"><part name=\"body\" element=\"xsd1:operation")
+                    .append(i).append("Response\"/></message>\n");
+        }
+
+        wsdl.append("<portType name=\"BenchmarkPortType\">\n");
+        for (int i = 0; i < operations; i++) {
+            wsdl.append("<operation name=\"operation").append(i).append("\">")
+                    .append("<input message=\"tns:operation").append(i).append("Input\"/>")
+                    .append("<output message=\"tns:operation").append(i).append("Output\"/>")
+                    .append("</operation>\n");
+        }
+        wsdl.append("</portType>\n");
+
+        wsdl.append("<binding name=\"BenchmarkBinding\" type=\"tns:BenchmarkPortType\">\n")
+                .append("<soap:binding style=\"document\" transport=\"http://schemas.xmlsoap.org/soap/http\"/>\n");
+        for (int i = 0; i < operations; i++) {
+            wsdl.append("<operation name=\"operation").append(i).append("\">")
+                    .append("<soap:operation soapAction=\"http://benchmark.gravitee.io/operation").append(i).append("\"/>")
+                    .append("<input><soap:body use=\"literal\"/></input>")
+                    .append("<output><soap:body use=\"literal\"/></output>")
+                    .append("</operation>\n");
+        }
+        wsdl.append("</binding>\n");
+
+        wsdl.append("<service name=\"BenchmarkService\">")
+                .append("<port name=\"BenchmarkPort\" binding=\"tns:BenchmarkBinding\">")
+                .append("<soap:address location=\"http://benchmark.gravitee.io/soap\"/>")
+                .append("</port></service>\n")
+                .append("</definitions>\n");
+
+        return wsdl.toString();
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.benchmarks.wsdl;
+
+import io.gravitee.rest.api.spec.converter.wsdl.WSDLToOpenAPIConverter;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of large WSDLs to OpenAPI, with the default limits on the generated SOAP envelopes and without limits.
+ *
+ * Run with <code>java -jar target/benchmarks.jar WsdlConversionBenchmark -prof gc</code> to get the allocations
+ * per conversion too.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class WsdlConversionBenchmark {
+
+    @Param({"100", "500"})
+    private int operations;
+
+    @Param({"4", "8"})
+    private int depth;
+
+    private String wsdl;
+
+    @Setup
+    public void setup() {
+        wsdl = SyntheticWsdl.generate(operations, depth);
+    }
+
+    @Benchmark
+    public OpenAPI convert() {
+        return new WSDLToOpenAPIConverter().toOpenAPI(wsdl);
+    }
+
+    @Benchmark
+    public OpenAPI convertWithoutLimits() {
+        return new WSDLToOpenAPIConverter()
+                .withLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .toOpenAPI(wsdl);
+    }
+}
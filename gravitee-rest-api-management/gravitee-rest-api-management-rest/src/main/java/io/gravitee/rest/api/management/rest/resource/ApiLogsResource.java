@@ -31,6 +31,7 @@ import javax.inject.Inject;
 import javax.ws.rs.*;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import static java.lang.String.format;
 
@@ -59,19 +60,7 @@ public class ApiLogsResource extends AbstractResource {
     @Permissions({@Permission(value = RolePermission.API_LOG, acls = RolePermissionAction.READ)})
     public SearchLogResponse getApiLogs(
             @BeanParam LogsParam param) {
-
-        param.validate();
-
-        LogQuery logQuery = new LogQuery();
-        logQuery.setQuery(param.getQuery());
-        logQuery.setPage(param.getPage());
-        logQuery.setSize(param.getSize());
-        logQuery.setFrom(param.getFrom());
-        logQuery.setTo(param.getTo());
-        logQuery.setField(param.getField());
-        logQuery.setOrder(param.isOrder());
-
-        return logsService.findByApi(api, logQuery);
+        return logsService.findByApi(api, param.toQuery());
     }
 
     @GET
@@ -97,9 +86,10 @@ public class ApiLogsResource extends AbstractResource {
             @ApiResponse(code = 500, message = "Internal server error")})
     @Permissions({@Permission(value = RolePermission.API_LOG, acls = RolePermissionAction.READ)})
     public Response exportApiLogsAsCSV(@BeanParam LogsParam param) {
-        final SearchLogResponse searchLogResponse = getApiLogs(param);
+        final LogQuery logQuery = param.toQuery();
+        final StreamingOutput csv = output -> logsService.exportByApi(api, logQuery, output);
         return Response
-                .ok(logsService.exportAsCsv(searchLogResponse))
+                .ok(csv)
                 .header(HttpHeaders.CONTENT_DISPOSITION, format("attachment;filename=logs-%s-%s.csv", api, System.currentTimeMillis()))
                 .build();
     }
@@ -15,6 +15,8 @@
  */
 package io.gravitee.rest.api.management.rest.resource;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import io.gravitee.common.http.MediaType;
 import io.gravitee.rest.api.management.rest.security.Permission;
 import io.gravitee.rest.api.management.rest.security.Permissions;
@@ -43,8 +45,14 @@ import javax.validation.constraints.NotNull;
 import javax.ws.rs.*;
 import javax.ws.rs.container.ResourceContext;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -78,30 +86,57 @@ public class ApiPageResource extends AbstractResource {
             notes = "User must have the READ permission to use this service")
     @ApiResponses({
             @ApiResponse(code = 200, message = "Page"),
+            @ApiResponse(code = 304, message = "Page not modified"),
             @ApiResponse(code = 500, message = "Internal server error")})
-    public PageEntity getApiPage(
+    public Response getApiPage(
+                @Context Request request,
                 @HeaderParam("Accept-Language") String acceptLang,
                 @QueryParam("portal") boolean portal,
                 @QueryParam("translated") boolean translated) {
         final String acceptedLocale = HttpHeadersUtil.getFirstAcceptedLocaleName(acceptLang);
 
         final ApiEntity apiEntity = apiService.findById(api);
+        final PageEntity pageEntity = findDisplayablePage(apiEntity, translated ? acceptedLocale : null);
 
+        // The tag is known before the swagger transformation, so unchanged pages are not transformed again
+        final EntityTag entityTag = new EntityTag(getEntityTag(apiEntity, pageEntity, portal));
+        Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+        if (builder != null) {
+            return builder.build();
+        }
+
+        if (portal) {
+            transformForPortal(pageEntity);
+        }
+        return Response
+                .ok(pageEntity)
+                .tag(entityTag)
+                .build();
+    }
+
+    @GET
+    @Path("/content")
+    @ApiOperation(value = "Get the page's content",
+            notes = "User must have the READ permission to use this service")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Page's content"),
+            @ApiResponse(code = 500, message = "Internal server error")})
+    public Response getApiPageContent() {
+        final PageEntity pageEntity = findDisplayablePage(apiService.findById(api), null);
+        transformForPortal(pageEntity);
+        return Response.ok(pageEntity.getContent(), pageEntity.getContentType()).build();
+    }
+
+    private PageEntity findDisplayablePage(ApiEntity apiEntity, String locale) {
         if (Visibility.PUBLIC.equals(apiEntity.getVisibility())
                 || hasPermission(RolePermission.API_DOCUMENTATION, api, RolePermissionAction.READ)) {
 
-            PageEntity pageEntity = pageService.findById(page, translated?acceptedLocale:null);
+            PageEntity pageEntity = pageService.findById(page, locale);
 
             // check if the page is used as GeneralCondition by an active Plan
             // and update the PageEntity to transfer the information to the FrontEnd
             pageEntity.setGeneralConditions(pageService.isPageUsedAsGeneralConditions(pageEntity, api));
 
-            if (portal) {
-                pageService.transformSwagger(pageEntity, api);
-                if (!isAuthenticated() && pageEntity.getMetadata() != null) {
-                    pageEntity.getMetadata().clear();
-                }
-            }
             if (isDisplayable(apiEntity, pageEntity.isPublished(), pageEntity.getExcludedGroups())) {
                 return pageEntity;
             } else {
@@ -111,16 +146,34 @@ public class ApiPageResource extends AbstractResource {
         throw new ForbiddenAccessException();
     }
 
-    @GET
-    @Path("/content")
-    @ApiOperation(value = "Get the page's content",
-            notes = "User must have the READ permission to use this service")
-    @ApiResponses({
-            @ApiResponse(code = 200, message = "Page's content"),
-            @ApiResponse(code = 500, message = "Internal server error")})
-    public Response getApiPageContent() {
-        final PageEntity pageEntity = getApiPage(null, true, false);
-        return Response.ok(pageEntity.getContent(), pageEntity.getContentType()).build();
+    private void transformForPortal(PageEntity pageEntity) {
+        pageService.transformSwagger(pageEntity, api);
+        if (!isAuthenticated() && pageEntity.getMetadata() != null) {
+            pageEntity.getMetadata().clear();
+        }
+    }
+
+    /**
+     * The swagger transformation depends on the API (entrypoints, proxy) and on the caller being authenticated, so
+     * they are part of the tag along with the page itself.
+     */
+    private String getEntityTag(ApiEntity apiEntity, PageEntity pageEntity, boolean portal) {
+        final long lastModification = pageEntity.getLastModificationDate() == null ? 0 : pageEntity.getLastModificationDate().getTime();
+        final Hasher hasher = Hashing.sha256().newHasher();
+        Stream.of(
+                apiService.getEntityTag(apiEntity),
+                pageEntity.getContent(),
+                sorted(pageEntity.getConfiguration()),
+                sorted(pageEntity.getMetadata()),
+                pageEntity.isGeneralConditions(),
+                portal,
+                portal && isAuthenticated())
+                .forEach(value -> hasher.putString(String.valueOf(value), StandardCharsets.UTF_8).putByte((byte) 0));
+        return lastModification + "-" + hasher.hash();
+    }
+
+    private static Map<String, String> sorted(Map<String, String> values) {
+        return values == null ? null : new TreeMap<>(values);
     }
 
     @PUT
@@ -93,21 +93,45 @@ public class ApiResource extends AbstractResource {
             notes = "User must have the READ permission on the API_DEFINITION to use this service on a private API.")
     @ApiResponses({
             @ApiResponse(code = 200, message = "API definition", response = ApiEntity.class),
+            @ApiResponse(code = 304, message = "API definition not modified"),
             @ApiResponse(code = 500, message = "Internal server error")})
-    public Response getApi() {
+    public Response getApi(@Context Request request) {
+        // Answer conditional requests without loading the definition
+        final boolean readable = hasPermission(RolePermission.API_DEFINITION, api, RolePermissionAction.READ);
+        Response.ResponseBuilder builder = request.evaluatePreconditions(
+                new EntityTag(getEntityTag(apiService.getEntityTag(api), readable)));
+        if (builder != null) {
+            return builder.build();
+        }
+        return getApi(readable);
+    }
+
+    private Response getApi() {
+        return getApi(hasPermission(RolePermission.API_DEFINITION, api, RolePermissionAction.READ));
+    }
+
+    private Response getApi(boolean readable) {
         ApiEntity apiEntity = apiService.findById(api);
-        if (hasPermission(RolePermission.API_DEFINITION, api, RolePermissionAction.READ)) {
+        if (readable) {
             setPictures(apiEntity);
         } else {
             filterSensitiveData(apiEntity);
         }
         return Response
                 .ok(apiEntity)
-                .tag(Long.toString(apiEntity.getUpdatedAt().getTime()))
+                .tag(getEntityTag(apiService.getEntityTag(apiEntity), readable))
                 .lastModified(apiEntity.getUpdatedAt())
                 .build();
     }
 
+    /**
+     * The sensitive data are filtered out for the users not allowed to read the definition, so the filtered
+     * representation has its own tag. The full one keeps the tag returned by the updates.
+     */
+    private String getEntityTag(String apiTag, boolean readable) {
+        return readable ? apiTag : apiTag + "-filtered";
+    }
+
     private void setPictures(final ApiEntity apiEntity) {
         if (apiEntity.getPicture() != null) {
             final UriBuilder uriBuilder = uriInfo.getAbsolutePathBuilder().path("picture");
@@ -158,7 +182,8 @@ public class ApiResource extends AbstractResource {
         if (image == null || image.getContent() == null) {
             return Response.ok().build();
         }
-        EntityTag etag = new EntityTag(Integer.toString(new String(image.getContent()).hashCode()));
+        EntityTag etag = new EntityTag(image.getHash() != null
+                ? image.getHash() : Integer.toString(new String(image.getContent()).hashCode()));
         Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
 
         if (builder != null) {
@@ -219,7 +244,7 @@ public class ApiResource extends AbstractResource {
 
         return Response
                 .noContent()
-                .tag(Long.toString(updatedApi.getUpdatedAt().getTime()))
+                .tag(apiService.getEntityTag(updatedApi))
                 .lastModified(updatedApi.getUpdatedAt())
                 .build();
     }
@@ -266,7 +291,7 @@ public class ApiResource extends AbstractResource {
 
         return Response
                 .ok(updatedApi)
-                .tag(Long.toString(updatedApi.getUpdatedAt().getTime()))
+                .tag(apiService.getEntityTag(updatedApi))
                 .lastModified(updatedApi.getUpdatedAt())
                 .build();
     }
@@ -325,7 +350,7 @@ public class ApiResource extends AbstractResource {
             ApiEntity apiEntity = apiService.deploy(api, getAuthenticatedUser(), EventType.PUBLISH_API);
             return Response
                     .ok(apiEntity)
-                    .tag(Long.toString(apiEntity.getUpdatedAt().getTime()))
+                    .tag(apiService.getEntityTag(apiEntity))
                     .lastModified(apiEntity.getUpdatedAt())
                     .build();
         } catch (Exception e) {
@@ -368,7 +393,7 @@ public class ApiResource extends AbstractResource {
             ApiEntity rollbackedApi = apiService.rollback(api, apiEntity);
             return Response
                     .ok(rollbackedApi)
-                    .tag(Long.toString(rollbackedApi.getUpdatedAt().getTime()))
+                    .tag(apiService.getEntityTag(rollbackedApi))
                     .lastModified(rollbackedApi.getUpdatedAt())
                     .build();
         } catch (Exception e) {
@@ -395,7 +420,7 @@ public class ApiResource extends AbstractResource {
         ApiEntity updatedApi = apiService.createWithImportedDefinition(apiEntity, apiDefinition, getAuthenticatedUser());
         return Response
                 .ok(updatedApi)
-                .tag(Long.toString(updatedApi.getUpdatedAt().getTime()))
+                .tag(apiService.getEntityTag(updatedApi))
                 .lastModified(updatedApi.getUpdatedAt())
                 .build();
     }
@@ -419,7 +444,7 @@ public class ApiResource extends AbstractResource {
         ApiEntity updatedApi = apiService.updateWithImportedDefinition(apiEntity, apiDefinition, getAuthenticatedUser());
         return Response
                 .ok(updatedApi)
-                .tag(Long.toString(updatedApi.getUpdatedAt().getTime()))
+                .tag(apiService.getEntityTag(updatedApi))
                 .lastModified(updatedApi.getUpdatedAt())
                 .build();
     }
@@ -444,7 +469,7 @@ public class ApiResource extends AbstractResource {
         final ApiEntity updatedApi = apiService.updateFromSwagger(api, swaggerApiEntity, swaggerDescriptor);
         return Response
                 .ok(updatedApi)
-                .tag(Long.toString(updatedApi.getUpdatedAt().getTime()))
+                .tag(apiService.getEntityTag(updatedApi))
                 .lastModified(updatedApi.getUpdatedAt())
                 .build();
     }
@@ -467,7 +492,7 @@ public class ApiResource extends AbstractResource {
         final ApiEntity updatedApi = apiService.updateFromSwagger(api, swaggerApiEntity, swaggerDescriptor);
         return Response
                 .ok(updatedApi)
-                .tag(Long.toString(updatedApi.getUpdatedAt().getTime()))
+                .tag(apiService.getEntityTag(updatedApi))
                 .lastModified(updatedApi.getUpdatedAt())
                 .build();
     }
@@ -523,7 +548,7 @@ public class ApiResource extends AbstractResource {
         ApiEntity updatedApi = apiService.importPathMappingsFromPage(apiEntity, page);
         return Response
                 .ok(updatedApi)
-                .tag(Long.toString(updatedApi.getUpdatedAt().getTime()))
+                .tag(apiService.getEntityTag(updatedApi))
                 .lastModified(updatedApi.getUpdatedAt())
                 .build();
     }
@@ -604,7 +629,7 @@ public class ApiResource extends AbstractResource {
         }
         return Response
                 .noContent()
-                .tag(Long.toString(updatedApi.getUpdatedAt().getTime()))
+                .tag(apiService.getEntityTag(updatedApi))
                 .lastModified(updatedApi.getUpdatedAt())
                 .build();
     }
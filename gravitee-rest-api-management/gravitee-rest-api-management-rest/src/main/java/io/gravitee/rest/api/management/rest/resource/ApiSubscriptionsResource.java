@@ -39,6 +39,7 @@ import javax.ws.rs.container.ResourceContext;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.net.URI;
 import java.util.Date;
 import java.util.List;
@@ -162,11 +163,16 @@ public class ApiSubscriptionsResource extends AbstractResource {
             @ApiResponse(code = 500, message = "Internal server error")})
     @Permissions({@Permission(value = RolePermission.API_LOG, acls = RolePermissionAction.READ)})
     public Response exportApiSubscriptionsLogsAsCSV(
-            @BeanParam SubscriptionParam subscriptionParam,
-            @Valid @BeanParam Pageable pageable) {
-        final PagedResult<SubscriptionEntity> subscriptions = getApiSubscriptions(subscriptionParam, pageable, null);
+            @BeanParam SubscriptionParam subscriptionParam) {
+        // Transform query parameters to a subscription query
+        final SubscriptionQuery subscriptionQuery = subscriptionParam.toQuery();
+        subscriptionQuery.setApi(api);
+
+        // All the subscriptions matching the query are exported, not only the requested page: they are read page by
+        // page and streamed to the response
+        final StreamingOutput csv = output -> subscriptionService.exportAsCsv(subscriptionQuery, output);
         return Response
-                .ok(subscriptionService.exportAsCsv(subscriptions.getData(), subscriptions.getMetadata()))
+                .ok(csv)
                 .header(HttpHeaders.CONTENT_DISPOSITION, format("attachment;filename=subscriptions-%s-%s.csv", api, System.currentTimeMillis()))
                 .build();
     }
@@ -31,6 +31,7 @@ import javax.inject.Inject;
 import javax.ws.rs.*;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import static java.lang.String.format;
 
@@ -60,19 +61,7 @@ public class ApplicationLogsResource extends AbstractResource {
             @Permission(value = RolePermission.APPLICATION_LOG, acls = RolePermissionAction.READ)
     })
     public SearchLogResponse getApplicationLogs(@BeanParam LogsParam param) {
-
-        param.validate();
-
-        LogQuery logQuery = new LogQuery();
-        logQuery.setQuery(param.getQuery());
-        logQuery.setPage(param.getPage());
-        logQuery.setSize(param.getSize());
-        logQuery.setFrom(param.getFrom());
-        logQuery.setTo(param.getTo());
-        logQuery.setField(param.getField());
-        logQuery.setOrder(param.isOrder());
-
-        return logsService.findByApplication(application, logQuery);
+        return logsService.findByApplication(application, param.toQuery());
     }
 
     @GET
@@ -101,9 +90,10 @@ public class ApplicationLogsResource extends AbstractResource {
     @Permissions({@Permission(value = RolePermission.APPLICATION_LOG, acls = RolePermissionAction.READ)})
     public Response exportApplicationLogsAsCSV(
             @BeanParam LogsParam param) {
-        final SearchLogResponse searchLogResponse = getApplicationLogs(param);
+        final LogQuery logQuery = param.toQuery();
+        final StreamingOutput csv = output -> logsService.exportByApplication(application, logQuery, output);
         return Response
-                .ok(logsService.exportAsCsv(searchLogResponse))
+                .ok(csv)
                 .header(HttpHeaders.CONTENT_DISPOSITION, format("attachment;filename=logs-%s-%s.csv", application, System.currentTimeMillis()))
                 .build();
     }
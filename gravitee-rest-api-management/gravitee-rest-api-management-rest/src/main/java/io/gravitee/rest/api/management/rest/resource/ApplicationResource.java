@@ -73,12 +73,23 @@ public class ApplicationResource extends AbstractResource {
             notes = "User must have the READ permission to use this service")
     @ApiResponses({
             @ApiResponse(code = 200, message = "Application", response = ApplicationEntity.class),
+            @ApiResponse(code = 304, message = "Application not modified"),
             @ApiResponse(code = 500, message = "Internal server error")})
     @Permissions({
             @Permission(value = RolePermission.APPLICATION_DEFINITION, acls = RolePermissionAction.READ)
     })
-    public ApplicationEntity getApplication() {
-        return applicationService.findById(application);
+    public Response getApplication(@Context Request request) {
+        Response.ResponseBuilder builder = request.evaluatePreconditions(new EntityTag(applicationService.getEntityTag(application)));
+        if (builder != null) {
+            return builder.build();
+        }
+
+        ApplicationEntity applicationEntity = applicationService.findById(application);
+        return Response
+                .ok(applicationEntity)
+                .tag(applicationService.getEntityTag(applicationEntity))
+                .lastModified(applicationEntity.getUpdatedAt())
+                .build();
     }
 
 
@@ -112,7 +123,7 @@ public class ApplicationResource extends AbstractResource {
     @Permissions({
             @Permission(value = RolePermission.APPLICATION_DEFINITION, acls = RolePermissionAction.UPDATE)
     })
-    public ApplicationEntity updateApplication(
+    public Response updateApplication(
             @Valid @NotNull(message = "An application must be provided") final UpdateApplicationEntity updatedApplication) {
         // To preserve backward compatibility, ensure that we have at least default settings for simple application type
         if (updatedApplication.getSettings() == null ||
@@ -124,7 +135,12 @@ public class ApplicationResource extends AbstractResource {
             updatedApplication.setSettings(settings);
         }
 
-        return applicationService.update(application, updatedApplication);
+        ApplicationEntity applicationEntity = applicationService.update(application, updatedApplication);
+        return Response
+                .ok(applicationEntity)
+                .tag(applicationService.getEntityTag(applicationEntity))
+                .lastModified(applicationEntity.getUpdatedAt())
+                .build();
     }
 
     @GET
@@ -171,7 +187,8 @@ public class ApplicationResource extends AbstractResource {
         cc.setNoCache(false);
         cc.setMaxAge(86400);
 
-        EntityTag etag = new EntityTag(Integer.toString(new String(image.getContent()).hashCode()));
+        EntityTag etag = new EntityTag(image.getHash() != null
+                ? image.getHash() : Integer.toString(new String(image.getContent()).hashCode()));
         Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
 
         if (builder != null) {
@@ -34,6 +34,7 @@ import javax.inject.Inject;
 import javax.ws.rs.*;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import static java.lang.String.format;
 
@@ -60,18 +61,7 @@ public class PlatformLogsResource extends AbstractResource {
     })
     public SearchLogResponse getPlatformLogs(
             @BeanParam LogsParam param) {
-        param.validate();
-
-        LogQuery logQuery = new LogQuery();
-        logQuery.setQuery(param.getQuery());
-        logQuery.setPage(param.getPage());
-        logQuery.setSize(param.getSize());
-        logQuery.setFrom(param.getFrom());
-        logQuery.setTo(param.getTo());
-        logQuery.setField(param.getField());
-        logQuery.setOrder(param.isOrder());
-
-        return logsService.findPlatform(logQuery);
+        return logsService.findPlatform(param.toQuery());
     }
 
     @GET
@@ -102,9 +92,10 @@ public class PlatformLogsResource extends AbstractResource {
     @Permissions({@Permission(value = RolePermission.ENVIRONMENT_PLATFORM, acls = RolePermissionAction.READ)})
     public Response exportPlatformLogsAsCSV(
             @BeanParam LogsParam param) {
-        final SearchLogResponse searchLogResponse = getPlatformLogs(param);
+        final LogQuery logQuery = param.toQuery();
+        final StreamingOutput csv = output -> logsService.exportPlatform(logQuery, output);
         return Response
-                .ok(logsService.exportAsCsv(searchLogResponse))
+                .ok(csv)
                 .header(HttpHeaders.CONTENT_DISPOSITION, format("attachment;filename=logs-%s-%s.csv", "platform", System.currentTimeMillis()))
                 .build();
     }
@@ -15,6 +15,7 @@
  */
 package io.gravitee.rest.api.management.rest.resource.param;
 
+import io.gravitee.rest.api.model.analytics.query.LogQuery;
 import io.swagger.annotations.ApiParam;
 
 import javax.ws.rs.DefaultValue;
@@ -131,12 +132,36 @@ public class LogsParam {
                     .build());
         }
 
-        if (page < 0) {
-            page = 0;
+        if (page < 1) {
+            throw new WebApplicationException(Response
+                    .status(Response.Status.BAD_REQUEST)
+                    .entity("'page' query parameter value must be greater than 0")
+                    .build());
         }
 
-        if (size < 0) {
-            size = 20;
+        if (size < 1) {
+            throw new WebApplicationException(Response
+                    .status(Response.Status.BAD_REQUEST)
+                    .entity("'size' query parameter value must be greater than 0")
+                    .build());
         }
     }
+
+    /**
+     * Validates the parameters and converts them to a log query.
+     */
+    public LogQuery toQuery() throws WebApplicationException {
+        validate();
+
+        LogQuery logQuery = new LogQuery();
+        logQuery.setQuery(query);
+        logQuery.setPage(page);
+        logQuery.setSize(size);
+        logQuery.setFrom(from);
+        logQuery.setTo(to);
+        logQuery.setField(field);
+        logQuery.setOrder(order);
+
+        return logQuery;
+    }
 }
@@ -26,11 +26,13 @@ import org.junit.Test;
 import javax.annotation.Priority;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import java.io.IOException;
 import java.security.Principal;
 
+import static io.gravitee.common.http.HttpStatusCode.NOT_MODIFIED_304;
 import static io.gravitee.common.http.HttpStatusCode.OK_200;
 import static io.gravitee.common.http.HttpStatusCode.UNAUTHORIZED_401;
 import static org.junit.Assert.assertEquals;
@@ -108,6 +110,33 @@ public class ApiPagesResourceNotAdminTest extends AbstractResourceTest {
         verify(pageService, times(1)).isDisplayable(apiMock, pageMock.isPublished(), USER_NAME);
     }
 
+    @Test
+    public void shouldNotTransformPageBecauseNotModified() {
+        reset(apiService, pageService, membershipService);
+        final ApiEntity apiMock = mock(ApiEntity.class);
+        when(apiMock.getVisibility()).thenReturn(Visibility.PUBLIC);
+        doReturn(apiMock).when(apiService).findById(API_NAME);
+        final PageEntity pageMock = new PageEntity();
+        pageMock.setPublished(true);
+        pageMock.setName(PAGE_NAME);
+        pageMock.setContent("content");
+        when(groupService.isUserAuthorizedToAccessApiData(any(), any(), any())).thenReturn(Boolean.TRUE);
+        when(permissionService.hasPermission(any(), any(), any())).thenReturn(true);
+        doReturn(pageMock).when(pageService).findById(PAGE_NAME, null);
+        doReturn(true).when(pageService).isDisplayable(apiMock, pageMock.isPublished(), USER_NAME);
+
+        final Response response = envTarget().queryParam("portal", true).request().get();
+        assertEquals(OK_200, response.getStatus());
+        final String entityTag = response.getHeaderString(HttpHeaders.ETAG);
+        assertNotNull(entityTag);
+
+        final Response notModified = envTarget().queryParam("portal", true).request()
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+
+        assertEquals(NOT_MODIFIED_304, notModified.getStatus());
+        verify(pageService, times(1)).transformSwagger(pageMock, API_NAME);
+    }
+
     @Priority(50)
     public static class AuthenticationFilter implements ContainerRequestFilter {
         @Override
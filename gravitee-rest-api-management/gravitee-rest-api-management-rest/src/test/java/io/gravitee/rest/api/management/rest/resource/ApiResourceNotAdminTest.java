@@ -30,6 +30,8 @@ import org.mockito.internal.util.collections.Sets;
 import javax.annotation.Priority;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import java.io.IOException;
@@ -38,8 +40,10 @@ import java.util.Collections;
 import java.util.Date;
 
 import static io.gravitee.common.http.HttpStatusCode.FORBIDDEN_403;
+import static io.gravitee.common.http.HttpStatusCode.NOT_MODIFIED_304;
 import static io.gravitee.common.http.HttpStatusCode.OK_200;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -96,6 +100,8 @@ public class ApiResourceNotAdminTest extends AbstractResourceTest {
         mockApi.setProxy(proxy);
         mockApi.setUpdatedAt(new Date());
         doReturn(mockApi).when(apiService).findById(API);
+        doReturn("etag").when(apiService).getEntityTag(API);
+        doReturn("etag").when(apiService).getEntityTag(any(ApiEntity.class));
 
     }
 
@@ -104,6 +110,7 @@ public class ApiResourceNotAdminTest extends AbstractResourceTest {
         reset(membershipService);
         reset(roleService);
         reset(apiService);
+        reset(permissionService);
     }
 
     @Test
@@ -117,6 +124,24 @@ public class ApiResourceNotAdminTest extends AbstractResourceTest {
         assertEquals(API, responseApi.getName());
     }
 
+    @Test
+    public void shouldNotShareEntityTagBetweenFullAndFilteredApi() {
+        when(permissionService.hasPermission(any(), any(), any())).thenReturn(true);
+        final Response fullResponse = envTarget(API).request().get();
+        assertEquals(OK_200, fullResponse.getStatus());
+        final EntityTag fullTag = fullResponse.getEntityTag();
+
+        reset(permissionService);
+        final Response filteredResponse = envTarget(API).request().header(HttpHeaders.IF_NONE_MATCH, fullTag.toString()).get();
+        assertEquals(OK_200, filteredResponse.getStatus());
+        final EntityTag filteredTag = filteredResponse.getEntityTag();
+        assertNotEquals(fullTag, filteredTag);
+
+        when(permissionService.hasPermission(any(), any(), any())).thenReturn(true);
+        assertEquals(OK_200, envTarget(API).request().header(HttpHeaders.IF_NONE_MATCH, filteredTag.toString()).get().getStatus());
+        assertEquals(NOT_MODIFIED_304, envTarget(API).request().header(HttpHeaders.IF_NONE_MATCH, fullTag.toString()).get().getStatus());
+    }
+
     @Test
     public void shouldNotAccessToApiState_BecauseNotAMember() {
         final Response response = envTarget(API+"/state").request().get();
@@ -32,6 +32,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
@@ -56,6 +57,7 @@ public class ApiResourceTest extends AbstractResourceTest {
 
     private static final String API = "my-api";
     private static final String UNKNOWN_API = "unknown";
+    private static final String API_ETAG = "1234-5678";
     private static final MediaType IMAGE_SVG_XML_TYPE = MediaType.valueOf("image/svg+xml");
     private ApiEntity mockApi;
     private UpdateApiEntity updateApiEntity;
@@ -76,6 +78,9 @@ public class ApiResourceTest extends AbstractResourceTest {
         mockApi.setUpdatedAt(new Date());
         doReturn(mockApi).when(apiService).findById(API);
         doThrow(ApiNotFoundException.class).when(apiService).findById(UNKNOWN_API);
+        doReturn(API_ETAG).when(apiService).getEntityTag(API);
+        doReturn(API_ETAG).when(apiService).getEntityTag(any(ApiEntity.class));
+        doThrow(ApiNotFoundException.class).when(apiService).getEntityTag(UNKNOWN_API);
 
         updateApiEntity = new UpdateApiEntity();
         updateApiEntity.setDescription("toto");
@@ -100,6 +105,14 @@ public class ApiResourceTest extends AbstractResourceTest {
         assertEquals(API, responseApi.getName());
     }
 
+    @Test
+    public void shouldNotGetApiBecauseNotModified() {
+        final Response response = envTarget(API).request().header(HttpHeaders.IF_NONE_MATCH, '"' + API_ETAG + '"').get();
+
+        assertEquals(NOT_MODIFIED_304, response.getStatus());
+        verify(apiService, never()).findById(API);
+    }
+
     @Test
     public void shouldNotGetApiBecauseNotFound() {
         final Response response = envTarget(UNKNOWN_API).request().get();
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.management.rest.resource;
+
+import io.gravitee.rest.api.model.ApplicationEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.util.Date;
+
+import static io.gravitee.common.http.HttpStatusCode.NOT_MODIFIED_304;
+import static io.gravitee.common.http.HttpStatusCode.OK_200;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ApplicationResourceTest extends AbstractResourceTest {
+
+    private static final String APPLICATION = "my-application";
+    private static final String APPLICATION_ETAG = "1234-5678";
+
+    @Override
+    protected String contextPath() {
+        return "applications/";
+    }
+
+    @Before
+    public void init() {
+        reset(applicationService);
+        final ApplicationEntity application = new ApplicationEntity();
+        application.setId(APPLICATION);
+        application.setName(APPLICATION);
+        application.setUpdatedAt(new Date());
+        doReturn(application).when(applicationService).findById(APPLICATION);
+        doReturn(APPLICATION_ETAG).when(applicationService).getEntityTag(APPLICATION);
+        doReturn(APPLICATION_ETAG).when(applicationService).getEntityTag(any(ApplicationEntity.class));
+    }
+
+    @Test
+    public void shouldGetApplicationWithEntityTag() {
+        final Response response = envTarget(APPLICATION).request().get();
+
+        assertEquals(OK_200, response.getStatus());
+        assertEquals('"' + APPLICATION_ETAG + '"', response.getHeaderString(HttpHeaders.ETAG));
+        assertEquals(APPLICATION, response.readEntity(ApplicationEntity.class).getId());
+    }
+
+    @Test
+    public void shouldNotGetApplicationBecauseNotModified() {
+        final Response response = envTarget(APPLICATION).request().header(HttpHeaders.IF_NONE_MATCH, '"' + APPLICATION_ETAG + '"').get();
+
+        assertEquals(NOT_MODIFIED_304, response.getStatus());
+        verify(applicationService, never()).findById(APPLICATION);
+    }
+}
@@ -353,7 +353,8 @@ public abstract class AbstractResource {
         cc.setNoCache(false);
         cc.setMaxAge(86400);
 
-        EntityTag etag = new EntityTag(Integer.toString(new String(image.getContent()).hashCode()));
+        EntityTag etag = new EntityTag(image.getHash() != null
+                ? image.getHash() : Integer.toString(new String(image.getContent()).hashCode()));
         Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
 
         if (builder != null) {
@@ -35,6 +35,7 @@ import javax.inject.Inject;
 import javax.ws.rs.*;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -88,6 +89,10 @@ public class ApplicationLogsResource extends AbstractResource {
     @SuppressWarnings("unchecked")
     protected SearchLogResponse<ApplicationRequestItem> getSearchLogResponse(String applicationId,
             PaginationParam paginationParam, LogsParam logsParam) {
+        return logsService.findByApplication(applicationId, toLogQuery(paginationParam, logsParam));
+    }
+
+    private LogQuery toLogQuery(PaginationParam paginationParam, LogsParam logsParam) {
         logsParam.validate();
 
         LogQuery logQuery = new LogQuery();
@@ -100,7 +105,7 @@ public class ApplicationLogsResource extends AbstractResource {
         logQuery.setField(logsParam.getField());
         logQuery.setOrder(!"DESC".equals(logsParam.getOrder()));
 
-        return logsService.findByApplication(applicationId, logQuery);
+        return logQuery;
     }
 
     @GET
@@ -135,9 +140,10 @@ public class ApplicationLogsResource extends AbstractResource {
         //Does application exists ?
         applicationService.findById(applicationId);
         
-        final SearchLogResponse<ApplicationRequestItem> searchLogResponse = getSearchLogResponse(applicationId, paginationParam, logsParam);
+        final LogQuery logQuery = toLogQuery(paginationParam, logsParam);
+        final StreamingOutput csv = output -> logsService.exportByApplication(applicationId, logQuery, output);
         return Response
-                .ok(logsService.exportAsCsv(searchLogResponse))
+                .ok(csv)
                 .header(HttpHeaders.CONTENT_DISPOSITION, format("attachment;filename=logs-%s-%s.csv", applicationId, System.currentTimeMillis()))
                 .build();
     }
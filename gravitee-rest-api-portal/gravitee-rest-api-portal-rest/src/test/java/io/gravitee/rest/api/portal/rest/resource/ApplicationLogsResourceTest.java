@@ -31,6 +31,7 @@ import org.mockito.Mockito;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,6 +40,7 @@ import java.util.Map;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 
 /**
@@ -162,7 +164,10 @@ public class ApplicationLogsResourceTest extends AbstractResourceTest {
     
     @Test
     public void shouldExportLogs() {
-        doReturn("EXPORT").when(logsService).exportAsCsv(any());
+        doAnswer(invocation -> {
+            ((OutputStream) invocation.getArgument(2)).write("EXPORT".getBytes());
+            return null;
+        }).when(logsService).exportByApplication(eq(APPLICATION), any(), any());
         final Response response = target(APPLICATION).path("logs").path("_export")
                 .queryParam("page", 1)
                 .queryParam("size", 10)
@@ -174,10 +179,17 @@ public class ApplicationLogsResourceTest extends AbstractResourceTest {
                 .request().post(null);
         assertEquals(HttpStatusCode.OK_200, response.getStatus());
         
-        Mockito.verify(logsService).exportAsCsv(searchResponse);
-        
         String exportString = response.readEntity(String.class);
         assertEquals("EXPORT", exportString);
+
+        ArgumentCaptor<LogQuery> logQueryCaptor = ArgumentCaptor.forClass(LogQuery.class);
+        Mockito.verify(logsService).exportByApplication(eq(APPLICATION), logQueryCaptor.capture(), any());
+        final LogQuery logQuery = logQueryCaptor.getValue();
+        assertEquals(1, logQuery.getPage());
+        assertEquals(10, logQuery.getSize());
+        assertEquals(APPLICATION, logQuery.getQuery());
+        assertFalse(logQuery.isOrder());
+
         final MultivaluedMap<String, Object> headers = response.getHeaders();
         assertTrue(((String)headers.getFirst(HttpHeaders.CONTENT_DISPOSITION)).startsWith("attachment;filename=logs-"+APPLICATION));
 
@@ -34,6 +34,14 @@ public interface ApiService {
 
     ApiEntity findById(String apiId);
 
+    /**
+     * Get the entity tag of the API, without loading nor converting its definition.
+     * It changes whenever the representation given by {@link #findById(String)} changes.
+     */
+    String getEntityTag(String apiId);
+
+    String getEntityTag(ApiEntity apiEntity);
+
     Set<ApiEntity> findAll();
 
     Set<ApiEntity> findAllLight();
@@ -46,6 +46,14 @@ public interface ApplicationService {
 
     void archive(String applicationId);
     
+    /**
+     * Get the entity tag of the application, without converting it.
+     * It changes whenever the representation given by {@link #findById(String)} changes.
+     */
+    String getEntityTag(String applicationId);
+
+    String getEntityTag(ApplicationEntity applicationEntity);
+
     InlinePictureEntity getPicture(String apiId);
 
     InlinePictureEntity getBackground(String application);
@@ -15,6 +15,8 @@
  */
 package io.gravitee.rest.api.service;
 
+import java.util.List;
+
 /**
  * @author Azize Elamrani (azize dot elamrani at gmail dot com)
  */
@@ -23,4 +25,6 @@ public interface EmailService {
     void sendEmailNotification(EmailNotification emailNotification);
 
     void sendAsyncEmailNotification(EmailNotification emailNotification);
+
+    void sendAsyncEmailNotifications(List<EmailNotification> emailNotifications);
 }
@@ -43,13 +43,26 @@ public interface EventService {
     Page<EventEntity> search(
             List<EventType> eventTypes, Map<String, Object> properties, long from, long to, int page, int size);
 
+    /**
+     * Search events, without reading their payloads into the returned entities if <code>withPayload</code> is false.
+     */
+    Page<EventEntity> search(List<EventType> eventTypes, Map<String, Object> properties, long from, long to,
+            int page, int size, boolean withPayload);
+
     <T> Page<T> search(List<EventType> eventTypes,
             Map<String, Object> properties, long from, long to, int page, int size,
             Function<EventEntity, T> mapper);
 
+    /**
+     * Search events, map them and keep only the ones of the page matching the given filter. The filter is applied
+     * after the pagination and the total count is the one of the repository, so the conditions which change the
+     * total must be part of the search criteria.
+     */
     <T> Page<T> search(List<EventType> eventTypes,
                        Map<String, Object> properties, long from, long to, int page, int size,
                        Function<EventEntity, T> mapper, Predicate<T> filter);
 
     Collection<EventEntity> search(EventQuery query);
+
+    Collection<EventEntity> search(EventQuery query, boolean withPayload);
 }
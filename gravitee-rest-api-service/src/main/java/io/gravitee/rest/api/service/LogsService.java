@@ -20,6 +20,8 @@ import io.gravitee.rest.api.model.log.ApiRequest;
 import io.gravitee.rest.api.model.log.ApplicationRequest;
 import io.gravitee.rest.api.model.log.SearchLogResponse;
 
+import java.io.OutputStream;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
@@ -31,5 +33,7 @@ public interface LogsService {
     SearchLogResponse findPlatform(LogQuery query);
     ApiRequest findApiLog(String id, Long timestamp);
     ApplicationRequest findApplicationLog(String id, Long timestamp);
-    String exportAsCsv(SearchLogResponse searchLogResponse);
+    void exportByApi(String api, LogQuery query, OutputStream outputStream);
+    void exportByApplication(String application, LogQuery query, OutputStream outputStream);
+    void exportPlatform(LogQuery query, OutputStream outputStream);
 }
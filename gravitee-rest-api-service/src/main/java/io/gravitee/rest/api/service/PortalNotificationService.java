@@ -33,6 +33,11 @@ public interface PortalNotificationService {
     
     void create(Hook hook, List<String> users, Object param);
 
+    /**
+     * Same as {@link #create(Hook, List, Object)}, without waiting for the notifications to be written.
+     */
+    void createAsync(Hook hook, List<String> users, Object param);
+
     void delete(String notificationId);
 
     void deleteAll(String user);
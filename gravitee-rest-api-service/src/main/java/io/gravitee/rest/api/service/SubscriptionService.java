@@ -21,6 +21,7 @@ import io.gravitee.rest.api.model.common.Pageable;
 import io.gravitee.rest.api.model.pagedresult.Metadata;
 import io.gravitee.rest.api.model.subscription.SubscriptionQuery;
 
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -64,7 +65,28 @@ public interface SubscriptionService {
 
     Page<SubscriptionEntity> search(SubscriptionQuery query, Pageable pageable);
 
+    /**
+     * Count subscriptions of each given API, without loading them. It costs one repository search by API.
+     * @param apis
+     * @param statuses
+     * @return the number of subscriptions by API id, only for APIs having at least one subscription.
+     */
+    Map<String, Long> countByApis(Collection<String> apis, Collection<SubscriptionStatus> statuses);
+
+    /**
+     * Count subscriptions of each given application, without loading them. It costs one repository search by application.
+     * @param applications
+     * @param statuses
+     * @return the number of subscriptions by application id, only for applications having at least one subscription.
+     */
+    Map<String, Long> countByApplications(Collection<String> applications, Collection<SubscriptionStatus> statuses);
+
     Metadata getMetadata(List<SubscriptionEntity> subscriptions);
     SubscriptionEntity transfer(TransferSubscriptionEntity transferSubscription, String userId);
-    String exportAsCsv(Collection<SubscriptionEntity> subscriptions, Map<String, Map<String, Object>> metadata);
+    /**
+     * Write all the subscriptions matching the query as CSV, page by page, to the given output stream.
+     * @param query
+     * @param outputStream
+     */
+    void exportAsCsv(SubscriptionQuery query, OutputStream outputStream);
 }
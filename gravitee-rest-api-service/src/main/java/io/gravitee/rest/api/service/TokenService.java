@@ -19,7 +19,9 @@ import io.gravitee.repository.management.model.Token;
 import io.gravitee.rest.api.model.NewTokenEntity;
 import io.gravitee.rest.api.model.TokenEntity;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Azize ELAMRANI (azize at graviteesource.com)
@@ -27,6 +29,13 @@ import java.util.List;
  */
 public interface TokenService {
     List<TokenEntity> findByUser(String userId);
+    /**
+     * Count the tokens of the given users. The repository can not search the tokens of several users at once, so
+     * the tokens are looked up once per user.
+     *
+     * @return the number of tokens by user id, users without token being absent.
+     */
+    Map<String, Long> countByUsers(Collection<String> userIds);
     Token findByToken(String token);
     TokenEntity create(NewTokenEntity token);
     void revokeByUser(String userId);
@@ -44,6 +44,16 @@ public interface UserService {
 
     Set<UserEntity> findByIds(List<String> ids);
 
+    /**
+     * Find users by their ids.
+     *
+     * @param ids the user ids
+     * @param withUserMetadata <code>false</code> to not load the custom fields of the users, when only their name,
+     *                         email or picture are needed
+     * @return the users
+     */
+    Set<UserEntity> findByIds(List<String> ids, boolean withUserMetadata);
+
     UserEntity create(NewExternalUserEntity newExternalUserEntity, boolean addDefaultRole);
 
     UserEntity update(String userId, UpdateUserEntity updateUserEntity);
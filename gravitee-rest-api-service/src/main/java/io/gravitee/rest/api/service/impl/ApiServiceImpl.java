@@ -19,6 +19,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
@@ -59,6 +62,8 @@ import io.gravitee.rest.api.service.*;
 import io.gravitee.rest.api.service.common.GraviteeContext;
 import io.gravitee.rest.api.service.common.RandomString;
 import io.gravitee.rest.api.service.exceptions.*;
+import io.gravitee.rest.api.service.impl.definition.ApiDefinitionCache;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
 import io.gravitee.rest.api.service.impl.search.SearchResult;
 import io.gravitee.rest.api.service.impl.upgrade.DefaultMetadataUpgrader;
 import io.gravitee.rest.api.service.jackson.ser.api.ApiSerializer;
@@ -78,12 +83,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 
-import javax.xml.bind.DatatypeConverter;
 import java.io.IOException;
 import java.io.StringReader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -125,6 +131,8 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
     @Autowired
     private ObjectMapper objectMapper;
     @Autowired
+    private ApiDefinitionCache apiDefinitionCache = new ApiDefinitionCache();
+    @Autowired
     private EventService eventService;
     @Autowired
     private UserService userService;
@@ -179,6 +187,8 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
     @Autowired
     private CategoryService categoryService;
     @Autowired
+    private InlinePictureCache inlinePictureCache;
+    @Autowired
     private ApplicationService applicationService;
     @Autowired
     private ImportConfiguration importConfiguration;
@@ -191,6 +201,13 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
     private static final String LOGGING_MAX_DURATION_CONDITION = "#request.timestamp <= %dl";
     private static final String LOGGING_DELIMITER_BASE = "\\s+(\\|\\||\\&\\&)\\s+";
     private static final String ENDPOINTS_DELIMITER = "\n";
+    private static final String DEPLOYMENT_DIGEST_PROPERTY = "deployment_digest";
+
+    private final Cache<String, String> deploymentDigests = CacheBuilder
+        .newBuilder()
+        .maximumSize(10000)
+        .expireAfterAccess(10, TimeUnit.MINUTES)
+        .build();
 
     @Override
     public ApiEntity createFromSwagger(final SwaggerApiEntity swaggerApiEntity, final String userId,
@@ -642,6 +659,46 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
         }
     }
 
+    @Override
+    public String getEntityTag(String apiId) {
+        final Api api = apiRepository.search(new ApiCriteria.Builder().ids(apiId).build(),
+                new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ApiNotFoundException(apiId));
+
+        final MembershipEntity primaryOwner = membershipService.getPrimaryOwner(io.gravitee.rest.api.model.MembershipReferenceType.API, apiId);
+
+        WorkflowState workflowState = null;
+        if (parameterService.findAsBoolean(Key.API_REVIEW_ENABLED)) {
+            final List<Workflow> workflows = workflowService.findByReferenceAndType(API, apiId, REVIEW);
+            if (workflows != null && !workflows.isEmpty()) {
+                workflowState = WorkflowState.valueOf(workflows.get(0).getState());
+            }
+        }
+
+        return entityTag(api.getUpdatedAt(), primaryOwner == null ? null : primaryOwner.getMemberId(), workflowState);
+    }
+
+    @Override
+    public String getEntityTag(ApiEntity apiEntity) {
+        return entityTag(apiEntity.getUpdatedAt(),
+                apiEntity.getPrimaryOwner() == null ? null : apiEntity.getPrimaryOwner().getId(),
+                apiEntity.getWorkflowState());
+    }
+
+    /**
+     * The primary owner and the review state are not stored with the API, so they are part of the tag in addition to
+     * the last update date.
+     */
+    private String entityTag(Date updatedAt, String primaryOwner, WorkflowState workflowState) {
+        return Long.toString(updatedAt.getTime()) + '-' + Hashing.sha256().newHasher()
+                .putString(String.valueOf(primaryOwner), StandardCharsets.UTF_8)
+                .putByte((byte) 0)
+                .putString(String.valueOf(workflowState), StandardCharsets.UTF_8)
+                .hash();
+    }
+
     private UserEntity getPrimaryOwner(Api api) throws TechnicalException {
         MembershipEntity primaryOwnerMemberEntity = membershipService.getPrimaryOwner(io.gravitee.rest.api.model.MembershipReferenceType.API, api.getId());
         if (primaryOwnerMemberEntity == null) {
@@ -1053,6 +1110,7 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
                 }
 
                 Api updatedApi = apiRepository.update(api);
+                inlinePictureCache.evict("api", apiId);
 
                 // Audit
                 auditService.createApiAuditLog(
@@ -1204,7 +1262,7 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
                 // Delete events
                 final EventQuery query = new EventQuery();
                 query.setApi(apiId);
-                eventService.search(query)
+                eventService.search(query, false)
                     .forEach(event -> eventService.delete(event.getId()));
 
                 // https://github.com/gravitee-io/issues/issues/4130
@@ -1224,6 +1282,8 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
                 topApiService.delete(apiId);
                 // Delete API
                 apiRepository.delete(apiId);
+                apiDefinitionCache.evict(apiId);
+                inlinePictureCache.evict("api", apiId);
                 // Delete memberships
                 membershipService.deleteReference(MembershipReferenceType.API, apiId);
                 // Delete notifications
@@ -1297,31 +1357,40 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
     public boolean isSynchronized(String apiId) {
         try {
             // 1_ First, check the API state
-            ApiEntity api = findById(apiId);
+            final Api api = apiRepository.findById(apiId).orElseThrow(() -> new ApiNotFoundException(apiId));
 
             Map<String, Object> properties = new HashMap<>();
             properties.put(Event.EventProperties.API_ID.getValue(), apiId);
 
             io.gravitee.common.data.domain.Page<EventEntity> events =
                 eventService.search(Arrays.asList(PUBLISH_API, EventType.UNPUBLISH_API),
-                    properties, 0, 0, 0, 1);
+                    properties, 0, 0, 0, 1, false);
 
             if (!events.getContent().isEmpty()) {
                 // According to page size, we know that we have only one element in the list
                 EventEntity lastEvent = events.getContent().get(0);
 
-                //TODO: Done only for backward compatibility with 0.x. Must be removed later (1.1.x ?)
-                boolean enabled = objectMapper.getDeserializationConfig().isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-                Api payloadEntity = objectMapper.readValue(lastEvent.getPayload(), Api.class);
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, enabled);
+                final String deployedDigest = lastEvent.getProperties() == null
+                    ? null : lastEvent.getProperties().get(DEPLOYMENT_DIGEST_PROPERTY);
 
-                final ApiEntity deployedApi = convert(payloadEntity);
-                // Remove policy description from sync check
-                removeDescriptionFromPolicies(api);
-                removeDescriptionFromPolicies(deployedApi);
-
-                boolean sync = apiSynchronizationProcessor.processCheckSynchronization(deployedApi, api);
+                boolean sync;
+                if (deployedDigest != null) {
+                    sync = deployedDigest.equals(getDeploymentDigest(api));
+                } else {
+                    // The event has been created before the digest was stored, compare with its payload
+                    //TODO: Done only for backward compatibility with 0.x. Must be removed later (1.1.x ?)
+                    Api payloadEntity = objectMapper.readerFor(Api.class)
+                        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                        .readValue(eventService.findById(lastEvent.getId()).getPayload());
+
+                    final ApiEntity deployedApi = convert(payloadEntity);
+                    final ApiEntity apiEntity = convert(api);
+                    // Remove policy description from sync check
+                    removeDescriptionFromPolicies(apiEntity);
+                    removeDescriptionFromPolicies(deployedApi);
+
+                    sync = apiSynchronizationProcessor.processCheckSynchronization(deployedApi, apiEntity);
+                }
 
                 // 2_ If API definition is synchronized, check if there is any modification for API's plans
                 // but only for published or closed plan
@@ -1341,6 +1410,32 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
         return false;
     }
 
+    /**
+     * The fields requiring a deployment all come from the definition of the API, so the digest is computed once per
+     * definition. The cache is keyed by the hash of the definition rather than by the update date, which may be kept
+     * by a change made outside of this node.
+     */
+    private String getDeploymentDigest(Api api) {
+        final String key = api.getId() + ':' + (api.getDefinition() == null ? "" :
+                Hashing.sha256().hashString(api.getDefinition(), StandardCharsets.UTF_8).toString());
+        String deploymentDigest = deploymentDigests.getIfPresent(key);
+        if (deploymentDigest == null) {
+            final ApiEntity apiEntity = new ApiEntity();
+            apiEntity.setId(api.getId());
+            apiEntity.setUpdatedAt(api.getUpdatedAt());
+            if (api.getDefinition() != null) {
+                setDefinition(apiEntity, api);
+            }
+            // Remove policy description from sync check
+            removeDescriptionFromPolicies(apiEntity);
+            deploymentDigest = apiSynchronizationProcessor.computeDeploymentDigest(apiEntity);
+            if (deploymentDigest != null) {
+                deploymentDigests.put(key, deploymentDigest);
+            }
+        }
+        return deploymentDigest;
+    }
+
     private void removeDescriptionFromPolicies(final ApiEntity api) {
         if (api.getPaths() != null) {
             api.getPaths().forEach((s, path) -> {
@@ -1397,6 +1492,12 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
             Map<String, String> properties = new HashMap<>();
             properties.put(Event.EventProperties.API_ID.getValue(), apiValue.getId());
             properties.put(Event.EventProperties.USER.getValue(), userId);
+            if (eventType == PUBLISH_API) {
+                final String deploymentDigest = getDeploymentDigest(apiValue);
+                if (deploymentDigest != null) {
+                    properties.put(DEPLOYMENT_DIGEST_PROPERTY, deploymentDigest);
+                }
+            }
 
             // Clear useless field for history
             apiValue.setPicture(null);
@@ -1535,9 +1636,10 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
 
     private UpdateApiEntity convertToEntity(String apiDefinition, JsonNode jsonNode, String apiId) throws JsonProcessingException {
         final UpdateApiEntity importedApi = objectMapper
+            .readerFor(UpdateApiEntity.class)
             // because definition could contains other values than the api itself (pages, members)
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-            .readValue(apiDefinition, UpdateApiEntity.class);
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readValue(apiDefinition);
 
         // Initialize with a default path
         if (importedApi.getPaths() == null || importedApi.getPaths().isEmpty()) {
@@ -1849,30 +1951,26 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
 
     @Override
     public InlinePictureEntity getPicture(String apiId) {
-        ApiEntity apiEntity = findById(apiId);
-        InlinePictureEntity imageEntity = new InlinePictureEntity();
-        if (apiEntity.getPicture() != null) {
-            String[] parts = apiEntity.getPicture().split(";", 2);
-            imageEntity.setType(parts[0].split(":")[1]);
-            String base64Content = apiEntity.getPicture().split(",", 2)[1];
-            imageEntity.setContent(DatatypeConverter.parseBase64Binary(base64Content));
-        }
-
-        return imageEntity;
+        return inlinePictureCache.get(InlinePictureCache.key("api", apiId, "picture"),
+                () -> findApiForPicture(apiId).getPicture());
     }
 
     @Override
     public InlinePictureEntity getBackground(String apiId) {
-        ApiEntity apiEntity = findById(apiId);
-        InlinePictureEntity imageEntity = new InlinePictureEntity();
-        if (apiEntity.getBackground() != null) {
-            String[] parts = apiEntity.getBackground().split(";", 2);
-            imageEntity.setType(parts[0].split(":")[1]);
-            String base64Content = apiEntity.getBackground().split(",", 2)[1];
-            imageEntity.setContent(DatatypeConverter.parseBase64Binary(base64Content));
-        }
+        return inlinePictureCache.get(InlinePictureCache.key("api", apiId, "background"),
+                () -> findApiForPicture(apiId).getBackground());
+    }
 
-        return imageEntity;
+    /**
+     * The pictures are read from the stored API, which is not converted.
+     */
+    private Api findApiForPicture(String apiId) {
+        try {
+            return apiRepository.findById(apiId).orElseThrow(() -> new ApiNotFoundException(apiId));
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find an API using its ID: {}", apiId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find an API using its ID: " + apiId, ex);
+        }
     }
 
     @Override
@@ -2261,11 +2359,11 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
     private void auditApiLogging(Api apiToUpdate, Api apiUpdated) {
         try {
             // get old logging configuration
-            io.gravitee.definition.model.Api apiToUpdateDefinition = objectMapper.readValue(apiToUpdate.getDefinition(), io.gravitee.definition.model.Api.class);
+            io.gravitee.definition.model.Api apiToUpdateDefinition = apiDefinitionCache.get(apiToUpdate);
             Logging loggingToUpdate = apiToUpdateDefinition.getProxy().getLogging();
 
             // get new logging configuration
-            io.gravitee.definition.model.Api apiUpdatedDefinition = objectMapper.readValue(apiUpdated.getDefinition(), io.gravitee.definition.model.Api.class);
+            io.gravitee.definition.model.Api apiUpdatedDefinition = apiDefinitionCache.get(apiUpdated);
             Logging loggingUpdated = apiUpdatedDefinition.getProxy().getLogging();
 
             // no changes for logging configuration, continue
@@ -2331,7 +2429,7 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
         memberships.forEach(membership -> apiToUser.put(membership.getReferenceId(), membership.getId()));
 
         Map<String, UserEntity> userIdToUserEntity = new HashMap<>(memberships.size());
-        userService.findByIds(memberships.stream().map(MemberEntity::getId).collect(toList()))
+        userService.findByIds(memberships.stream().map(MemberEntity::getId).collect(toList()), false)
             .forEach(userEntity -> userIdToUserEntity.put(userEntity.getId(), userEntity));
 
         final List<CategoryEntity> categories = categoryService.findAll();
@@ -2355,30 +2453,7 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
         apiEntity.setDisableMembershipNotifications(api.isDisableMembershipNotifications());
 
         if (api.getDefinition() != null) {
-            try {
-                io.gravitee.definition.model.Api apiDefinition = objectMapper.readValue(api.getDefinition(),
-                    io.gravitee.definition.model.Api.class);
-
-                apiEntity.setProxy(apiDefinition.getProxy());
-                apiEntity.setPaths(apiDefinition.getPaths());
-                apiEntity.setServices(apiDefinition.getServices());
-                apiEntity.setResources(apiDefinition.getResources());
-                apiEntity.setProperties(apiDefinition.getProperties());
-                apiEntity.setTags(apiDefinition.getTags());
-
-                // Issue https://github.com/gravitee-io/issues/issues/3356
-                if (apiDefinition.getProxy().getVirtualHosts() != null &&
-                    !apiDefinition.getProxy().getVirtualHosts().isEmpty()) {
-                    apiEntity.setContextPath(apiDefinition.getProxy().getVirtualHosts().get(0).getPath());
-                }
-
-                if (apiDefinition.getPathMappings() != null) {
-                    apiEntity.setPathMappings(new HashSet<>(apiDefinition.getPathMappings().keySet()));
-                }
-                apiEntity.setResponseTemplates(apiDefinition.getResponseTemplates());
-            } catch (IOException ioe) {
-                LOGGER.error("Unexpected error while generating API definition", ioe);
-            }
+            setDefinition(apiEntity, api);
         }
         apiEntity.setUpdatedAt(api.getUpdatedAt());
         apiEntity.setVersion(api.getVersion());
@@ -2425,6 +2500,32 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
         return apiEntity;
     }
 
+    private void setDefinition(ApiEntity apiEntity, Api api) {
+        try {
+            io.gravitee.definition.model.Api apiDefinition = apiDefinitionCache.get(api);
+
+            apiEntity.setProxy(apiDefinition.getProxy());
+            apiEntity.setPaths(apiDefinition.getPaths());
+            apiEntity.setServices(apiDefinition.getServices());
+            apiEntity.setResources(apiDefinition.getResources());
+            apiEntity.setProperties(apiDefinition.getProperties());
+            apiEntity.setTags(apiDefinition.getTags());
+
+            // Issue https://github.com/gravitee-io/issues/issues/3356
+            if (apiDefinition.getProxy().getVirtualHosts() != null &&
+                !apiDefinition.getProxy().getVirtualHosts().isEmpty()) {
+                apiEntity.setContextPath(apiDefinition.getProxy().getVirtualHosts().get(0).getPath());
+            }
+
+            if (apiDefinition.getPathMappings() != null) {
+                apiEntity.setPathMappings(new HashSet<>(apiDefinition.getPathMappings().keySet()));
+            }
+            apiEntity.setResponseTemplates(apiDefinition.getResponseTemplates());
+        } catch (IOException ioe) {
+            LOGGER.error("Unexpected error while generating API definition", ioe);
+        }
+    }
+
     private Api convert(String apiId, UpdateApiEntity updateApiEntity) {
         Api api = new Api();
 
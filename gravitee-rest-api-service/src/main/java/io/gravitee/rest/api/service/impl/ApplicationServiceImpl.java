@@ -17,6 +17,7 @@ package io.gravitee.rest.api.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApplicationRepository;
 import io.gravitee.repository.management.api.MembershipRepository;
@@ -42,6 +43,7 @@ import io.gravitee.rest.api.service.configuration.application.ApplicationTypeSer
 import io.gravitee.rest.api.service.configuration.application.ClientRegistrationService;
 import io.gravitee.rest.api.service.exceptions.*;
 import io.gravitee.rest.api.service.impl.configuration.application.registration.client.register.ClientRegistrationResponse;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
 import io.gravitee.rest.api.service.notification.ApplicationHook;
 import io.gravitee.rest.api.service.notification.HookScope;
 import org.slf4j.Logger;
@@ -49,8 +51,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import javax.xml.bind.DatatypeConverter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -107,6 +109,9 @@ public class ApplicationServiceImpl extends AbstractService implements Applicati
     @Autowired
     private ApplicationTypeService applicationTypeService;
 
+    @Autowired
+    private InlinePictureCache inlinePictureCache;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     @Override
@@ -136,6 +141,35 @@ public class ApplicationServiceImpl extends AbstractService implements Applicati
         }
     }
 
+    @Override
+    public String getEntityTag(String applicationId) {
+        try {
+            final Application application = applicationRepository.findById(applicationId)
+                    .orElseThrow(() -> new ApplicationNotFoundException(applicationId));
+            final MembershipEntity primaryOwner = membershipService.getPrimaryOwner(MembershipReferenceType.APPLICATION, applicationId);
+
+            // an application without primary owner is converted with the unknown user
+            return entityTag(application.getUpdatedAt(), primaryOwner == null ? "0" : primaryOwner.getMemberId());
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find an application using its ID {}", applicationId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find an application using its ID " + applicationId, ex);
+        }
+    }
+
+    @Override
+    public String getEntityTag(ApplicationEntity applicationEntity) {
+        return entityTag(applicationEntity.getUpdatedAt(),
+                applicationEntity.getPrimaryOwner() == null ? null : applicationEntity.getPrimaryOwner().getId());
+    }
+
+    /**
+     * The primary owner is not stored with the application, so it is part of the tag in addition to the last update date.
+     */
+    private String entityTag(Date updatedAt, String primaryOwner) {
+        return Long.toString(updatedAt.getTime()) + '-'
+                + Hashing.sha256().hashString(String.valueOf(primaryOwner), StandardCharsets.UTF_8);
+    }
+
     @Override
     public Set<ApplicationListItem> findByUser(String username) {
         try {
@@ -456,6 +490,7 @@ public class ApplicationServiceImpl extends AbstractService implements Applicati
             metadata.forEach((key, value) -> application.getMetadata().put(key, value));
 
             Application updatedApplication = applicationRepository.update(application);
+            inlinePictureCache.evict("application", applicationId);
 
             // Audit
             auditService.createApplicationAuditLog(
@@ -604,6 +639,7 @@ public class ApplicationServiceImpl extends AbstractService implements Applicati
             application.setUpdatedAt(new Date());
             application.setStatus(ApplicationStatus.ARCHIVED);
             applicationRepository.update(application);
+            inlinePictureCache.evict("application", applicationId);
             // remove notifications
             genericNotificationConfigService.deleteReference(NotificationReferenceType.APPLICATION, applicationId);
             // delete memberships
@@ -654,7 +690,7 @@ public class ApplicationServiceImpl extends AbstractService implements Applicati
         memberships.forEach(membership -> applicationToUser.put(membership.getReferenceId(), membership.getMemberId()));
 
         Map<String, UserEntity> userIdToUserEntity = new HashMap<>(memberships.size());
-        userService.findByIds(memberships.stream().map(MembershipEntity::getMemberId).collect(Collectors.toList()))
+        userService.findByIds(memberships.stream().map(MembershipEntity::getMemberId).collect(Collectors.toList()), false)
             .forEach(userEntity -> userIdToUserEntity.put(userEntity.getId(), userEntity));
 
         return applications.stream()
@@ -812,27 +848,26 @@ public class ApplicationServiceImpl extends AbstractService implements Applicati
 
     @Override
     public InlinePictureEntity getPicture(String applicationId) {
-        ApplicationEntity applicationEntity = findById(applicationId);
-        InlinePictureEntity imageEntity = new InlinePictureEntity();
-        if (applicationEntity.getPicture() != null) {
-            String[] parts = applicationEntity.getPicture().split(";", 2);
-            imageEntity.setType(parts[0].split(":")[1]);
-            String base64Content = applicationEntity.getPicture().split(",", 2)[1];
-            imageEntity.setContent(DatatypeConverter.parseBase64Binary(base64Content));
-        }
-        return imageEntity;
+        return inlinePictureCache.get(InlinePictureCache.key("application", applicationId, "picture"),
+                () -> findApplicationForPicture(applicationId).getPicture());
     }
 
     @Override
     public InlinePictureEntity getBackground(String applicationId) {
-        ApplicationEntity applicationEntity = findById(applicationId);
-        InlinePictureEntity imageEntity = new InlinePictureEntity();
-        if (applicationEntity.getBackground() != null) {
-            String[] parts = applicationEntity.getBackground().split(";", 2);
-            imageEntity.setType(parts[0].split(":")[1]);
-            String base64Content = applicationEntity.getBackground().split(",", 2)[1];
-            imageEntity.setContent(DatatypeConverter.parseBase64Binary(base64Content));
+        return inlinePictureCache.get(InlinePictureCache.key("application", applicationId, "background"),
+                () -> findApplicationForPicture(applicationId).getBackground());
+    }
+
+    /**
+     * The pictures are read from the stored application, without resolving its primary owner.
+     */
+    private Application findApplicationForPicture(String applicationId) {
+        try {
+            return applicationRepository.findById(applicationId)
+                    .orElseThrow(() -> new ApplicationNotFoundException(applicationId));
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find an application using its ID {}", applicationId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find an application using its ID " + applicationId, ex);
         }
-        return imageEntity;
     }
 }
@@ -20,6 +20,7 @@ import freemarker.template.Template;
 import io.gravitee.rest.api.service.EmailNotification;
 import io.gravitee.rest.api.service.EmailService;
 import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import io.gravitee.rest.api.service.metrics.MetricsProvider;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.select.Elements;
@@ -29,17 +30,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import javax.activation.MimetypesFileTypeMap;
+import javax.mail.internet.MimeMessage;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Base64;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -55,7 +57,7 @@ import static org.springframework.ui.freemarker.FreeMarkerTemplateUtils.processT
  * @author GraviteeSource Team
  */
 @Component
-public class EmailServiceImpl extends TransactionalService implements EmailService {
+public class EmailServiceImpl extends TransactionalService implements EmailService, MetricsProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EmailServiceImpl.class);
 
@@ -71,63 +73,175 @@ public class EmailServiceImpl extends TransactionalService implements EmailServi
     private boolean enabled;
     @Value("${email.from}")
     private String defaultFrom;
+    @Value("${email.batch.size:50}")
+    private int batchSize;
+    @Value("${email.batch.interval:0}")
+    private long batchInterval;
+
+    private final AtomicLong sentEmails = new AtomicLong();
+    private final AtomicLong failedEmails = new AtomicLong();
 
     public void sendEmailNotification(final EmailNotification emailNotification) {
         if (enabled && emailNotification.getTo() != null && emailNotification.getTo().length > 0) {
             try {
-                final MimeMessageHelper mailMessage = new MimeMessageHelper(mailSender.createMimeMessage(), true, StandardCharsets.UTF_8.name());
+                final MimeMessage message = createMessage(emailNotification, render(emailNotification));
+                mailSender.send(message);
+                sentEmails.incrementAndGet();
+            } catch (final Exception ex) {
+                failedEmails.incrementAndGet();
+                LOGGER.error("Error while sending email notification", ex);
+                throw new TechnicalManagementException("Error while sending email notification", ex);
+            }
+        }
+    }
 
-                final Template template = freemarkerConfiguration.getTemplate(emailNotification.getTemplate());
-                String content = processTemplateIntoString(template, emailNotification.getParams());
-                content = content.replaceAll("&lt;br /&gt;", "<br />");
+    @Async
+    public void sendAsyncEmailNotification(final EmailNotification emailNotification) {
+        sendEmailNotification(emailNotification);
+    }
 
-                final String from = isNull(emailNotification.getFrom()) || emailNotification.getFrom().isEmpty()
-                        ? defaultFrom
-                        : emailNotification.getFrom();
+    /**
+     * Send the notifications by batches of <code>email.batch.size</code> messages, each batch being sent over a single
+     * connection. Notifications sharing the same template and parameters are rendered once.
+     */
+    @Async
+    public void sendAsyncEmailNotifications(final List<EmailNotification> emailNotifications) {
+        if (!enabled) {
+            return;
+        }
 
-                if (isEmpty(emailNotification.getFromName())) {
-                    mailMessage.setFrom(from);
-                } else {
-                    mailMessage.setFrom(from, emailNotification.getFromName());
+        final Map<Map<String, Object>, Map<String, MessageContent>> contents = new IdentityHashMap<>();
+        final List<MimeMessage> batch = new ArrayList<>(batchSize);
+        for (final EmailNotification emailNotification : emailNotifications) {
+            if (emailNotification.getTo() == null || emailNotification.getTo().length == 0) {
+                continue;
+            }
+            try {
+                final Map<String, MessageContent> contentsByTemplate =
+                        contents.computeIfAbsent(emailNotification.getParams(), params -> new HashMap<>());
+                MessageContent content = contentsByTemplate.get(emailNotification.getTemplate());
+                if (content == null) {
+                    content = render(emailNotification);
+                    contentsByTemplate.put(emailNotification.getTemplate(), content);
                 }
+                batch.add(createMessage(emailNotification, content));
+            } catch (final Exception ex) {
+                failedEmails.incrementAndGet();
+                LOGGER.error("Error while preparing email notification", ex);
+            }
 
-                String sender = emailNotification.getFrom();
-                if (! isEmpty(emailNotification.getReplyTo())) {
-                    mailMessage.setReplyTo(emailNotification.getReplyTo());
-                    sender = emailNotification.getReplyTo();
-                }
+            if (batch.size() >= batchSize) {
+                sendBatch(batch);
+                batch.clear();
+                throttle();
+            }
+        }
 
-                mailMessage.setTo(emailNotification.getTo());
+        if (!batch.isEmpty()) {
+            sendBatch(batch);
+        }
+    }
 
-                if (emailNotification.isCopyToSender() && sender != null) {
-                    mailMessage.setBcc(sender);
-                }
+    /**
+     * @return the number of emails sent since the start.
+     */
+    public long getSentEmails() {
+        return sentEmails.get();
+    }
 
-                if (emailNotification.getBcc() != null && emailNotification.getBcc().length > 0) {
-                    mailMessage.setBcc(emailNotification.getBcc());
-                }
+    /**
+     * @return the number of emails which could not be prepared or sent since the start.
+     */
+    public long getFailedEmails() {
+        return failedEmails.get();
+    }
 
-                mailMessage.setSubject(format(subject, emailNotification.getSubject()));
+    @Override
+    public String getMetricsName() {
+        return "Email";
+    }
 
-                final String html = addResourcesInMessage(mailMessage, content);
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sent", getSentEmails());
+        metrics.put("failed", getFailedEmails());
+        return metrics;
+    }
 
-                LOGGER.debug("Sending an email to: {}\nSubject: {}\nMessage: {}",
-                        emailNotification.getTo(), emailNotification.getSubject(), html);
+    private void sendBatch(final List<MimeMessage> batch) {
+        final long start = System.currentTimeMillis();
+        try {
+            mailSender.send(batch.toArray(new MimeMessage[0]));
+            sentEmails.addAndGet(batch.size());
+        } catch (final MailSendException ex) {
+            sentEmails.addAndGet(batch.size() - ex.getFailedMessages().size());
+            failedEmails.addAndGet(ex.getFailedMessages().size());
+            LOGGER.error("Error while sending {} email notifications", ex.getFailedMessages().size(), ex);
+        } catch (final Exception ex) {
+            failedEmails.addAndGet(batch.size());
+            LOGGER.error("Error while sending email notifications", ex);
+        }
+        LOGGER.debug("{} email notifications sent in {} ms", batch.size(), System.currentTimeMillis() - start);
+    }
 
-                mailSender.send(mailMessage.getMimeMessage());
-            } catch (final Exception ex) {
-                LOGGER.error("Error while sending email notification", ex);
-                throw new TechnicalManagementException("Error while sending email notification", ex);
+    private void throttle() {
+        if (batchInterval > 0) {
+            try {
+                Thread.sleep(batchInterval);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
             }
         }
     }
 
-    @Async
-    public void sendAsyncEmailNotification(final EmailNotification emailNotification) {
-        sendEmailNotification(emailNotification);
+    private MessageContent render(final EmailNotification emailNotification) throws Exception {
+        final Template template = freemarkerConfiguration.getTemplate(emailNotification.getTemplate());
+        String content = processTemplateIntoString(template, emailNotification.getParams());
+        content = content.replaceAll("&lt;br /&gt;", "<br />");
+        return extractResources(content);
     }
 
-    private String addResourcesInMessage(final MimeMessageHelper mailMessage, final String htmlText) throws Exception {
+    private MimeMessage createMessage(final EmailNotification emailNotification, final MessageContent content) throws Exception {
+        final MimeMessageHelper mailMessage = new MimeMessageHelper(mailSender.createMimeMessage(), true, StandardCharsets.UTF_8.name());
+
+        final String from = isNull(emailNotification.getFrom()) || emailNotification.getFrom().isEmpty()
+                ? defaultFrom
+                : emailNotification.getFrom();
+
+        if (isEmpty(emailNotification.getFromName())) {
+            mailMessage.setFrom(from);
+        } else {
+            mailMessage.setFrom(from, emailNotification.getFromName());
+        }
+
+        String sender = emailNotification.getFrom();
+        if (! isEmpty(emailNotification.getReplyTo())) {
+            mailMessage.setReplyTo(emailNotification.getReplyTo());
+            sender = emailNotification.getReplyTo();
+        }
+
+        mailMessage.setTo(emailNotification.getTo());
+
+        if (emailNotification.isCopyToSender() && sender != null) {
+            mailMessage.setBcc(sender);
+        }
+
+        if (emailNotification.getBcc() != null && emailNotification.getBcc().length > 0) {
+            mailMessage.setBcc(emailNotification.getBcc());
+        }
+
+        mailMessage.setSubject(format(subject, emailNotification.getSubject()));
+
+        addResourcesInMessage(mailMessage, content);
+
+        LOGGER.debug("Sending an email to: {}\nSubject: {}\nMessage: {}",
+                emailNotification.getTo(), emailNotification.getSubject(), content.html);
+
+        return mailMessage.getMimeMessage();
+    }
+
+    private MessageContent extractResources(final String htmlText) {
         final Document document = Jsoup.parse(htmlText);
 
         final List<String> resources = new ArrayList<>();
@@ -143,10 +257,13 @@ public class EmailServiceImpl extends TransactionalService implements EmailServi
                 })
                 .collect(Collectors.toList()));
 
-        final String html = document.html();
-        mailMessage.setText(html, true);
+        return new MessageContent(document.html(), resources);
+    }
+
+    private void addResourcesInMessage(final MimeMessageHelper mailMessage, final MessageContent content) throws Exception {
+        mailMessage.setText(content.html, true);
 
-        for (final String res : resources) {
+        for (final String res : content.resources) {
             if (res.startsWith("data:image/")) {
                 final String value = res.replaceFirst("^data:image/[^;]*;base64,?", "");
                 byte[] bytes = Base64.getDecoder().decode(value.getBytes("UTF-8"));
@@ -156,8 +273,6 @@ public class EmailServiceImpl extends TransactionalService implements EmailServi
                 mailMessage.addInline(res, templateResource, getContentTypeByFileName(res));
             }
         }
-
-        return html;
     }
 
     private String getContentTypeByFileName(final String fileName) {
@@ -181,4 +296,15 @@ public class EmailServiceImpl extends TransactionalService implements EmailServi
             return "";
         return matcher.group(1).toLowerCase();
     }
+
+    private static class MessageContent {
+
+        private final String html;
+        private final List<String> resources;
+
+        private MessageContent(String html, List<String> resources) {
+            this.html = html;
+            this.resources = resources;
+        }
+    }
 }
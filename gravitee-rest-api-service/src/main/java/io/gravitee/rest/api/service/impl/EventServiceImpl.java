@@ -126,34 +126,20 @@ public class EventServiceImpl extends TransactionalService implements EventServi
         }
     }
 
-    private Set<EventEntity> findByProperty(String property, String value) {
-        return convert(eventRepository.search(new EventCriteria.Builder().environmentId(GraviteeContext.getCurrentEnvironment()).property(property, value).build()));
-    }
-
     @Override
     public Page<EventEntity> search(List<EventType> eventTypes,
                                     Map<String, Object> properties, long from, long to, int page, int size) {
-        EventCriteria.Builder builder = new EventCriteria.Builder().from(from).to(to);
-
-        if (eventTypes != null) {
-            io.gravitee.repository.management.model.EventType[] eventTypesArr = eventTypes.stream()
-                    .map(eventType -> io.gravitee.repository.management.model.EventType.valueOf(eventType.toString()))
-                    .toArray(io.gravitee.repository.management.model.EventType[]::new);
-
-            builder.types(eventTypesArr);
-        }
-
-        if (properties != null) {
-            properties.forEach(builder::property);
-        }
+        return search(eventTypes, properties, from, to, page, size, true);
+    }
 
-        builder.environmentId(GraviteeContext.getCurrentEnvironment());
-        
+    @Override
+    public Page<EventEntity> search(List<EventType> eventTypes, Map<String, Object> properties, long from, long to,
+                                    int page, int size, boolean withPayload) {
         Page<Event> pageEvent = eventRepository.search(
-                builder.build(),
+                toCriteria(eventTypes, properties, from, to),
                 new PageableBuilder().pageNumber(page).pageSize(size).build());
 
-        List<EventEntity> content = pageEvent.getContent().stream().map(this::convert).collect(Collectors.toList());
+        List<EventEntity> content = convert(pageEvent.getContent(), withPayload);
 
         return new Page<>(content, pageEvent.getPageNumber(), (int) pageEvent.getPageElements(), pageEvent.getTotalElements());
     }
@@ -161,7 +147,8 @@ public class EventServiceImpl extends TransactionalService implements EventServi
     @Override
     public <T> Page<T> search(List<EventType> eventTypes,
                                     Map<String, Object> properties, long from, long to, int page, int size, Function<EventEntity, T> mapper) {
-        return search(eventTypes, properties, from, to, page, size, mapper, (T t) -> true);
+        Page<EventEntity> result = search(eventTypes, properties, from, to, page, size);
+        return new Page<>(result.getContent().stream().map(mapper).collect(Collectors.toList()), page, size, result.getTotalElements());
     }
 
     @Override
@@ -172,8 +159,33 @@ public class EventServiceImpl extends TransactionalService implements EventServi
 
     @Override
     public Collection<EventEntity> search(final EventQuery query) {
+        return search(query, true);
+    }
+
+    @Override
+    public Collection<EventEntity> search(final EventQuery query, boolean withPayload) {
         LOGGER.debug("Search APIs by {}", query);
-        return convert(eventRepository.search(queryToCriteria(query).build()));
+        return new HashSet<>(convert(eventRepository.search(queryToCriteria(query).build()), withPayload));
+    }
+
+    private EventCriteria toCriteria(List<EventType> eventTypes, Map<String, Object> properties, long from, long to) {
+        EventCriteria.Builder builder = new EventCriteria.Builder().from(from).to(to);
+
+        if (eventTypes != null) {
+            io.gravitee.repository.management.model.EventType[] eventTypesArr = eventTypes.stream()
+                    .map(eventType -> io.gravitee.repository.management.model.EventType.valueOf(eventType.toString()))
+                    .toArray(io.gravitee.repository.management.model.EventType[]::new);
+
+            builder.types(eventTypesArr);
+        }
+
+        if (properties != null) {
+            properties.forEach(builder::property);
+        }
+
+        builder.environmentId(GraviteeContext.getCurrentEnvironment());
+
+        return builder.build();
     }
 
     private EventCriteria.Builder queryToCriteria(EventQuery query) {
@@ -205,37 +217,71 @@ public class EventServiceImpl extends TransactionalService implements EventServi
         return builder;
     }
 
-    private Set<EventEntity> convert(List<Event> events) {
-        return events.stream().map(this::convert).collect(Collectors.toSet());
+    private List<EventEntity> convert(List<Event> events, boolean withPayload) {
+        final Map<String, UserEntity> users = findUsers(events);
+        return events.stream().map(event -> convert(event, withPayload, users)).collect(Collectors.toList());
     }
 
     private EventEntity convert(Event event) {
+        return convert(event, true, findUsers(Collections.singletonList(event)));
+    }
+
+    private EventEntity convert(Event event, boolean withPayload, Map<String, UserEntity> users) {
         EventEntity eventEntity = new EventEntity();
         eventEntity.setId(event.getId());
         eventEntity.setType(io.gravitee.rest.api.model.EventType.valueOf(event.getType().toString()));
-        eventEntity.setPayload(event.getPayload());
+        if (withPayload) {
+            eventEntity.setPayload(event.getPayload());
+        }
         eventEntity.setParentId(event.getParentId());
         eventEntity.setProperties(event.getProperties());
         eventEntity.setCreatedAt(event.getCreatedAt());
         eventEntity.setUpdatedAt(event.getUpdatedAt());
 
-        if (event.getProperties() != null) {
-            final String userId = event.getProperties().get(Event.EventProperties.USER.getValue());
-            if (userId != null && !userId.isEmpty()) {
-                try {
-                    eventEntity.setUser(userService.findById(userId));
-                } catch (UserNotFoundException unfe) {
-                    UserEntity user = new UserEntity();
-                    user.setSource("system");
-                    user.setId(userId);
-                    eventEntity.setUser(user);
-                }
+        final String userId = getUserId(event);
+        if (userId != null) {
+            UserEntity user = users.get(userId);
+            if (user == null) {
+                user = new UserEntity();
+                user.setSource("system");
+                user.setId(userId);
             }
+            eventEntity.setUser(user);
         }
 
         return eventEntity;
     }
 
+    /**
+     * Read the users of the given events at once, by their ids.
+     */
+    private Map<String, UserEntity> findUsers(List<Event> events) {
+        final List<String> userIds = events.stream()
+                .map(this::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        try {
+            return userService.findByIds(userIds, false)
+                    .stream()
+                    .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+        } catch (UserNotFoundException unfe) {
+            return Collections.emptyMap();
+        }
+    }
+
+    private String getUserId(Event event) {
+        if (event.getProperties() == null) {
+            return null;
+        }
+        final String userId = event.getProperties().get(Event.EventProperties.USER.getValue());
+        return userId == null || userId.isEmpty() ? null : userId;
+    }
+
     private Event convert(NewEventEntity newEventEntity) {
         Event event = new Event();
         event.setType(io.gravitee.repository.management.model.EventType.valueOf(newEventEntity.getType().toString()));
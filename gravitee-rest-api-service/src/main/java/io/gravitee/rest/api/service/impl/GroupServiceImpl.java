@@ -58,6 +58,8 @@ import static io.gravitee.rest.api.model.permissions.RolePermissionAction.*;
 public class GroupServiceImpl extends AbstractService implements GroupService {
     private final Logger logger = LoggerFactory.getLogger(GroupServiceImpl.class);
 
+    private static final int API_BATCH_SIZE = 100;
+
     @Autowired
     private GroupRepository groupRepository;
     @Autowired
@@ -272,43 +274,39 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
     public void associate(String groupId, String associationType) {
         try {
             if ("api".equalsIgnoreCase(associationType)) {
-                apiRepository.search(null)
-                        .forEach(new Consumer<Api>() {
-                            @Override
-                            public void accept(Api api) {
-                                if (api.getGroups() == null) {
-                                    api.setGroups(new HashSet<>());
-                                }
-
-                                if (!api.getGroups().contains(groupId)) {
-                                    api.getGroups().add(groupId);
-                                    try {
-                                        apiRepository.update(api);
-                                    } catch (TechnicalException e) {
-                                        e.printStackTrace();
-                                    }
-                                }
-                            }
-                        });
+                // Only the APIs which are not in the group yet are read with their definition, by batches
+                final List<String> apiIds = apiRepository.search(
+                        new ApiCriteria.Builder().environmentId(GraviteeContext.getCurrentEnvironment()).build(),
+                        new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build())
+                        .stream()
+                        .filter(api -> api.getGroups() == null || !api.getGroups().contains(groupId))
+                        .map(Api::getId)
+                        .collect(Collectors.toList());
+
+                final Date updatedDate = new Date();
+                updateApis(apiIds, api -> {
+                    if (api.getGroups() == null) {
+                        api.setGroups(new HashSet<>());
+                    }
+                    api.getGroups().add(groupId);
+                    api.setUpdatedAt(updatedDate);
+                });
+                logger.info("Group {} associated to {} APIs", groupId, apiIds.size());
             } else if ("application".equalsIgnoreCase(associationType)) {
-                applicationRepository.findAll()
-                        .forEach(new Consumer<Application>() {
-                            @Override
-                            public void accept(Application application) {
-                                if (application.getGroups() == null) {
-                                    application.setGroups(new HashSet<>());
-                                }
+                final Date updatedDate = new Date();
+                int updated = 0;
+                for (Application application : applicationRepository.findAllByEnvironment(GraviteeContext.getCurrentEnvironment(), ApplicationStatus.ACTIVE)) {
+                    if (application.getGroups() == null) {
+                        application.setGroups(new HashSet<>());
+                    }
 
-                                if (!application.getGroups().contains(groupId)) {
-                                    application.getGroups().add(groupId);
-                                    try {
-                                        applicationRepository.update(application);
-                                    } catch (TechnicalException e) {
-                                        e.printStackTrace();
-                                    }
-                                }
-                            }
-                        });
+                    if (application.getGroups().add(groupId)) {
+                        application.setUpdatedAt(updatedDate);
+                        applicationRepository.update(application);
+                        updated++;
+                    }
+                }
+                logger.info("Group {} associated to {} applications", groupId, updated);
             }
         } catch (TechnicalException ex) {
             logger.error("An error occurs while trying to associate group to all {}", associationType, ex);
@@ -316,6 +314,21 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
         }
     }
 
+    /**
+     * Read the given APIs by batches of {@link #API_BATCH_SIZE}, so that only a bounded number of definitions are
+     * held at once, and update each of them once modified by the given consumer.
+     */
+    private void updateApis(List<String> apiIds, Consumer<Api> update) throws TechnicalException {
+        for (int from = 0; from < apiIds.size(); from += API_BATCH_SIZE) {
+            final List<String> batch = apiIds.subList(from, Math.min(from + API_BATCH_SIZE, apiIds.size()));
+            for (Api api : apiRepository.search(new ApiCriteria.Builder().ids(batch.toArray(new String[0])).build())) {
+                update.accept(api);
+                apiRepository.update(api);
+            }
+            logger.debug("{} / {} APIs updated", from + batch.size(), apiIds.size());
+        }
+    }
+
     @Override
     public Set<GroupEntity> findByIds(Set<String> groupIds) {
         try {
@@ -375,25 +388,25 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
             
             //remove all applications or apis
             Date updatedDate = new Date();
-            apiRepository.search(new ApiCriteria.Builder().environmentId(GraviteeContext.getCurrentEnvironment()).groups(groupId).build()).forEach(api -> {
+            final List<String> apiIds = apiRepository.search(
+                    new ApiCriteria.Builder().environmentId(GraviteeContext.getCurrentEnvironment()).groups(groupId).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build())
+                    .stream()
+                    .map(Api::getId)
+                    .collect(Collectors.toList());
+            updateApis(apiIds, api -> {
                 api.getGroups().remove(groupId);
                 api.setUpdatedAt(updatedDate);
-                try {
-                    apiRepository.update(api);
-                } catch (TechnicalException ex) {
-                    logger.error("An error occurs while trying to delete a group", ex);
-                    throw new TechnicalManagementException("An error occurs while trying to delete a group", ex);
-                }
+            });
 
-                //remove from API plans
-                removeFromAPIPlans(groupId, updatedDate, api.getId());
+            //remove from API plans
+            for (String apiId : apiIds) {
+                removeFromAPIPlans(groupId, updatedDate, apiId);
+            }
 
-                //remove from API pages
-                removeGroupFromPages(groupId, updatedDate, api.getId());
+            //remove idp group mapping using this group
+            removeIDPGroupMapping(groupId, updatedDate);
 
-                //remove idp group mapping using this group
-                removeIDPGroupMapping(groupId, updatedDate);
-            });
             applicationRepository.findByGroups(Collections.singletonList(groupId)).forEach(application -> {
                 application.getGroups().remove(groupId);
                 application.setUpdatedAt(updatedDate);
@@ -405,8 +418,8 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
                 }
             });
 
-            //remove from portal pages
-            removeGroupFromPages(groupId, updatedDate, null);
+            //remove from API and portal pages
+            removeGroupFromPages(groupId, updatedDate);
 
             //remove group
             groupRepository.delete(groupId);
@@ -476,14 +489,10 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
         }
     }
 
-    private void removeGroupFromPages(String groupId, Date updatedDate, String apiId) {
+    private void removeGroupFromPages(String groupId, Date updatedDate) {
         try {
-            PageCriteria.Builder criteriaBuilder = new PageCriteria.Builder();
-            if (apiId != null) {
-                criteriaBuilder.referenceId(apiId);
-            }
-            final List<Page> apiPages = this.pageRepository.search(criteriaBuilder.build());
-            for (Page page : apiPages) {
+            final List<Page> pages = this.pageRepository.search(new PageCriteria.Builder().build());
+            for (Page page : pages) {
                 if (page.getExcludedGroups() != null && page.getExcludedGroups().contains(groupId)) {
                     page.getExcludedGroups().remove(groupId);
                     page.setUpdatedAt(updatedDate);
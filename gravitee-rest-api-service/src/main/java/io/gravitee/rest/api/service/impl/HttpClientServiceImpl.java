@@ -21,11 +21,10 @@ import io.gravitee.common.http.MediaType;
 import io.gravitee.rest.api.service.HttpClientService;
 import io.gravitee.rest.api.service.common.RandomString;
 import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import io.gravitee.rest.api.service.vertx.HttpClientPool;
 import io.gravitee.rest.api.service.vertx.VertxCompletableFuture;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpClient;
-import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.net.ProxyOptions;
 import io.vertx.core.net.ProxyType;
@@ -39,6 +38,7 @@ import java.net.URI;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author Florent CHAMFROY (florent.chamfroy at graviteesource.com)
@@ -78,18 +78,11 @@ public class HttpClientServiceImpl extends AbstractService implements HttpClient
     
     @Autowired
     private Vertx vertx;
-    
-    private HttpClient getHttpClient(String uriScheme, Boolean useSystemProxy) {
-        boolean ssl = HTTPS_SCHEME.equalsIgnoreCase(uriScheme);
-
-        final HttpClientOptions options = new HttpClientOptions()
-                .setSsl(ssl)
-                .setTrustAll(true)
-                .setMaxPoolSize(1)
-                .setKeepAlive(false)
-                .setTcpKeepAlive(false)
-                .setConnectTimeout(httpClientTimeout);
-        
+
+    @Autowired
+    private HttpClientPool httpClientPool;
+
+    private ProxyOptions getProxyOptions(String uriScheme, Boolean useSystemProxy) {
         if ((useSystemProxy != null && useSystemProxy == Boolean.TRUE) || (useSystemProxy == null && this.isProxyConfigured)) {
             ProxyOptions proxyOptions = new ProxyOptions();
             proxyOptions.setType(ProxyType.valueOf(httpClientProxyType));
@@ -104,10 +97,9 @@ public class HttpClientServiceImpl extends AbstractService implements HttpClient
                 proxyOptions.setUsername(httpClientProxyHttpUsername);
                 proxyOptions.setPassword(httpClientProxyHttpPassword);
             }
-            options.setProxyOptions(proxyOptions);
+            return proxyOptions;
         }
-        
-        return vertx.createHttpClient(options);
+        return null;
     }
 
     @Override
@@ -120,67 +112,51 @@ public class HttpClientServiceImpl extends AbstractService implements HttpClient
         CompletableFuture<Buffer> future = new VertxCompletableFuture<>(vertx);
         URI requestUri = URI.create(uri);
 
-        final HttpClient httpClient = this.getHttpClient(requestUri.getScheme(), useSystemProxy);
-
-        final int port = requestUri.getPort() != -1 ? requestUri.getPort() :
-                (HTTPS_SCHEME.equals(requestUri.getScheme()) ? 443 : 80);
-
-        HttpClientRequest request = httpClient.request(
-                io.vertx.core.http.HttpMethod.valueOf(method.name()),
-                port,
-                requestUri.getHost(),
-                requestUri.toString(),
-                response -> LOGGER.debug("Web response status code : {}", response.statusCode())
-        );
-        request.setTimeout(httpClientTimeout);
-
-        //headers
-        if(headers != null) {
-            headers.forEach(request::putHeader);
-        }
-        if(body != null) {
-            if(!request.headers().contains(HttpHeaders.CONTENT_TYPE)) {
-                request.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+        final HttpClientPool.Origin origin = httpClientPool.acquire(requestUri, getProxyOptions(requestUri.getScheme(), useSystemProxy));
+        final AtomicBoolean failed = new AtomicBoolean();
+        try {
+            HttpClientRequest request = origin.getClient().request(
+                    io.vertx.core.http.HttpMethod.valueOf(method.name()),
+                    origin.getPort(),
+                    origin.getHost(),
+                    requestUri.toString(),
+                    response -> LOGGER.debug("Web response status code : {}", response.statusCode())
+            );
+            request.setTimeout(httpClientTimeout);
+
+            //headers
+            if(headers != null) {
+                headers.forEach(request::putHeader);
             }
-            request.putHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.getBytes().length));
-            request.write(body);
-        }
-        request.putHeader("X-Gravitee-Request-Id", RandomString.generate());
-
-        request.handler(response -> {
-            if (response.statusCode() >= 200 && response.statusCode() <= 299) {
-                response.bodyHandler(buffer -> {
-                    future.complete(buffer);
-
-                    // Close client
-                    httpClient.close();
-                });
-            } else {
-                response.bodyHandler(buffer -> {
-                    future.completeExceptionally(new TechnicalManagementException(" Error on url '" + uri + "'. Status code: " + response.statusCode() + ". Message: " + buffer.toString(), null));
-
-                    // Close client
-                    httpClient.close();
-                });
+            if(body != null) {
+                if(!request.headers().contains(HttpHeaders.CONTENT_TYPE)) {
+                    request.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+                }
+                request.putHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.getBytes().length));
+                request.write(body);
             }
-        });
-        request.exceptionHandler(event -> {
-            try {
+            request.putHeader("X-Gravitee-Request-Id", RandomString.generate());
+
+            request.handler(response -> {
+                if (response.statusCode() >= 200 && response.statusCode() <= 299) {
+                    response.bodyHandler(future::complete);
+                } else {
+                    response.bodyHandler(buffer -> future.completeExceptionally(new TechnicalManagementException(" Error on url '" + uri + "'. Status code: " + response.statusCode() + ". Message: " + buffer.toString(), null)));
+                }
+            });
+            request.exceptionHandler(event -> {
+                // the connection failed before getting a response, so the client is evicted from the pool
+                failed.set(true);
                 future.completeExceptionally(event);
+            });
 
-                // Close client
-                httpClient.close();
-            } catch (IllegalStateException ise) {
-                // Do not take care about exception when closing client
-            }
-        });
-
-        request.end();
+            request.end();
 
-        try {
             return future.get();
         } catch (InterruptedException | ExecutionException e) {
             throw new TechnicalManagementException(e.getMessage(), e);
+        } finally {
+            httpClientPool.release(origin, failed.get());
         }
     }
 
@@ -33,8 +33,9 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -56,52 +57,77 @@ public class InstanceServiceImpl implements InstanceService {
 
     private static final List<EventType> instancesAllState = new ArrayList<>();
 
-    {
+    static {
         instancesAllState.add(EventType.GATEWAY_STARTED);
         instancesAllState.add(EventType.GATEWAY_STOPPED);
     }
 
     private static final List<EventType> instancesRunningOnly = new ArrayList<>();
 
-    {
+    static {
         instancesRunningOnly.add(EventType.GATEWAY_STARTED);
     }
 
+    private static final List<EventType> instancesStoppedOnly = new ArrayList<>();
+
+    static {
+        instancesStoppedOnly.add(EventType.GATEWAY_STOPPED);
+    }
+
     @Override
     public Page<InstanceListItem> search(InstanceQuery query) {
-        List<EventType> types;
-
-        if (query.isIncludeStopped()) {
-            types = instancesAllState;
-        } else {
-            types = instancesRunningOnly;
+        // Gateways update their started event on each heartbeat, so the instances which are not expired are the
+        // started events updated since the expiration delay. The condition is part of the criteria, so the repository
+        // pages and counts the kept instances. The upper bound tolerates gateways whose clock is ahead.
+        final Instant now = Instant.now();
+        final long aliveFrom = Math.max(query.getFrom(), now.minusSeconds(unknownExpireAfterInSec).toEpochMilli());
+        final long aliveTo = query.getTo() > 0 ? query.getTo() : now.plus(1, ChronoUnit.DAYS).toEpochMilli();
+
+        final ExpiredPredicate filter = new ExpiredPredicate(Duration.ofSeconds(unknownExpireAfterInSec));
+        if (!query.isIncludeStopped()) {
+            return eventService.search(instancesRunningOnly, query.getProperties(), aliveFrom, aliveTo,
+                    query.getPage(), query.getSize(), this::convertToListItem, filter);
         }
 
-        ExpiredPredicate filter = new ExpiredPredicate(Duration.ofSeconds(unknownExpireAfterInSec));
-        return eventService.search(types, query.getProperties(), query.getFrom(),
-                query.getTo(), query.getPage(), query.getSize(), new Function<EventEntity, InstanceListItem>() {
-                    @Override
-                    public InstanceListItem apply(EventEntity eventEntity) {
-                        InstanceEntity instanceEntity = convert(eventEntity);
-
-                        InstanceListItem item = new InstanceListItem();
-                        item.setId(instanceEntity.getId());
-                        item.setEvent(instanceEntity.getEvent());
-                        item.setHostname(instanceEntity.getHostname());
-                        item.setIp(instanceEntity.getIp());
-                        item.setPort(instanceEntity.getPort());
-                        item.setLastHeartbeatAt(instanceEntity.getLastHeartbeatAt());
-                        item.setStartedAt(instanceEntity.getStartedAt());
-                        item.setStoppedAt(instanceEntity.getStoppedAt());
-                        item.setVersion(instanceEntity.getVersion());
-                        item.setTags(instanceEntity.getTags());
-                        item.setTenant(instanceEntity.getTenant());
-                        item.setOperatingSystemName(instanceEntity.getSystemProperties().get("os.name"));
-                        item.setState(instanceEntity.getState());
-
-                        return item;
-                    }
-                }, filter);
+        // Stopped instances are kept whatever their last update: both searches are read up to the requested page and
+        // merged in the repository order, the most recently updated first.
+        final int window = (query.getPage() + 1) * query.getSize();
+        final Page<EventEntity> stopped = eventService.search(instancesStoppedOnly, query.getProperties(),
+                query.getFrom(), query.getTo(), 0, window, true);
+        final Page<EventEntity> started = eventService.search(instancesRunningOnly, query.getProperties(),
+                aliveFrom, aliveTo, 0, window, true);
+
+        final List<InstanceListItem> content = Stream.concat(stopped.getContent().stream(), started.getContent().stream())
+                .sorted(Comparator.comparing(EventEntity::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .skip((long) query.getPage() * query.getSize())
+                .limit(query.getSize())
+                .map(this::convertToListItem)
+                .filter(filter)
+                .collect(Collectors.toList());
+
+        return new Page<>(content, query.getPage(), content.size(),
+                stopped.getTotalElements() + started.getTotalElements());
+    }
+
+    private InstanceListItem convertToListItem(EventEntity eventEntity) {
+        InstanceEntity instanceEntity = convert(eventEntity);
+
+        InstanceListItem item = new InstanceListItem();
+        item.setId(instanceEntity.getId());
+        item.setEvent(instanceEntity.getEvent());
+        item.setHostname(instanceEntity.getHostname());
+        item.setIp(instanceEntity.getIp());
+        item.setPort(instanceEntity.getPort());
+        item.setLastHeartbeatAt(instanceEntity.getLastHeartbeatAt());
+        item.setStartedAt(instanceEntity.getStartedAt());
+        item.setStoppedAt(instanceEntity.getStoppedAt());
+        item.setVersion(instanceEntity.getVersion());
+        item.setTags(instanceEntity.getTags());
+        item.setTenant(instanceEntity.getTenant());
+        item.setOperatingSystemName(instanceEntity.getSystemProperties().get("os.name"));
+        item.setState(instanceEntity.getState());
+
+        return item;
     }
 
     @Override
@@ -15,7 +15,6 @@
  */
 package io.gravitee.rest.api.service.impl;
 
-import io.gravitee.common.http.HttpMethod;
 import io.gravitee.rest.api.model.*;
 import io.gravitee.rest.api.model.analytics.query.LogQuery;
 import io.gravitee.rest.api.model.api.ApiEntity;
@@ -28,9 +27,16 @@ import io.gravitee.rest.api.service.*;
 import io.gravitee.rest.api.service.exceptions.*;
 import io.gravitee.repository.analytics.AnalyticsException;
 import io.gravitee.repository.analytics.query.*;
+import io.gravitee.repository.analytics.query.tabular.TabularQueryBuilder;
 import io.gravitee.repository.analytics.query.tabular.TabularResponse;
 import io.gravitee.repository.log.api.LogRepository;
+import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.log.model.ExtendedLog;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.ApplicationRepository;
+import io.gravitee.repository.management.api.PlanRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
 import io.gravitee.repository.management.model.ApplicationStatus;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import org.apache.commons.lang3.time.FastDateFormat;
@@ -39,6 +45,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -74,10 +86,20 @@ public class LogsServiceImpl implements LogsService {
     private static final String RFC_3339_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
     private static final FastDateFormat dateFormatter = FastDateFormat.getInstance(RFC_3339_DATE_FORMAT);
     private static final char separator = ';';
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final Map<String, String> UNKNOWN_API_METADATA = unknownMetadata(METADATA_UNKNOWN_API_NAME);
+    private static final Map<String, String> UNKNOWN_APPLICATION_METADATA = unknownMetadata(METADATA_UNKNOWN_APPLICATION_NAME);
+    private static final Map<String, String> UNKNOWN_PLAN_METADATA = unknownMetadata(METADATA_UNKNOWN_PLAN_NAME);
 
     @Autowired
     private LogRepository logRepository;
     @Autowired
+    private ApiRepository apiRepository;
+    @Autowired
+    private ApplicationRepository applicationRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
     private ApiService apiService;
     @Autowired
     private ApplicationService applicationService;
@@ -97,16 +119,7 @@ public class LogsServiceImpl implements LogsService {
     @Override
     public SearchLogResponse findByApi(String api, LogQuery query) {
         try {
-            final String field = query.getField() == null ? "@timestamp" : query.getField();
-            TabularResponse response = logRepository.query(QueryBuilders.tabular()
-                    .page(query.getPage())
-                    .size(query.getSize())
-                    .query(query.getQuery())
-                    .sort(SortBuilder.on(field, query.isOrder() ? Order.ASC : Order.DESC, null))
-                    .timeRange(
-                            DateRangeBuilder.between(query.getFrom(), query.getTo()),
-                            IntervalBuilder.interval(query.getInterval())
-                    )
+            TabularResponse response = logRepository.query(tabularQuery(query, query.getPage(), query.getSize())
                     .root("api", api)
                     .build());
 
@@ -165,19 +178,9 @@ public class LogsServiceImpl implements LogsService {
     @Override
     public SearchLogResponse findByApplication(String application, LogQuery query) {
         try {
-            final String field = query.getField() == null ? "@timestamp" : query.getField();
-            TabularResponse response = logRepository.query(
-                    QueryBuilders.tabular()
-                            .page(query.getPage())
-                            .size(query.getSize())
-                            .query(query.getQuery())
-                            .sort(SortBuilder.on(field, query.isOrder() ? Order.ASC : Order.DESC, null))
-                            .timeRange(
-                                    DateRangeBuilder.between(query.getFrom(), query.getTo()),
-                                    IntervalBuilder.interval(query.getInterval())
-                            )
-                            .root("application", application)
-                            .build());
+            TabularResponse response = logRepository.query(tabularQuery(query, query.getPage(), query.getSize())
+                    .root("application", application)
+                    .build());
 
             SearchLogResponse<ApplicationRequestItem> logResponse = new SearchLogResponse<>(response.getSize());
 
@@ -215,19 +218,7 @@ public class LogsServiceImpl implements LogsService {
     @Override
     public SearchLogResponse findPlatform(LogQuery query) {
         try {
-            final String field = query.getField() == null ? "@timestamp" : query.getField();
-            TabularResponse response = logRepository.query(
-                    QueryBuilders.tabular()
-                            .page(query.getPage())
-                            .size(query.getSize())
-                            .query(query.getQuery())
-                            .sort(SortBuilder.on(field, query.isOrder() ? Order.ASC : Order.DESC, null))
-                            .timeRange(
-                                    DateRangeBuilder.between(query.getFrom(), query.getTo()),
-                                    IntervalBuilder.interval(query.getInterval())
-                            )
-//                            .root("application", application)
-                            .build());
+            TabularResponse response = logRepository.query(tabularQuery(query, query.getPage(), query.getSize()).build());
 
             SearchLogResponse<PlatformRequestItem> logResponse = new SearchLogResponse<>(response.getSize());
 
@@ -390,93 +381,244 @@ public class LogsServiceImpl implements LogsService {
     }
 
     @Override
-    public String exportAsCsv(final SearchLogResponse searchLogResponse) {
-        if (searchLogResponse.getLogs() == null || searchLogResponse.getLogs().isEmpty()) {
-            return "";
+    public void exportByApi(String api, LogQuery query, OutputStream outputStream) {
+        export("api", api, query, outputStream, false, true);
+    }
+
+    @Override
+    public void exportByApplication(String application, LogQuery query, OutputStream outputStream) {
+        export("application", application, query, outputStream, true, false);
+    }
+
+    @Override
+    public void exportPlatform(LogQuery query, OutputStream outputStream) {
+        export(null, null, query, outputStream, true, true);
+    }
+
+    /**
+     * Writes the logs of the requested page as CSV while reading them from the repository by chunks of
+     * {@link #EXPORT_CHUNK_SIZE}, so that neither the logs nor the CSV are fully kept in memory. The APIs,
+     * applications and plans of each chunk which are not known yet are resolved together before writing it.
+     */
+    private void export(String rootField, String rootIdentifier, LogQuery query, OutputStream outputStream,
+                        boolean withApi, boolean withApplication) {
+        if (query.getPage() < 1 || query.getSize() < 1) {
+            throw new InvalidDataException("Logs can only be exported for a page from 1 and a size from 1");
         }
-        final StringBuilder sb = new StringBuilder();
-        sb.append("Date");
-        sb.append(separator);
-        sb.append("Request Id");
-        sb.append(separator);
-        sb.append("Transaction Id");
-        sb.append(separator);
-        sb.append("Method");
-        sb.append(separator);
-        sb.append("Path");
-        sb.append(separator);
-        sb.append("Status");
-        sb.append(separator);
-        sb.append("Response Time");
-        sb.append(separator);
-        sb.append("Plan");
-        sb.append(separator);
-
-        //get the first item to define the type of export
-        if (searchLogResponse.getLogs().get(0) instanceof ApiRequestItem) {
-            sb.append("Application");
-            sb.append(lineSeparator());
-
-            for (final Object log : searchLogResponse.getLogs()) {
-                final ApiRequestItem apiLog = (ApiRequestItem) log;
-                processLine(searchLogResponse, sb, apiLog.getTimestamp(), apiLog.getId(), apiLog.getTransactionId(),
-                        apiLog.getMethod(), apiLog.getPath(), apiLog.getStatus(), apiLog.getResponseTime(), apiLog.getPlan());
-                final Object application = searchLogResponse.getMetadata().get(apiLog.getApplication());
-                sb.append(getName(application));
-                sb.append(lineSeparator());
+
+        final int offset = (query.getPage() - 1) * query.getSize();
+        final int chunkSize = query.getSize() > EXPORT_CHUNK_SIZE && offset % EXPORT_CHUNK_SIZE == 0 ?
+                EXPORT_CHUNK_SIZE : query.getSize();
+        final Map<String, Map<String, String>> metadata = new HashMap<>();
+
+        try {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            int page = offset / chunkSize + 1;
+            int remaining = query.getSize();
+            while (remaining > 0) {
+                final TabularQueryBuilder queryBuilder = tabularQuery(query, page, chunkSize);
+                if (rootField != null) {
+                    queryBuilder.root(rootField, rootIdentifier);
+                }
+
+                final List<io.gravitee.repository.log.model.Log> logs = logRepository.query(queryBuilder.build()).getLogs();
+                if (logs == null || logs.isEmpty()) {
+                    break;
+                }
+                if (page == offset / chunkSize + 1) {
+                    writeCsvHeader(writer, withApi, withApplication);
+                }
+
+                final List<io.gravitee.repository.log.model.Log> exported = logs.subList(0, Math.min(remaining, logs.size()));
+                fillMetadata(metadata, exported, withApi, withApplication);
+                for (io.gravitee.repository.log.model.Log log : exported) {
+                    writeCsvLine(writer, log, metadata, withApi, withApplication);
+                }
+                writer.flush();
+
+                remaining -= logs.size();
+                if (logs.size() < chunkSize) {
+                    break;
+                }
+                page++;
             }
+            writer.flush();
+        } catch (AnalyticsException | IOException | TechnicalException ex) {
+            logger.error("Unable to export logs: ", ex);
+            throw new TechnicalManagementException("Unable to export logs", ex);
+        }
+    }
+
+    private TabularQueryBuilder tabularQuery(LogQuery query, int page, int size) {
+        final String field = query.getField() == null ? "@timestamp" : query.getField();
+        return QueryBuilders.tabular()
+                .page(page)
+                .size(size)
+                .query(query.getQuery())
+                .sort(SortBuilder.on(field, query.isOrder() ? Order.ASC : Order.DESC, null))
+                .timeRange(
+                        DateRangeBuilder.between(query.getFrom(), query.getTo()),
+                        IntervalBuilder.interval(query.getInterval())
+                );
+    }
 
-        } else if (searchLogResponse.getLogs().get(0) instanceof ApplicationRequestItem) {
-            sb.append("API");
-            sb.append(lineSeparator());
-
-            for (final Object log : searchLogResponse.getLogs()) {
-                final ApplicationRequestItem applicationLog = (ApplicationRequestItem) log;
-                processLine(searchLogResponse, sb, applicationLog.getTimestamp(), applicationLog.getId(), applicationLog.getTransactionId(),
-                        applicationLog.getMethod(), applicationLog.getPath(), applicationLog.getStatus(), applicationLog.getResponseTime(), applicationLog.getPlan());
-                final Object api = searchLogResponse.getMetadata().get(applicationLog.getApi());
-                sb.append(getName(api));
-                sb.append(lineSeparator());
+    /**
+     * Adds the metadata of the APIs, applications and plans of the given logs which are not already known, with one
+     * query for the APIs and one for the applications. The plan repository can only look plans up by API, so plans
+     * are loaded once for each API whose plans are not known yet. Identifiers which are not found are deleted ones.
+     */
+    private void fillMetadata(Map<String, Map<String, String>> metadata, List<io.gravitee.repository.log.model.Log> logs,
+                              boolean withApi, boolean withApplication) throws TechnicalException {
+        if (withApi) {
+            final Set<String> apiIds = unknownIds(metadata, logs, io.gravitee.repository.log.model.Log::getApi,
+                    UNKNOWN_API_METADATA);
+            if (!apiIds.isEmpty()) {
+                apiRepository.search(new ApiCriteria.Builder().ids(apiIds.toArray(new String[0])).build(),
+                        new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build())
+                        .forEach(api -> {
+                            final Map<String, String> apiMetadata = new HashMap<>();
+                            apiMetadata.put(METADATA_NAME, api.getName());
+                            apiMetadata.put(METADATA_VERSION, api.getVersion());
+                            if (io.gravitee.repository.management.model.ApiLifecycleState.ARCHIVED.equals(api.getApiLifecycleState())) {
+                                apiMetadata.put(METADATA_DELETED, Boolean.TRUE.toString());
+                            }
+                            metadata.put(api.getId(), apiMetadata);
+                        });
+                putDeleted(metadata, apiIds, METADATA_DELETED_API_NAME);
             }
-        } else if (searchLogResponse.getLogs().get(0) instanceof PlatformRequestItem) {
-            sb.append("API");
-            sb.append(separator);
-            sb.append("Application");
-            sb.append(lineSeparator());
-
-            for (final Object log : searchLogResponse.getLogs()) {
-                final PlatformRequestItem platformLog = (PlatformRequestItem) log;
-                processLine(searchLogResponse, sb, platformLog.getTimestamp(), platformLog.getId(), platformLog.getTransactionId(),
-                        platformLog.getMethod(), platformLog.getPath(), platformLog.getStatus(), platformLog.getResponseTime(), platformLog.getPlan());
-                final Object api = searchLogResponse.getMetadata().get(platformLog.getApi());
-                sb.append(getName(api));
-                sb.append(separator);
-                final Object application = searchLogResponse.getMetadata().get(platformLog.getApplication());
-                sb.append(getName(application));
-                sb.append(lineSeparator());
+        }
+
+        if (withApplication) {
+            final Set<String> applicationIds = unknownIds(metadata, logs,
+                    io.gravitee.repository.log.model.Log::getApplication, UNKNOWN_APPLICATION_METADATA);
+            if (!applicationIds.isEmpty()) {
+                applicationRepository.findByIds(new ArrayList<>(applicationIds)).forEach(application -> {
+                    final Map<String, String> applicationMetadata = new HashMap<>();
+                    applicationMetadata.put(METADATA_NAME, application.getName());
+                    if (ApplicationStatus.ARCHIVED.equals(application.getStatus())) {
+                        applicationMetadata.put(METADATA_DELETED, Boolean.TRUE.toString());
+                    }
+                    metadata.put(application.getId(), applicationMetadata);
+                });
+                putDeleted(metadata, applicationIds, METADATA_DELETED_APPLICATION_NAME);
+            }
+        }
+
+        final Set<String> planIds = unknownIds(metadata, logs, io.gravitee.repository.log.model.Log::getPlan,
+                UNKNOWN_PLAN_METADATA);
+        if (!planIds.isEmpty()) {
+            final Set<String> apiIdsOfPlans = logs.stream()
+                    .filter(log -> log.getApi() != null && planIds.contains(log.getPlan()))
+                    .map(io.gravitee.repository.log.model.Log::getApi)
+                    .collect(Collectors.toSet());
+            for (String apiId : apiIdsOfPlans) {
+                planRepository.findByApi(apiId).stream()
+                        .filter(plan -> planIds.contains(plan.getId()))
+                        .forEach(plan -> metadata.put(plan.getId(),
+                                Collections.singletonMap(METADATA_NAME, plan.getName())));
+            }
+            putDeleted(metadata, planIds, METADATA_DELETED_PLAN_NAME);
+        }
+    }
+
+    /**
+     * Returns the identifiers read by the given getter which have no metadata yet. The unknown service identifiers
+     * get the given metadata and are not returned.
+     */
+    private Set<String> unknownIds(Map<String, Map<String, String>> metadata, List<io.gravitee.repository.log.model.Log> logs,
+                                   Function<io.gravitee.repository.log.model.Log, String> getter,
+                                   Map<String, String> unknownMetadata) {
+        final Set<String> ids = new HashSet<>();
+        for (io.gravitee.repository.log.model.Log log : logs) {
+            final String id = getter.apply(log);
+            if (id == null || metadata.containsKey(id)) {
+                continue;
+            }
+            if (id.equals(UNKNOWN_SERVICE) || id.equals(UNKNOWN_SERVICE_MAPPED)) {
+                metadata.put(id, unknownMetadata);
+            } else {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private void putDeleted(Map<String, Map<String, String>> metadata, Set<String> ids, String name) {
+        for (String id : ids) {
+            if (!metadata.containsKey(id)) {
+                logger.debug("No metadata found for {}, it is exported as deleted", id);
+                final Map<String, String> deletedMetadata = new HashMap<>();
+                deletedMetadata.put(METADATA_NAME, name);
+                deletedMetadata.put(METADATA_DELETED, Boolean.TRUE.toString());
+                metadata.put(id, deletedMetadata);
+            }
+        }
+    }
+
+    private void writeCsvHeader(Writer writer, boolean withApi, boolean withApplication) throws IOException {
+        writer.append("Date");
+        writer.append(separator);
+        writer.append("Request Id");
+        writer.append(separator);
+        writer.append("Transaction Id");
+        writer.append(separator);
+        writer.append("Method");
+        writer.append(separator);
+        writer.append("Path");
+        writer.append(separator);
+        writer.append("Status");
+        writer.append(separator);
+        writer.append("Response Time");
+        writer.append(separator);
+        writer.append("Plan");
+        writer.append(separator);
+        if (withApi) {
+            writer.append("API");
+            if (withApplication) {
+                writer.append(separator);
             }
         }
-        return sb.toString();
+        if (withApplication) {
+            writer.append("Application");
+        }
+        writer.append(lineSeparator());
+    }
+
+    private void writeCsvLine(Writer writer, io.gravitee.repository.log.model.Log log,
+                              Map<String, Map<String, String>> metadata, boolean withApi, boolean withApplication) throws IOException {
+        writer.append(dateFormatter.format(log.getTimestamp()));
+        writer.append(separator);
+        writer.append(log.getId());
+        writer.append(separator);
+        writer.append(log.getTransactionId());
+        writer.append(separator);
+        writer.append(String.valueOf(log.getMethod()));
+        writer.append(separator);
+        writer.append(new QueryStringDecoder(log.getUri()).toString());
+        writer.append(separator);
+        writer.append(String.valueOf(log.getStatus()));
+        writer.append(separator);
+        writer.append(String.valueOf(log.getResponseTime()));
+        writer.append(separator);
+        writer.append(getName(log.getPlan() == null ? null : metadata.get(log.getPlan())));
+        writer.append(separator);
+        if (withApi) {
+            writer.append(getName(log.getApi() == null ? null : metadata.get(log.getApi())));
+            if (withApplication) {
+                writer.append(separator);
+            }
+        }
+        if (withApplication) {
+            writer.append(getName(log.getApplication() == null ? null : metadata.get(log.getApplication())));
+        }
+        writer.append(lineSeparator());
     }
 
-    private void processLine(SearchLogResponse searchLogResponse, StringBuilder sb, long timestamp, String id,
-                             String transactionId, HttpMethod method, String path, int status, long responseTime, String plan) {
-        sb.append(dateFormatter.format(timestamp));
-        sb.append(separator);
-        sb.append(id);
-        sb.append(separator);
-        sb.append(transactionId);
-        sb.append(separator);
-        sb.append(method);
-        sb.append(separator);
-        sb.append(path);
-        sb.append(separator);
-        sb.append(status);
-        sb.append(separator);
-        sb.append(responseTime);
-        sb.append(separator);
-        sb.append(getName(searchLogResponse.getMetadata().get(plan)));
-        sb.append(separator);
+    private static Map<String, String> unknownMetadata(String name) {
+        final Map<String, String> metadata = new HashMap<>();
+        metadata.put(METADATA_NAME, name);
+        metadata.put(METADATA_UNKNOWN, Boolean.TRUE.toString());
+        return Collections.unmodifiableMap(metadata);
     }
 
     private String getName(Object map) {
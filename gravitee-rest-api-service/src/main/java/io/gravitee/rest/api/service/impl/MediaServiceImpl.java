@@ -187,8 +187,9 @@ public class MediaServiceImpl implements MediaService {
 
     private MediaEntity convertToEntity(String mediaDefinition) throws JsonProcessingException {
         final MediaEntity media = objectMapper
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-            .readValue(mediaDefinition, MediaEntity.class);
+            .readerFor(MediaEntity.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readValue(mediaDefinition);
         return  media;
     }
 
@@ -186,7 +186,7 @@ public class MessageServiceImpl extends AbstractService implements MessageServic
 
             case PORTAL:
                 Hook hook = api==null ? PortalHook.MESSAGE : ApiHook.MESSAGE;
-                portalNotificationService.create(hook, new ArrayList<>(recipientsId), getPortalParams(api, message));
+                portalNotificationService.createAsync(hook, new ArrayList<>(recipientsId), getPortalParams(api, message));
                 return recipientsId.size();
 
             case HTTP:
@@ -297,7 +297,7 @@ public class MessageServiceImpl extends AbstractService implements MessageServic
             return Collections.emptySet();
         }
 
-        Set<String> emails = userService.findByIds(new ArrayList<>(recipientsId))
+        Set<String> emails = userService.findByIds(new ArrayList<>(recipientsId), false)
                 .stream()
                 .filter(userEntity -> !StringUtils.isEmpty(userEntity.getEmail()))
                 .map(UserEntity::getEmail)
@@ -136,7 +136,7 @@ public class NotifierServiceImpl extends AbstractService implements NotifierServ
                     map(PortalNotificationConfig::getUser).
                     collect(Collectors.toList());
             if (!userIds.isEmpty()) {
-                portalNotificationService.create(hook, userIds, params);
+                portalNotificationService.createAsync(hook, userIds, params);
             }
         } catch (TechnicalException e) {
             LOGGER.error("Error looking for PortalNotificationConfig with {}/{}/{}", hook, refType, refId, e);
@@ -145,10 +145,11 @@ public class NotifierServiceImpl extends AbstractService implements NotifierServ
 
     private void triggerGenericNotifications(final Hook hook, final NotificationReferenceType refType, final String refId, final Map<String, Object> params) {
         try {
+            List<GenericNotificationConfig> emailNotificationConfigs = new ArrayList<>();
             for (GenericNotificationConfig genericNotificationConfig : genericNotificationConfigRepository.findByReferenceAndHook(hook.name(), refType, refId)) {
                 switch (genericNotificationConfig.getNotifier()) {
                     case DEFAULT_EMAIL_NOTIFIER_ID:
-                        emailNotifierService.trigger(hook, genericNotificationConfig, params);
+                        emailNotificationConfigs.add(genericNotificationConfig);
                         break;
                     case DEFAULT_WEBHOOK_NOTIFIER_ID:
                         webhookNotifierService.trigger(hook, genericNotificationConfig, params);
@@ -158,6 +159,9 @@ public class NotifierServiceImpl extends AbstractService implements NotifierServ
                         break;
                 }
             }
+            if (!emailNotificationConfigs.isEmpty()) {
+                emailNotifierService.trigger(hook, emailNotificationConfigs, params);
+            }
         } catch (TechnicalException e) {
             LOGGER.error("Error looking for GenericNotificationConfig with {}/{}/{}", hook, refType, refId, e);
         }
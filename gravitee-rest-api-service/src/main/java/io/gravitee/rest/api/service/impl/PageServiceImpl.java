@@ -2225,8 +2225,9 @@ public class PageServiceImpl extends TransactionalService implements PageService
 
     private NewPageEntity convertToEntity(String pageDefinition) throws JsonProcessingException {
         return objectMapper
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                .readValue(pageDefinition, NewPageEntity.class);
+                .readerFor(NewPageEntity.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(pageDefinition);
     }
 
     private enum PageSituation {
@@ -30,6 +30,7 @@ import io.gravitee.rest.api.service.notification.Hook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.yaml.snakeyaml.Yaml;
 
@@ -47,6 +48,7 @@ public class PortalNotificationServiceImpl extends AbstractService implements Po
 
     private final Logger LOGGER = LoggerFactory.getLogger(PortalNotificationServiceImpl.class);
     private final static String RELATIVE_TPL_PATH = "notifications/portal/";
+    private final static int CREATE_PAGE_SIZE = 500;
 
     @Autowired
     private PortalNotificationRepository portalNotificationRepository;
@@ -93,22 +95,33 @@ public class PortalNotificationServiceImpl extends AbstractService implements Po
             Yaml yaml = new Yaml();
             Map<String, String> load = yaml.loadAs(yamlContent, HashMap.class);
 
-            List<NewPortalNotificationEntity> notifications = new ArrayList<>(users.size());
-            users.forEach(user -> {
-                NewPortalNotificationEntity notification = new NewPortalNotificationEntity();
-                notification.setUser(user);
-                notification.setTitle(load.get("title"));
-                notification.setMessage(load.get("message"));
-                notifications.add(notification);
-            });
-
-            create(notifications);
+            // write the notifications by pages, so that a large audience is not held in memory twice
+            for (int from = 0; from < users.size(); from += CREATE_PAGE_SIZE) {
+                final List<String> page = users.subList(from, Math.min(from + CREATE_PAGE_SIZE, users.size()));
+                List<NewPortalNotificationEntity> notifications = new ArrayList<>(page.size());
+                page.forEach(user -> {
+                    NewPortalNotificationEntity notification = new NewPortalNotificationEntity();
+                    notification.setUser(user);
+                    notification.setTitle(load.get("title"));
+                    notification.setMessage(load.get("message"));
+                    notifications.add(notification);
+                });
+
+                create(notifications);
+                LOGGER.debug("{} notification: {}/{} users notified", hook, from + page.size(), users.size());
+            }
         } catch (final Exception ex) {
             LOGGER.error("Error while sending notification", ex);
             throw new TechnicalManagementException("Error while sending notification", ex);
         }
     }
 
+    @Override
+    @Async
+    public void createAsync(Hook hook, List<String> users, Object params) {
+        create(hook, users, params);
+    }
+
     @Override
     public void deleteAll(String user) {
         try {
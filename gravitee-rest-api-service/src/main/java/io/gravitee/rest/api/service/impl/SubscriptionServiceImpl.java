@@ -17,7 +17,12 @@ package io.gravitee.rest.api.service.impl;
 
 import io.gravitee.common.data.domain.Page;
 import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.ApplicationRepository;
+import io.gravitee.repository.management.api.PlanRepository;
 import io.gravitee.repository.management.api.SubscriptionRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
 import io.gravitee.repository.management.api.search.SubscriptionCriteria;
 import io.gravitee.repository.management.api.search.builder.PageableBuilder;
 import io.gravitee.repository.management.model.ApplicationStatus;
@@ -25,7 +30,6 @@ import io.gravitee.repository.management.model.ApplicationType;
 import io.gravitee.repository.management.model.Audit;
 import io.gravitee.repository.management.model.Subscription;
 import io.gravitee.rest.api.model.*;
-import io.gravitee.rest.api.model.api.ApiEntity;
 import io.gravitee.rest.api.model.application.ApplicationListItem;
 import io.gravitee.rest.api.model.common.Pageable;
 import io.gravitee.rest.api.model.pagedresult.Metadata;
@@ -44,7 +48,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -72,6 +83,7 @@ public class SubscriptionServiceImpl extends AbstractService implements Subscrip
     private static final String RFC_3339_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
     private static final FastDateFormat dateFormatter = FastDateFormat.getInstance(RFC_3339_DATE_FORMAT);
     private static final char separator = ';';
+    private static final int EXPORT_PAGE_SIZE = 500;
 
     @Autowired
     private PlanService planService;
@@ -95,6 +107,12 @@ public class SubscriptionServiceImpl extends AbstractService implements Subscrip
     private ParameterService parameterService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private ApplicationRepository applicationRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private ApiRepository apiRepository;
 
     @Override
     public SubscriptionEntity findById(String subscription) {
@@ -736,29 +754,11 @@ public class SubscriptionServiceImpl extends AbstractService implements Subscrip
         try {
             logger.debug("Search subscriptions {}", query);
 
-            SubscriptionCriteria.Builder builder = new SubscriptionCriteria.Builder()
-                    .apis(query.getApis())
-                    .applications(query.getApplications())
-                    .plans(query.getPlans())
-                    .from(query.getFrom())
-                    .to(query.getTo());
-
-            if (query.getStatuses() != null) {
-                builder.statuses(
-                        query.getStatuses().stream()
-                                .map(subscriptionStatus -> Subscription.Status.valueOf(subscriptionStatus.name()))
-                                .collect(Collectors.toSet()));
-            }
-
-            Stream<SubscriptionEntity> subscriptionsStream =
-                    subscriptionRepository.search(builder.build()).stream().map(this::convert);
             if (query.getApiKey() != null && !query.getApiKey().isEmpty()) {
-                subscriptionsStream = subscriptionsStream.filter(subscriptionEntity -> {
-                    final List<ApiKeyEntity> apiKeys = apiKeyService.findBySubscription(subscriptionEntity.getId());
-                    return apiKeys.stream().anyMatch(apiKeyEntity -> apiKeyEntity.getKey().equals(query.getApiKey()));
-                });
+                return searchByApiKey(query).map(Collections::singletonList).orElse(emptyList());
             }
-            return subscriptionsStream.collect(toList());
+
+            return subscriptionRepository.search(toCriteria(query)).stream().map(this::convert).collect(toList());
         } catch (TechnicalException ex) {
             logger.error("An error occurs while trying to search for subscriptions: {}", query, ex);
             throw new TechnicalManagementException(
@@ -772,42 +772,12 @@ public class SubscriptionServiceImpl extends AbstractService implements Subscrip
             logger.debug("Search pageable subscriptions {}", query);
 
             if (query.getApiKey() != null && !query.getApiKey().isEmpty()) {
-                try {
-                    ApiKeyEntity apiKeyEntity = apiKeyService.findByKey(query.getApiKey());
-                    SubscriptionEntity subscriptionEntity = findById(apiKeyEntity.getSubscription());
-                    if (query.getApis() != null && !query.getApis().contains(subscriptionEntity.getApi())) {
-                        return new Page<>(emptyList(), 1, 0, 0);
-                    }
-                    if (query.getApplications() != null && !query.getApplications().contains(subscriptionEntity.getApplication())) {
-                        return new Page<>(emptyList(), 1, 0, 0);
-                    }
-                    if (query.getPlans() != null && !query.getPlans().contains(subscriptionEntity.getPlan())) {
-                        return new Page<>(emptyList(), 1, 0, 0);
-                    }
-                    if (query.getStatuses() != null && !query.getStatuses().contains(subscriptionEntity.getStatus())) {
-                        return new Page<>(emptyList(), 1, 0, 0);
-                    }
-                    return new Page<>(Collections.singletonList(subscriptionEntity), 1, 1, 1);
-                } catch (ApiKeyNotFoundException | SubscriptionNotFoundException ex) {
-                    return new Page<>(emptyList(), 1, 0, 0);
-                }
+                return searchByApiKey(query)
+                        .map(subscriptionEntity -> new Page<>(Collections.singletonList(subscriptionEntity), 1, 1, 1))
+                        .orElse(new Page<>(emptyList(), 1, 0, 0));
             } else {
-                SubscriptionCriteria.Builder builder = new SubscriptionCriteria.Builder()
-                        .apis(query.getApis())
-                        .applications(query.getApplications())
-                        .plans(query.getPlans())
-                        .from(query.getFrom())
-                        .to(query.getTo());
-
-                if (query.getStatuses() != null) {
-                    builder.statuses(
-                            query.getStatuses().stream()
-                                    .map(subscriptionStatus -> Subscription.Status.valueOf(subscriptionStatus.name()))
-                                    .collect(Collectors.toSet()));
-                }
-
                 Page<Subscription> pageSubscription = subscriptionRepository
-                        .search(builder.build(),
+                        .search(toCriteria(query),
                                 new PageableBuilder()
                                         .pageNumber(pageable.getPageNumber() - 1)
                                         .pageSize(pageable.getPageSize())
@@ -825,6 +795,121 @@ public class SubscriptionServiceImpl extends AbstractService implements Subscrip
         }
     }
 
+    private SubscriptionCriteria toCriteria(SubscriptionQuery query) {
+        SubscriptionCriteria.Builder builder = new SubscriptionCriteria.Builder()
+                .apis(query.getApis())
+                .applications(query.getApplications())
+                .plans(query.getPlans())
+                .from(query.getFrom())
+                .to(query.getTo());
+
+        if (query.getStatuses() != null) {
+            builder.statuses(
+                    query.getStatuses().stream()
+                            .map(subscriptionStatus -> Subscription.Status.valueOf(subscriptionStatus.name()))
+                            .collect(Collectors.toSet()));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Resolves the subscription from the API key first, then narrows it with the other criteria of the query,
+     * so that the subscriptions are never scanned to find the one owning the key.
+     *
+     * The date bounds are left to the repository, through a search restricted to the subscriptions of the same
+     * application and plan.
+     */
+    private Optional<SubscriptionEntity> searchByApiKey(SubscriptionQuery query) throws TechnicalException {
+        try {
+            ApiKeyEntity apiKeyEntity = apiKeyService.findByKey(query.getApiKey());
+            SubscriptionEntity subscriptionEntity = findById(apiKeyEntity.getSubscription());
+            if (query.getApis() != null && !query.getApis().contains(subscriptionEntity.getApi())) {
+                return Optional.empty();
+            }
+            if (query.getApplications() != null && !query.getApplications().contains(subscriptionEntity.getApplication())) {
+                return Optional.empty();
+            }
+            if (query.getPlans() != null && !query.getPlans().contains(subscriptionEntity.getPlan())) {
+                return Optional.empty();
+            }
+            if (query.getStatuses() != null && !query.getStatuses().contains(subscriptionEntity.getStatus())) {
+                return Optional.empty();
+            }
+            if (!isWithinDates(subscriptionEntity, query.getFrom(), query.getTo())) {
+                return Optional.empty();
+            }
+            return Optional.of(subscriptionEntity);
+        } catch (ApiKeyNotFoundException | SubscriptionNotFoundException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Same date bounds as the ones of the repository search, which applies them to the last update of the
+     * subscriptions.
+     */
+    private boolean isWithinDates(SubscriptionEntity subscription, long from, long to) {
+        if (from <= 0 && to <= 0) {
+            return true;
+        }
+        final Date date = subscription.getUpdatedAt() == null ? subscription.getCreatedAt() : subscription.getUpdatedAt();
+        if (date == null) {
+            return false;
+        }
+        return (from <= 0 || date.getTime() >= from) && (to <= 0 || date.getTime() <= to);
+    }
+
+    @Override
+    public Map<String, Long> countByApis(Collection<String> apis, Collection<SubscriptionStatus> statuses) {
+        logger.debug("Count subscriptions by apis {}", apis);
+        return count(apis, statuses, api -> new SubscriptionCriteria.Builder().apis(Collections.singleton(api)));
+    }
+
+    @Override
+    public Map<String, Long> countByApplications(Collection<String> applications, Collection<SubscriptionStatus> statuses) {
+        logger.debug("Count subscriptions by applications {}", applications);
+        return count(applications, statuses,
+                application -> new SubscriptionCriteria.Builder().applications(Collections.singleton(application)));
+    }
+
+    /**
+     * The repository cannot group counts, so each id is counted by its own search. Only the total number of elements
+     * of a single-element page is read, so that subscriptions are counted without being loaded nor converted.
+     */
+    private Map<String, Long> count(Collection<String> ids, Collection<SubscriptionStatus> statuses,
+                                    Function<String, SubscriptionCriteria.Builder> criteriaBuilder) {
+        final Map<String, Long> counts = new HashMap<>();
+        if (ids == null) {
+            return counts;
+        }
+
+        final Set<Subscription.Status> repositoryStatuses = statuses == null ? null : statuses.stream()
+                .map(subscriptionStatus -> Subscription.Status.valueOf(subscriptionStatus.name()))
+                .collect(Collectors.toSet());
+        for (String id : new LinkedHashSet<>(ids)) {
+            final SubscriptionCriteria.Builder builder = criteriaBuilder.apply(id);
+            if (repositoryStatuses != null) {
+                builder.statuses(repositoryStatuses);
+            }
+
+            final SubscriptionCriteria criteria = builder.build();
+            try {
+                final long count = subscriptionRepository
+                        .search(criteria, new PageableBuilder().pageNumber(0).pageSize(1).build())
+                        .getTotalElements();
+                if (count > 0) {
+                    counts.put(id, count);
+                }
+            } catch (TechnicalException ex) {
+                logger.error("An error occurs while trying to count subscriptions: {}", criteria, ex);
+                throw new TechnicalManagementException(
+                        String.format("An error occurs while trying to count subscriptions: %s", criteria), ex);
+            }
+        }
+        return counts;
+    }
+
     @Override
     public SubscriptionEntity transfer(final TransferSubscriptionEntity transferSubscription, String userId) {
         try {
@@ -891,60 +976,95 @@ public class SubscriptionServiceImpl extends AbstractService implements Subscrip
     }
 
     @Override
-    public String exportAsCsv(Collection<SubscriptionEntity> subscriptions, Map<String, Map<String, Object>> metadata) {
-        final StringBuilder sb = new StringBuilder();
-        sb.append("Plan");
-        sb.append(separator);
-        sb.append("Application");
-        sb.append(separator);
-        sb.append("Creation date");
-        sb.append(separator);
-        sb.append("Process date");
-        sb.append(separator);
-        sb.append("Start date");
-        sb.append(separator);
-        sb.append("End date date");
-        sb.append(separator);
-        sb.append("Status");
-        sb.append(lineSeparator());
-
-        if (subscriptions == null || subscriptions.isEmpty()) {
-            return sb.toString();
+    public void exportAsCsv(SubscriptionQuery query, OutputStream outputStream) {
+        logger.debug("Export subscriptions {}", query);
+        try {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writeCsvHeader(writer);
+
+            if (query.getApiKey() != null && !query.getApiKey().isEmpty()) {
+                final List<SubscriptionEntity> subscriptions =
+                        searchByApiKey(query).map(Collections::singletonList).orElse(emptyList());
+                final Metadata metadata = new Metadata();
+                fillMetadata(metadata, subscriptions);
+                writeCsvLines(writer, subscriptions, metadata.getMetadata());
+            } else {
+                // Subscriptions are read page by page, each page with the names of its own plans and applications
+                // only, so that the memory footprint does not depend on the number of exported subscriptions
+                final SubscriptionCriteria criteria = toCriteria(query);
+                int pageNumber = 0;
+                Page<Subscription> page;
+                do {
+                    page = subscriptionRepository.search(criteria,
+                            new PageableBuilder().pageNumber(pageNumber++).pageSize(EXPORT_PAGE_SIZE).build());
+                    final List<SubscriptionEntity> subscriptions =
+                            page.getContent().stream().map(this::convert).collect(toList());
+                    final Metadata metadata = new Metadata();
+                    fillMetadata(metadata, subscriptions);
+                    writeCsvLines(writer, subscriptions, metadata.getMetadata());
+                    writer.flush();
+                } while (!page.getContent().isEmpty() && (long) pageNumber * EXPORT_PAGE_SIZE < page.getTotalElements());
+            }
+            writer.flush();
+        } catch (TechnicalException | IOException ex) {
+            logger.error("An error occurs while trying to export subscriptions: {}", query, ex);
+            throw new TechnicalManagementException(
+                    String.format("An error occurs while trying to export subscriptions: %s", query), ex);
         }
+    }
+
+    private void writeCsvHeader(Writer writer) throws IOException {
+        writer.append("Plan");
+        writer.append(separator);
+        writer.append("Application");
+        writer.append(separator);
+        writer.append("Creation date");
+        writer.append(separator);
+        writer.append("Process date");
+        writer.append(separator);
+        writer.append("Start date");
+        writer.append(separator);
+        writer.append("End date date");
+        writer.append(separator);
+        writer.append("Status");
+        writer.append(lineSeparator());
+    }
+
+    private void writeCsvLines(Writer writer, Collection<SubscriptionEntity> subscriptions,
+                               Map<String, Map<String, Object>> metadata) throws IOException {
         for (final SubscriptionEntity subscription : subscriptions) {
             final Object plan = metadata.get(subscription.getPlan());
-            sb.append(getName(plan));
-            sb.append(separator);
+            writer.append(getName(plan));
+            writer.append(separator);
 
             final Object application = metadata.get(subscription.getApplication());
-            sb.append(getName(application));
-            sb.append(separator);
+            writer.append(getName(application));
+            writer.append(separator);
 
             if (subscription.getCreatedAt() != null) {
-                sb.append(dateFormatter.format(subscription.getCreatedAt()));
-                sb.append(separator);
+                writer.append(dateFormatter.format(subscription.getCreatedAt()));
+                writer.append(separator);
             }
 
             if (subscription.getProcessedAt() != null) {
-                sb.append(dateFormatter.format(subscription.getProcessedAt()));
-                sb.append(separator);
+                writer.append(dateFormatter.format(subscription.getProcessedAt()));
+                writer.append(separator);
             }
 
             if (subscription.getStartingAt() != null) {
-                sb.append(dateFormatter.format(subscription.getStartingAt()));
-                sb.append(separator);
+                writer.append(dateFormatter.format(subscription.getStartingAt()));
+                writer.append(separator);
             }
 
             if (subscription.getEndingAt() != null) {
-                sb.append(dateFormatter.format(subscription.getEndingAt()));
-                sb.append(separator);
+                writer.append(dateFormatter.format(subscription.getEndingAt()));
+                writer.append(separator);
             }
 
-            sb.append(subscription.getStatus());
+            writer.append(String.valueOf(subscription.getStatus()));
 
-            sb.append(lineSeparator());
+            writer.append(lineSeparator());
         }
-        return sb.toString();
     }
 
     private String getName(Object map) {
@@ -953,27 +1073,71 @@ public class SubscriptionServiceImpl extends AbstractService implements Subscrip
 
     @Override
     public Metadata getMetadata(List<SubscriptionEntity> subscriptions) {
-        Metadata metadata = new Metadata();
-
-        subscriptions.forEach(subscription -> {
-            if (!metadata.containsKey(subscription.getApplication())) {
-                ApplicationEntity applicationEntity = applicationService.findById(subscription.getApplication());
-                metadata.put(subscription.getApplication(), "name", applicationEntity.getName());
-            }
+        try {
+            Metadata metadata = new Metadata();
+            fillMetadata(metadata, subscriptions);
+            return metadata;
+        } catch (TechnicalException ex) {
+            logger.error("An error occurs while trying to get subscriptions metadata", ex);
+            throw new TechnicalManagementException("An error occurs while trying to get subscriptions metadata", ex);
+        }
+    }
 
+    /**
+     * Adds the names of the applications, plans and APIs which are not already known by the given metadata, with
+     * one query for the applications and one for the APIs rather than one per subscription. The plan repository
+     * can only look plans up by API, so plans are loaded once for each API whose plans are not known yet, only the
+     * plans of the subscriptions being kept.
+     */
+    private void fillMetadata(Metadata metadata, Collection<SubscriptionEntity> subscriptions) throws TechnicalException {
+        final List<String> applicationIds = subscriptions.stream()
+                .map(SubscriptionEntity::getApplication)
+                .filter(application -> !metadata.containsKey(application))
+                .distinct()
+                .collect(toList());
+        if (!applicationIds.isEmpty()) {
+            applicationRepository.findByIds(applicationIds)
+                    .forEach(application -> metadata.put(application.getId(), "name", application.getName()));
+            logMissing("application", applicationIds, metadata);
+        }
 
-            if (!metadata.containsKey(subscription.getPlan())) {
-                PlanEntity planEntity = planService.findById(subscription.getPlan());
-                metadata.put(subscription.getPlan(), "name", planEntity.getName());
+        final Set<String> planIds = subscriptions.stream()
+                .map(SubscriptionEntity::getPlan)
+                .filter(plan -> !metadata.containsKey(plan))
+                .collect(Collectors.toSet());
+        if (!planIds.isEmpty()) {
+            final Set<String> apiIdsOfPlans = subscriptions.stream()
+                    .filter(subscription -> planIds.contains(subscription.getPlan()))
+                    .map(SubscriptionEntity::getApi)
+                    .collect(Collectors.toSet());
+            for (String apiId : apiIdsOfPlans) {
+                planRepository.findByApi(apiId).stream()
+                        .filter(plan -> planIds.contains(plan.getId()))
+                        .forEach(plan -> metadata.put(plan.getId(), "name", plan.getName()));
             }
+            logMissing("plan", planIds, metadata);
+        }
 
-            if (!metadata.containsKey(subscription.getApi())) {
-                ApiEntity api = apiService.findById(subscription.getApi());
-                metadata.put(subscription.getApi(), "name", api.getName());
-            }
-        });
+        final String[] apiIds = subscriptions.stream()
+                .map(SubscriptionEntity::getApi)
+                .filter(api -> !metadata.containsKey(api))
+                .distinct()
+                .toArray(String[]::new);
+        if (apiIds.length > 0) {
+            apiRepository.search(new ApiCriteria.Builder().ids(apiIds).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build())
+                    .forEach(api -> metadata.put(api.getId(), "name", api.getName()));
+            logMissing("API", Arrays.asList(apiIds), metadata);
+        }
+    }
 
-        return metadata;
+    private void logMissing(String type, Collection<String> ids, Metadata metadata) {
+        final List<String> missingIds = ids.stream()
+                .filter(id -> !metadata.containsKey(id))
+                .collect(toList());
+        if (!missingIds.isEmpty()) {
+            logger.debug("Unknown {} ids {}, the related subscriptions have no {} name", type, missingIds, type);
+        }
     }
 
     private SubscriptionEntity convert(Subscription subscription) {
@@ -23,9 +23,11 @@ import io.gravitee.rest.api.service.GroupService;
 import io.gravitee.rest.api.service.SwaggerService;
 import io.gravitee.rest.api.service.TagService;
 import io.gravitee.rest.api.service.exceptions.SwaggerDescriptorException;
+import io.gravitee.rest.api.service.impl.swagger.SwaggerDescriptorCache;
 import io.gravitee.rest.api.service.impl.swagger.converter.api.OAIToAPIConverter;
 import io.gravitee.rest.api.service.impl.swagger.parser.OAIParser;
 import io.gravitee.rest.api.service.impl.swagger.parser.WsdlParser;
+import io.gravitee.rest.api.spec.converter.wsdl.WSDLToOpenAPIConverter;
 import io.gravitee.rest.api.service.impl.swagger.policy.PolicyOperationVisitorManager;
 import io.gravitee.rest.api.service.impl.swagger.transformer.SwaggerTransformer;
 import io.gravitee.rest.api.service.impl.swagger.visitor.v3.OAIOperationVisitor;
@@ -36,8 +38,11 @@ import io.gravitee.rest.api.service.swagger.SwaggerDescriptor;
 import io.swagger.v3.oas.models.OpenAPI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import java.net.MalformedURLException;
@@ -45,6 +50,8 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -53,13 +60,25 @@ import java.util.stream.Collectors;
  * @author GraviteeSource Team
  */
 @Component
-public class SwaggerServiceImpl implements SwaggerService {
+public class SwaggerServiceImpl implements SwaggerService, InitializingBean, DisposableBean {
 
     private final Logger logger = LoggerFactory.getLogger(SwaggerServiceImpl.class);
 
     @Value("${swagger.scheme:https}")
     private String defaultScheme;
 
+    @Value("${swagger.import.workers:0}")
+    private int importWorkers;
+
+    @Value("${swagger.wsdl.sample.maxDepth:32}")
+    private int wsdlMaxSampleDepth = WSDLToOpenAPIConverter.DEFAULT_MAX_SAMPLE_DEPTH;
+
+    @Value("${swagger.wsdl.sample.maxElements:2000}")
+    private int wsdlMaxSampleElements = WSDLToOpenAPIConverter.DEFAULT_MAX_SAMPLE_ELEMENTS;
+
+    @Value("${swagger.wsdl.envelope.maxSize:1048576}")
+    private int wsdlMaxEnvelopeSize = WSDLToOpenAPIConverter.DEFAULT_MAX_ENVELOPE_SIZE;
+
     @Autowired
     private PolicyOperationVisitorManager policyOperationVisitorManager;
 
@@ -72,6 +91,25 @@ public class SwaggerServiceImpl implements SwaggerService {
     @Autowired
     private TagService tagService;
 
+    @Autowired
+    private SwaggerDescriptorCache swaggerDescriptorCache;
+
+    private ExecutorService importExecutor;
+
+    @Override
+    public void afterPropertiesSet() {
+        // the operations of large descriptors are visited by all the available processors by default
+        final int workers = importWorkers > 0 ? importWorkers : Runtime.getRuntime().availableProcessors();
+        importExecutor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("gio-swagger-import-"));
+    }
+
+    @Override
+    public void destroy() {
+        if (importExecutor != null) {
+            importExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public SwaggerApiEntity createAPI(ImportSwaggerDescriptorEntity swaggerDescriptor) {
         boolean wsdlImport = Format.WSDL.equals(swaggerDescriptor.getFormat());
@@ -90,7 +128,7 @@ public class SwaggerServiceImpl implements SwaggerService {
                         .map(operationVisitor -> policyOperationVisitorManager.getOAIOperationVisitor(operationVisitor.getId()))
                         .collect(Collectors.toList());
             }
-            return new OAIToAPIConverter(visitors, groupService, tagService)
+            return new OAIToAPIConverter(visitors, groupService, tagService, importExecutor)
                     .convert((OAIDescriptor) descriptor);
 
         }
@@ -138,20 +176,23 @@ public class SwaggerServiceImpl implements SwaggerService {
 
     @Override
     public SwaggerDescriptor parse(String content, boolean wsdl, boolean failIfErrors) {
-        OpenAPI descriptor;
-
-        if (isUrl(content)) {
+        final boolean url = isUrl(content);
+        if (url) {
             UrlSanitizerUtils.checkAllowed(content, importConfiguration.getImportWhitelist(), importConfiguration.isAllowImportFromPrivate());
         }
 
-        if (wsdl) {
-            // try to read wsdl
-            logger.debug("Trying to load a Wsdl descriptor");
-            descriptor = new WsdlParser().parse(content, failIfErrors);
-        } else {
+        // The content behind a URL may change between two calls, so it is always read again
+        final String key = url || content == null ? null : SwaggerDescriptorCache.key(content, wsdl, failIfErrors);
+        OpenAPI descriptor = swaggerDescriptorCache.get(key, content == null ? 0 : content.length(), () -> {
+            if (wsdl) {
+                // try to read wsdl
+                logger.debug("Trying to load a Wsdl descriptor");
+                return new WsdlParser(wsdlMaxSampleDepth, wsdlMaxSampleElements, wsdlMaxEnvelopeSize)
+                        .parse(content, failIfErrors);
+            }
             logger.debug("Trying to load a Swagger/OpenAPI descriptor");
-            descriptor = new OAIParser().parse(content, failIfErrors);
-        }
+            return new OAIParser().parse(content, failIfErrors);
+        });
 
         if (descriptor != null) {
             return new OAIDescriptor(descriptor);
@@ -18,6 +18,10 @@ package io.gravitee.rest.api.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ThemeRepository;
 import io.gravitee.repository.management.model.Theme;
@@ -42,6 +46,9 @@ import javax.activation.MimetypesFileTypeMap;
 import javax.xml.bind.DatatypeConverter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static io.gravitee.repository.management.model.Audit.AuditProperties.THEME;
@@ -66,6 +73,17 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
     @Autowired
     private AuditService auditService;
 
+    /**
+     * The enabled theme of each environment, with its definition parsed and its images decoded. Entries are evicted
+     * when a theme is changed on this node, and after a short delay to take into account changes made by other nodes.
+     */
+    private final Cache<String, EnabledTheme> enabledThemes = CacheBuilder
+            .newBuilder()
+            .expireAfterWrite(60, TimeUnit.SECONDS)
+            .build();
+
+    private final Map<String, String> defaultImages = new ConcurrentHashMap<>();
+
     @Override
     public Set<ThemeEntity> findAll() {
         try {
@@ -125,6 +143,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
                     theme.getCreatedAt(),
                     null,
                     theme);
+            evictEnabledTheme();
 
             return convert(theme);
 
@@ -181,6 +200,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
                 }
 
                 final ThemeEntity savedTheme = convert(themeRepository.update(theme));
+                evictEnabledTheme();
                 auditService.createEnvironmentAuditLog(
                         Collections.singletonMap(THEME, theme.getId()),
                         THEME_UPDATED,
@@ -211,6 +231,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
             Optional<Theme> themeOptional = themeRepository.findById(themeId);
             if (themeOptional.isPresent()) {
                 themeRepository.delete(themeId);
+                evictEnabledTheme();
                 auditService.createEnvironmentAuditLog(
                         Collections.singletonMap(THEME, themeId),
                         THEME_DELETED,
@@ -227,6 +248,21 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
 
     @Override
     public ThemeEntity findEnabled() {
+        return getEnabledTheme().theme;
+    }
+
+    private EnabledTheme getEnabledTheme() {
+        try {
+            return enabledThemes.get(GraviteeContext.getCurrentEnvironment(), this::loadEnabledTheme);
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new TechnicalManagementException("An error occurs while trying to load the enabled theme", ex.getCause());
+        }
+    }
+
+    private EnabledTheme loadEnabledTheme() {
         try {
             LOGGER.debug("Find all themes by reference type");
             Optional<Theme> themeEnabled = themeRepository.findByReferenceIdAndReferenceType(GraviteeContext.getCurrentEnvironment(), ThemeReferenceType.ENVIRONMENT.name())
@@ -235,7 +271,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
                     .findFirst();
 
             if (themeEnabled.isPresent()) {
-                return convert(themeEnabled.get());
+                return new EnabledTheme(convert(themeEnabled.get()));
             }
 
             final ThemeEntity theme = new ThemeEntity();
@@ -244,7 +280,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
             theme.setDefinition(MAPPER.readDefinition(getDefaultDefinition()));
             theme.setLogo(this.getDefaultLogo());
             theme.setOptionalLogo(this.getDefaultOptionalLogo());
-            return theme;
+            return new EnabledTheme(theme);
 
         } catch (IOException ex) {
             final String error = "Error while trying to get the default theme";
@@ -257,6 +293,10 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
         }
     }
 
+    private void evictEnabledTheme() {
+        enabledThemes.invalidate(GraviteeContext.getCurrentEnvironment());
+    }
+
     @Override
     public void updateDefaultTheme() {
         try {
@@ -273,6 +313,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
                             themeUpdate.setDefinition(MAPPER.writeValueAsString(mergeDefinition));
                             theme.setUpdatedAt(new Date());
                             this.themeRepository.update(themeUpdate);
+                            evictEnabledTheme();
                             auditService.createEnvironmentAuditLog(
                                     Collections.singletonMap(THEME, theme.getId()),
                                     THEME_UPDATED,
@@ -324,6 +365,11 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
     }
 
     private String getImage(String filename) {
+        // computeIfAbsent does not keep a null value, so an image which cannot be read is retried next time
+        return defaultImages.computeIfAbsent(filename, this::readImage);
+    }
+
+    private String readImage(String filename) {
         String filepath = "/themes/default/" + filename;
         try {
             byte[] image = IOUtils.toByteArray(this.getClass().getResourceAsStream(filepath));
@@ -342,6 +388,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
             LOGGER.debug("Reset to default theme by ID: {}", themeId);
             final ThemeEntity previousTheme = findEnabled();
             themeRepository.delete(DEFAULT_THEME_ID);
+            evictEnabledTheme();
             auditService.createEnvironmentAuditLog(
                     Collections.singletonMap(THEME, themeId),
                     THEME_RESET,
@@ -359,10 +406,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
     @Override
     public PictureEntity getLogo(String themeId) {
         try {
-            final String logo = findEnabled().getLogo();
-            if (logo != null) {
-                return convertToPicture(logo);
-            }
+            return getEnabledTheme().logo;
         } catch (Exception ex) {
             LOGGER.warn("Unable to get logo picture theme for id[{}]", themeId);
         }
@@ -372,10 +416,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
     @Override
     public PictureEntity getOptionalLogo(String themeId) {
         try {
-            final String optionalLogo = findEnabled().getOptionalLogo();
-            if (optionalLogo != null) {
-                return convertToPicture(optionalLogo);
-            }
+            return getEnabledTheme().optionalLogo;
         } catch (Exception ex) {
             LOGGER.warn("Unable to get optional logo theme for id[{}]", themeId);
         }
@@ -385,16 +426,24 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
     @Override
     public PictureEntity getBackgroundImage(String themeId) {
         try {
-            final String backgroundImage = findEnabled().getBackgroundImage();
-            if (backgroundImage != null) {
-                return convertToPicture(backgroundImage);
-            }
+            return getEnabledTheme().backgroundImage;
         } catch (Exception ex) {
             LOGGER.warn("Unable to get background image theme for id[{}]", themeId);
         }
         return null;
     }
 
+    private PictureEntity toPicture(ThemeEntity theme, String kind, String picture) {
+        try {
+            if (picture != null) {
+                return convertToPicture(picture);
+            }
+        } catch (Exception ex) {
+            LOGGER.warn("Unable to get {} theme for id[{}]", kind, theme.getId());
+        }
+        return null;
+    }
+
     private PictureEntity convertToPicture(String picture) {
         if (picture.matches("^(http|https)://.*$")) {
             return new UrlPictureEntity(picture);
@@ -404,6 +453,7 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
             imageEntity.setType(parts[0].split(":")[1]);
             String base64Content = picture.split(",", 2)[1];
             imageEntity.setContent(DatatypeConverter.parseBase64Binary(base64Content));
+            imageEntity.setHash(Hashing.sha256().hashBytes(imageEntity.getContent()).toString());
             return imageEntity;
         }
     }
@@ -447,6 +497,20 @@ public class ThemeServiceImpl extends AbstractService implements ThemeService {
         return themeEntity;
     }
 
+    private class EnabledTheme {
+
+        private final ThemeEntity theme;
+        private final PictureEntity logo;
+        private final PictureEntity optionalLogo;
+        private final PictureEntity backgroundImage;
+
+        private EnabledTheme(ThemeEntity theme) {
+            this.theme = theme;
+            this.logo = toPicture(theme, "logo", theme.getLogo());
+            this.optionalLogo = toPicture(theme, "optional logo", theme.getOptionalLogo());
+            this.backgroundImage = toPicture(theme, "background image", theme.getBackgroundImage());
+        }
+    }
 
     public static class ThemeDefinitionMapper extends ObjectMapper {
 
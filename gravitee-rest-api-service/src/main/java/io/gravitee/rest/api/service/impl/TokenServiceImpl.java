@@ -124,6 +124,30 @@ public class TokenServiceImpl extends AbstractService implements TokenService {
         }
     }
 
+    @Override
+    public Map<String, Long> countByUsers(final Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            LOGGER.debug("Count tokens for users {}", userIds);
+            // The repository has neither a count nor a multi-reference query: this makes one lookup per user, whose
+            // cost depends on the number of given users and not on the number of tokens of the organization
+            final Map<String, Long> nbTokens = new HashMap<>();
+            for (String userId : new HashSet<>(userIds)) {
+                final int count = tokenRepository.findByReference(TokenReferenceType.USER.name(), userId).size();
+                if (count > 0) {
+                    nbTokens.put(userId, (long) count);
+                }
+            }
+            return nbTokens;
+        } catch (TechnicalException ex) {
+            final String error = "An error occurs while trying to count tokens of users";
+            LOGGER.error(error, ex);
+            throw new TechnicalManagementException(error, ex);
+        }
+    }
+
     @Override
     public Token findByToken(String token) {
         try {
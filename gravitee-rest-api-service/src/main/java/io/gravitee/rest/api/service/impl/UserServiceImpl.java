@@ -75,6 +75,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.gravitee.repository.management.model.Audit.AuditProperties.USER;
@@ -85,6 +86,8 @@ import static io.gravitee.rest.api.service.common.JWTHelper.DefaultValues.DEFAUL
 import static io.gravitee.rest.api.service.notification.NotificationParamsBuilder.*;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 /**
@@ -291,13 +294,21 @@ public class UserServiceImpl extends AbstractService implements UserService {
 
     @Override
     public Set<UserEntity> findByIds(List<String> ids) {
+        return findByIds(ids, true);
+    }
+
+    @Override
+    public Set<UserEntity> findByIds(List<String> ids, boolean withUserMetadata) {
         try {
             LOGGER.debug("Find users by ID: {}", ids);
 
             Set<User> users = userRepository.findByIds(ids);
 
             if (!users.isEmpty()) {
-                return users.stream().map(u -> this.convert(u, false, userMetadataService.findAllByUserId(u.getId()))).collect(Collectors.toSet());
+                return users.stream()
+                        .map(u -> this.convert(u, false, withUserMetadata
+                                ? userMetadataService.findAllByUserId(u.getId()) : Collections.emptyList()))
+                        .collect(Collectors.toSet());
             }
 
             Optional<String> idsAsString = ids.stream().reduce((a, b) -> a + '/' + b);
@@ -898,7 +909,15 @@ public class UserServiceImpl extends AbstractService implements UserService {
         SearchResult results = searchEngineService.search(userQuery);
 
         if (results.hasResults()) {
-            List<UserEntity> users = new ArrayList<>((findByIds(results.getDocuments())));
+            // Keep the order of the hits, the users being read by ids in no particular order
+            final Map<String, UserEntity> usersById = findByIds(results.getDocuments(), false)
+                    .stream()
+                    .collect(toMap(UserEntity::getId, Function.identity()));
+            List<UserEntity> users = results.getDocuments()
+                    .stream()
+                    .map(usersById::get)
+                    .filter(Objects::nonNull)
+                    .collect(toList());
 
             populateUserFlags(users);
 
@@ -911,24 +930,38 @@ public class UserServiceImpl extends AbstractService implements UserService {
     }
 
     private void populateUserFlags(final List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
         RoleEntity apiPORole = roleService.findByScopeAndName(RoleScope.API, SystemRole.PRIMARY_OWNER.name())
                 .orElseThrow(() -> new TechnicalManagementException("API System Role 'PRIMARY_OWNER' not found."));
         RoleEntity applicationPORole = roleService.findByScopeAndName(RoleScope.APPLICATION, SystemRole.PRIMARY_OWNER.name())
                 .orElseThrow(() -> new TechnicalManagementException("API System Role 'PRIMARY_OWNER' not found."));
 
+        final List<String> userIds = users.stream().map(UserEntity::getId).collect(toList());
+
+        // Primary owner flags are resolved for the whole page at once, whereas tokens are still looked up once per
+        // user of the page since the token repository can not search several users at once
+        final Set<String> primaryOwners = new HashSet<>();
+        primaryOwners.addAll(findMemberIdsByRole(userIds, MembershipReferenceType.API, apiPORole.getId()));
+        primaryOwners.addAll(findMemberIdsByRole(userIds, MembershipReferenceType.APPLICATION, applicationPORole.getId()));
+        final Map<String, Long> nbTokens = tokenService.countByUsers(userIds);
+
         users.forEach(user -> {
-            final boolean apiPO = !membershipService.getMembershipsByMemberAndReferenceAndRole(
-                    MembershipMemberType.USER, user.getId(), MembershipReferenceType.API, apiPORole.getId())
-                    .isEmpty();
-            final boolean appPO = !membershipService.getMembershipsByMemberAndReferenceAndRole(
-                    MembershipMemberType.USER, user.getId(), MembershipReferenceType.APPLICATION, applicationPORole.getId())
-                    .isEmpty();
-
-            user.setPrimaryOwner(apiPO || appPO);
-            user.setNbActiveTokens(tokenService.findByUser(user.getId()).size());
+            user.setPrimaryOwner(primaryOwners.contains(user.getId()));
+            user.setNbActiveTokens(nbTokens.getOrDefault(user.getId(), 0L).intValue());
         });
     }
 
+    private Set<String> findMemberIdsByRole(List<String> userIds, MembershipReferenceType referenceType, String roleId) {
+        return membershipService.getMembershipsByMembersAndReference(MembershipMemberType.USER, userIds, referenceType)
+                .stream()
+                .filter(membership -> roleId.equals(membership.getRoleId()))
+                .map(MembershipEntity::getMemberId)
+                .collect(toSet());
+    }
+
 
     @Override
     public Page<UserEntity> search(UserCriteria criteria, Pageable pageable) {
@@ -15,7 +15,6 @@
  */
 package io.gravitee.rest.api.service.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.net.InternetDomainName;
 import io.gravitee.definition.model.VirtualHost;
 import io.gravitee.repository.management.api.ApiRepository;
@@ -27,6 +26,7 @@ import io.gravitee.rest.api.service.VirtualHostService;
 import io.gravitee.rest.api.service.common.GraviteeContext;
 import io.gravitee.rest.api.service.exceptions.ApiContextPathAlreadyExistsException;
 import io.gravitee.rest.api.service.exceptions.InvalidVirtualHostException;
+import io.gravitee.rest.api.service.impl.definition.ApiDefinitionCache;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,7 +62,7 @@ public class VirtualHostServiceImpl extends TransactionalService implements Virt
     private ApiRepository apiRepository;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private ApiDefinitionCache apiDefinitionCache = new ApiDefinitionCache();
 
     @Autowired
     private EnvironmentService environmentService;
@@ -208,8 +208,7 @@ public class VirtualHostServiceImpl extends TransactionalService implements Virt
 
         if (api.getDefinition() != null) {
             try {
-                io.gravitee.definition.model.Api apiDefinition = objectMapper.readValue(api.getDefinition(),
-                        io.gravitee.definition.model.Api.class);
+                io.gravitee.definition.model.Api apiDefinition = apiDefinitionCache.get(api);
                 apiEntity.setProxy(apiDefinition.getProxy());
 
                 // Sanitize virtual hosts
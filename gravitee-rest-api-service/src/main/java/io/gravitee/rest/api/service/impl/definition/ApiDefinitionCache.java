@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service.impl.definition;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.rest.api.service.metrics.MetricsProvider;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the tokens of the API definitions already read, by API id and last update date, so that reading the same
+ * definition again only binds the model objects and does not parse the JSON text anymore.
+ *
+ * The definition model objects are mutable and end up in the API entities, so each call gets its own copy.
+ * The cache is bounded by the total length of the definitions it holds. See <code>ApiDefinitionCacheBenchmark</code>
+ * for the cost of a cached read compared to a parse.
+ *
+ * A cache built without the application context reads the definitions with a default {@link GraviteeMapper}.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class ApiDefinitionCache implements InitializingBean, MetricsProvider {
+
+    @Value("${api.definitions.cache.maxSize:33554432}")
+    private long maxSize = 33554432;
+
+    @Value("${api.definitions.cache.expireAfterAccess:600}")
+    private long expireAfterAccess = 600;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Cache<String, CachedDefinition> definitions;
+
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+
+    public ApiDefinitionCache() {
+        this(new GraviteeMapper());
+    }
+
+    public ApiDefinitionCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        definitions = CacheBuilder
+                .newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String key, CachedDefinition definition) -> definition.source.length())
+                .expireAfterAccess(expireAfterAccess, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Read the definition of the given API.
+     *
+     * @param api the API as stored by the repository
+     * @return a new instance of the definition, or <code>null</code> if the API has no definition.
+     */
+    public io.gravitee.definition.model.Api get(Api api) throws IOException {
+        final String source = api.getDefinition();
+        if (source == null) {
+            return null;
+        }
+
+        final String key = key(api);
+        CachedDefinition definition = key == null ? null : definitions.getIfPresent(key);
+        // The update date may be kept by a change made outside of this node, so the source has to be the same too
+        if (definition == null || !definition.source.equals(source)) {
+            definition = new CachedDefinition(source, objectMapper.readValue(source, TokenBuffer.class));
+            if (key != null) {
+                definitions.put(key, definition);
+            }
+            parsed.incrementAndGet();
+        } else {
+            reused.incrementAndGet();
+        }
+
+        try (JsonParser parser = definition.tokens.asParser(objectMapper)) {
+            return objectMapper.readValue(parser, io.gravitee.definition.model.Api.class);
+        }
+    }
+
+    public void evict(String apiId) {
+        definitions.asMap().keySet().removeIf(key -> key.startsWith(apiId + ':'));
+    }
+
+    /**
+     * @return the number of definitions parsed from their JSON text.
+     */
+    public long getParsed() {
+        return parsed.get();
+    }
+
+    /**
+     * @return the number of definitions read from the cache, without parsing the JSON text.
+     */
+    public long getReused() {
+        return reused.get();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "API definition cache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("size", definitions.size());
+        metrics.put("parsed", getParsed());
+        metrics.put("reused", getReused());
+        return metrics;
+    }
+
+    private static String key(Api api) {
+        if (api.getId() == null || api.getUpdatedAt() == null) {
+            return null;
+        }
+        return api.getId() + ':' + api.getUpdatedAt().getTime();
+    }
+
+    private static class CachedDefinition {
+
+        private final String source;
+        private final TokenBuffer tokens;
+
+        private CachedDefinition(String source, TokenBuffer tokens) {
+            this.source = source;
+            this.tokens = tokens;
+        }
+    }
+}
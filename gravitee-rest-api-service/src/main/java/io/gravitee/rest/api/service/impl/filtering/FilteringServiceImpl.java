@@ -34,7 +34,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -69,24 +68,18 @@ public class FilteringServiceImpl extends AbstractService implements FilteringSe
             return new FilteredEntities<>(Collections.emptyList(), new HashMap<>());
         }
 
-        Function<SubscriptionEntity, String> getItemFunction;
+        //count subscriptions by items, without loading them
+        final List<String> itemIds = items.stream().map(FilterableItem::getId).collect(Collectors.toList());
+        final List<SubscriptionStatus> statuses = Arrays.asList(SubscriptionStatus.ACCEPTED, SubscriptionStatus.PAUSED);
+        Map<String, Long> subscribedItemsWithCount;
         if (items.toArray()[0] instanceof ApiEntity) {
-            getItemFunction = (SubscriptionEntity sub) -> sub.getApi();
+            subscribedItemsWithCount = subscriptionService.countByApis(itemIds, statuses);
         } else if (items.toArray()[0] instanceof ApplicationListItem) {
-            getItemFunction = (SubscriptionEntity sub) -> sub.getApplication();
+            subscribedItemsWithCount = subscriptionService.countByApplications(itemIds, statuses);
         } else {
             throw new IllegalStateException("Only ApiEntity and ApplicationListItem are allowed");
         }
 
-        //find all subscribed items
-        SubscriptionQuery subscriptionQuery = new SubscriptionQuery();
-        subscriptionQuery.setApis(items.stream().map(FilterableItem::getId).collect(Collectors.toList()));
-        subscriptionQuery.setStatuses(Arrays.asList(SubscriptionStatus.ACCEPTED, SubscriptionStatus.PAUSED));
-
-        // group by items
-        Map<String, Long> subscribedItemsWithCount = subscriptionService.search(subscriptionQuery).stream()
-                .collect(Collectors.groupingBy(getItemFunction, Collectors.counting()));
-
         // link an item with its nb of subscriptions
         Map<FilterableItem, Long> itemsWithCount = new HashMap<>();
         Map<String, Map<String, Object>> itemsMetadata = new HashMap<>();
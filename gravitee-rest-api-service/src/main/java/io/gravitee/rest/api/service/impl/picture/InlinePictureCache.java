@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service.impl.picture;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.gravitee.rest.api.model.InlinePictureEntity;
+import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the decoded content and the digest of the inline pictures (API and application pictures and backgrounds), so
+ * that serving a picture, or answering a conditional request for it, does not read nor decode the owning entity.
+ *
+ * Entries are evicted when the owning entity is updated on this node, and after a short delay to take into account
+ * updates made by other nodes.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class InlinePictureCache implements InitializingBean {
+
+    @Value("${pictures.cache.maxSize:52428800}")
+    private long maxSize = 52428800;
+
+    @Value("${pictures.cache.expireAfterWrite:60}")
+    private long expireAfterWrite = 60;
+
+    private Cache<String, InlinePictureEntity> pictures;
+
+    @Override
+    public void afterPropertiesSet() {
+        pictures = CacheBuilder
+                .newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String key, InlinePictureEntity picture) ->
+                        picture.getContent() == null ? 1 : picture.getContent().length)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Get the picture from the cache, or decode the data URI given by the loader.
+     *
+     * @param key the reference and kind of the picture, see {@link #key(String, String, String)}
+     * @param loader provides the picture as a data URI, or <code>null</code> if there is no picture. It may throw
+     *               a not found exception if the owning entity does not exist.
+     * @return a copy of the decoded picture, without content if there is no picture.
+     */
+    public InlinePictureEntity get(String key, Supplier<String> loader) {
+        try {
+            return copy(pictures.get(key, () -> decode(loader.get())));
+        } catch (ExecutionException ex) {
+            throw new TechnicalManagementException("An error occurs while trying to load picture " + key, ex.getCause());
+        } catch (UncheckedExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    public void evict(String referenceType, String referenceId) {
+        pictures.invalidate(key(referenceType, referenceId, "picture"));
+        pictures.invalidate(key(referenceType, referenceId, "background"));
+    }
+
+    public static String key(String referenceType, String referenceId, String kind) {
+        return referenceType + ':' + referenceId + ':' + kind;
+    }
+
+    private InlinePictureEntity decode(String dataUri) {
+        InlinePictureEntity imageEntity = new InlinePictureEntity();
+        if (dataUri != null) {
+            final int typeStart = dataUri.indexOf(':');
+            final int contentStart = dataUri.indexOf(',');
+            if (!dataUri.startsWith("data:") || contentStart < typeStart) {
+                throw new TechnicalManagementException("The picture is not a valid data URI");
+            }
+            String[] parts = dataUri.split(";", 2);
+            imageEntity.setType(parts[0].substring(typeStart + 1));
+            String base64Content = dataUri.substring(contentStart + 1);
+            try {
+                imageEntity.setContent(Base64.getMimeDecoder().decode(base64Content));
+            } catch (IllegalArgumentException iae) {
+                throw new TechnicalManagementException("The picture content is not valid base64", iae);
+            }
+            imageEntity.setHash(Hashing.sha256().hashBytes(imageEntity.getContent()).toString());
+        }
+        return imageEntity;
+    }
+
+    /**
+     * The cached pictures are shared between callers, which get their own copy of the entity and of its content.
+     */
+    private InlinePictureEntity copy(InlinePictureEntity picture) {
+        InlinePictureEntity copy = new InlinePictureEntity();
+        copy.setType(picture.getType());
+        copy.setContent(picture.getContent() == null ? null : picture.getContent().clone());
+        copy.setHash(picture.getHash());
+        return copy;
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service.impl.swagger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import io.gravitee.rest.api.service.metrics.MetricsProvider;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the tokens of the descriptors already parsed, by digest of their content, so that parsing the same
+ * descriptor again (page rendering, imports, quality checks, ...) does not read and resolve it anymore.
+ *
+ * The descriptors are mutable and are transformed by the callers, so each call gets its own copy. A cached
+ * descriptor is read from its tokens from the first call on, so that all the callers get the same descriptor. The
+ * cache is bounded by the total length of the tokens it holds, which are fully resolved and may be much larger than
+ * the contents.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class SwaggerDescriptorCache implements InitializingBean, MetricsProvider {
+
+    private final Logger logger = LoggerFactory.getLogger(SwaggerDescriptorCache.class);
+
+    @Value("${swagger.cache.maxSize:33554432}")
+    private long maxSize = 33554432;
+
+    @Value("${swagger.cache.expireAfterAccess:600}")
+    private long expireAfterAccess = 600;
+
+    private final ObjectMapper mapper = Json.mapper();
+
+    private Cache<String, CachedDescriptor> descriptors;
+
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong parseTime = new AtomicLong();
+
+    public SwaggerDescriptorCache() {
+    }
+
+    public SwaggerDescriptorCache(long maxSize, long expireAfterAccess) {
+        this.maxSize = maxSize;
+        this.expireAfterAccess = expireAfterAccess;
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        descriptors = CacheBuilder
+                .newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String key, CachedDescriptor descriptor) -> descriptor.weight)
+                .expireAfterAccess(expireAfterAccess, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Get the descriptor from the cache, or parse it.
+     *
+     * @param key the digest of the content and parsing options, see {@link #key(String, boolean, boolean)}, or
+     *            <code>null</code> if the descriptor must not be cached (content read from a URL, ...)
+     * @param length the length of the content, for the logs
+     * @param parser parses the content, returns <code>null</code> or throws if the content is not a valid descriptor
+     * @return a new instance of the descriptor, or <code>null</code> if the content is not a valid descriptor.
+     */
+    public OpenAPI get(String key, int length, Supplier<OpenAPI> parser) {
+        final CachedDescriptor cached = key == null ? null : descriptors.getIfPresent(key);
+        if (cached != null) {
+            reused.incrementAndGet();
+            return copy(cached.tokens);
+        }
+
+        final long start = System.currentTimeMillis();
+        final OpenAPI descriptor;
+        try {
+            descriptor = parser.get();
+        } finally {
+            final long time = System.currentTimeMillis() - start;
+            parsed.incrementAndGet();
+            parseTime.addAndGet(time);
+            logger.debug("Descriptor of {} characters parsed in {} ms", length, time);
+        }
+
+        // Only valid descriptors are kept, the errors depend on the parsing options which are part of the key
+        if (key != null && descriptor != null) {
+            final TokenBuffer tokens = tokens(descriptor);
+            descriptors.put(key, new CachedDescriptor(weight(tokens), tokens));
+            return copy(tokens);
+        }
+        return descriptor;
+    }
+
+    public static String key(String content, boolean wsdl, boolean failIfErrors) {
+        return Hashing.sha256().hashString(content, StandardCharsets.UTF_8).toString()
+                + ':' + (wsdl ? "wsdl" : "oai") + ':' + failIfErrors;
+    }
+
+    /**
+     * @return the number of descriptors parsed from their content.
+     */
+    public long getParsed() {
+        return parsed.get();
+    }
+
+    /**
+     * @return the number of descriptors read from the cache, without parsing their content.
+     */
+    public long getReused() {
+        return reused.get();
+    }
+
+    /**
+     * @return the total time spent parsing descriptors, in milliseconds.
+     */
+    public long getParseTime() {
+        return parseTime.get();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "Swagger descriptor cache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("size", descriptors.size());
+        metrics.put("parsed", getParsed());
+        metrics.put("reused", getReused());
+        metrics.put("parseTime", getParseTime());
+        return metrics;
+    }
+
+    private TokenBuffer tokens(OpenAPI descriptor) {
+        final TokenBuffer tokens = new TokenBuffer(mapper, false);
+        try {
+            mapper.writeValue(tokens, descriptor);
+        } catch (IOException ioe) {
+            throw new TechnicalManagementException("An error occurs while trying to cache the descriptor", ioe);
+        }
+        return tokens;
+    }
+
+    /**
+     * @return the number of characters of the names and values held by the tokens, plus one per token.
+     */
+    private int weight(TokenBuffer tokens) {
+        long weight = 0;
+        try (JsonParser parser = tokens.asParser()) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                weight++;
+                if (token == JsonToken.FIELD_NAME || token.isScalarValue()) {
+                    weight += parser.getTextLength();
+                }
+            }
+        } catch (IOException ioe) {
+            throw new TechnicalManagementException("An error occurs while trying to cache the descriptor", ioe);
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private OpenAPI copy(TokenBuffer tokens) {
+        try (JsonParser parser = tokens.asParser(mapper)) {
+            return mapper.readValue(parser, OpenAPI.class);
+        } catch (IOException ioe) {
+            throw new TechnicalManagementException("An error occurs while trying to read the cached descriptor", ioe);
+        }
+    }
+
+    private static class CachedDescriptor {
+
+        private final int weight;
+        private final TokenBuffer tokens;
+
+        private CachedDescriptor(int weight, TokenBuffer tokens) {
+            this.weight = weight;
+            this.tokens = tokens;
+        }
+    }
+}
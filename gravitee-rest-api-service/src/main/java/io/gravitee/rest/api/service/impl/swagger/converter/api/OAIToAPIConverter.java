@@ -15,7 +15,9 @@
  */
 package io.gravitee.rest.api.service.impl.swagger.converter.api;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.gravitee.common.http.HttpMethod;
 import io.gravitee.common.utils.IdGenerator;
 import io.gravitee.definition.model.Properties;
@@ -26,10 +28,13 @@ import io.gravitee.rest.api.model.*;
 import io.gravitee.rest.api.model.api.SwaggerApiEntity;
 import io.gravitee.rest.api.service.GroupService;
 import io.gravitee.rest.api.service.TagService;
+import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
 import io.gravitee.rest.api.service.impl.swagger.visitor.v3.OAIDescriptorVisitor;
 import io.gravitee.rest.api.service.impl.swagger.visitor.v3.OAIOperationVisitor;
 import io.gravitee.rest.api.service.swagger.OAIDescriptor;
 import io.gravitee.rest.api.service.swagger.converter.extension.XGraviteeIODefinition;
+import io.gravitee.rest.api.service.validator.PolicyCleaner;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
@@ -40,15 +45,17 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.*;
-import java.util.function.BiConsumer;
-import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import static io.gravitee.rest.api.service.validator.PolicyCleaner.clearNullValues;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toMap;
@@ -63,16 +70,49 @@ public class OAIToAPIConverter implements SwaggerToApiConverter<OAIDescriptor>,
 
     private final static String PICTURE_REGEX = "^data:image/[\\w]+;base64,.*$";
 
+    private final static Pattern PATH_PARAM_PATTERN = Pattern.compile("\\{(.[^/\\}]*)\\}");
+
+    /**
+     * Number of paths from which the operations are visited by the executor, if any.
+     */
+    private final static int PARALLEL_THRESHOLD = 50;
+
+    /**
+     * Number of paths visited by each task of the executor.
+     */
+    private final static int PATHS_PER_TASK = 25;
+
     private final Collection<? extends OAIOperationVisitor> visitors;
 
     private GroupService groupService;
 
     private TagService tagService;
 
+    private final ExecutorService executor;
+
+    /**
+     * Policy configurations already cleaned, as the visitors often give the same configuration for the operations
+     * sharing the same schemas. Only the cleaning is cached: the visitors are still called for each operation, since
+     * their output depends on the whole operation and not only on its schemas.
+     */
+    private final Map<String, String> configurations = new ConcurrentHashMap<>();
+
     public OAIToAPIConverter(Collection<? extends OAIOperationVisitor> visitors, GroupService groupService, TagService tagService) {
+        this(visitors, groupService, tagService, null);
+    }
+
+    /**
+     * @param executor visits the paths of large descriptors in parallel, or <code>null</code> to visit them on the
+     *                 calling thread. The visitors must then be thread-safe, which they already are as they are shared
+     *                 by the concurrent imports. Each task visits its paths on its own copy of the descriptor, as the
+     *                 visitors of the policy plugins may resolve or alter its schemas.
+     */
+    public OAIToAPIConverter(Collection<? extends OAIOperationVisitor> visitors, GroupService groupService, TagService tagService,
+                             ExecutorService executor) {
         this.visitors = visitors;
         this.groupService = groupService;
         this.tagService = tagService;
+        this.executor = executor;
     }
 
     @Override
@@ -98,47 +138,7 @@ public class OAIToAPIConverter implements SwaggerToApiConverter<OAIDescriptor>,
         apiEntity.setVersion(oai.getInfo().getVersion());
 
         // Paths
-        apiEntity.setPaths(oai.getPaths().entrySet().stream()
-                .map(entry -> {
-                    final io.gravitee.definition.model.Path path = new Path();
-                    path.setPath(entry.getKey().replaceAll("\\{(.[^/\\}]*)\\}", ":$1"));
-
-                    Map<PathItem.HttpMethod, Operation> operations = entry.getValue().readOperationsMap();
-                    List<Rule> rules = new ArrayList<>();
-
-                    operations.forEach(new BiConsumer<PathItem.HttpMethod, Operation>() {
-                        @Override
-                        public void accept(PathItem.HttpMethod httpMethod, Operation operation) {
-                            visitors.forEach(new Consumer<OAIOperationVisitor>() {
-                                @Override
-                                public void accept(OAIOperationVisitor oaiOperationVisitor) {
-                                    // Consider only policy visitor for now
-                                    Optional<Policy> policy = (Optional<Policy>) oaiOperationVisitor.visit(oai, operation);
-
-                                    if (policy.isPresent()) {
-                                        final Rule rule = new Rule();
-                                        rule.setEnabled(true);
-                                        rule.setDescription(operation.getSummary() == null ?
-                                                (operation.getOperationId() == null ? operation.getDescription() : operation.getOperationId()) :
-                                                operation.getSummary());
-                                        rule.setMethods(singleton(HttpMethod.valueOf(httpMethod.name())));
-
-                                        io.gravitee.definition.model.Policy defPolicy = new io.gravitee.definition.model.Policy();
-                                        defPolicy.setName(policy.get().getName());
-                                        defPolicy.setConfiguration(clearNullValues(policy.get().getConfiguration()));
-                                        rule.setPolicy(defPolicy);
-                                        rules.add(rule);
-                                    }
-                                }
-                            });
-                        }
-                    });
-
-                    path.setRules(rules);
-
-                    return path;
-                })
-                .collect(toMap(Path::getPath, path -> path)));
+        apiEntity.setPaths(visitPaths(oai));
 
         // Path Mappings
         if (apiEntity.getPaths() != null) {
@@ -272,6 +272,120 @@ public class OAIToAPIConverter implements SwaggerToApiConverter<OAIDescriptor>,
         return apiEntity;
     }
 
+    private Map<String, Path> visitPaths(OpenAPI oai) {
+        final List<Map.Entry<String, PathItem>> entries = new ArrayList<>(oai.getPaths().entrySet());
+
+        final List<Path> paths;
+        if (executor == null || visitors.isEmpty() || entries.size() < PARALLEL_THRESHOLD) {
+            paths = entries.stream()
+                    .map(entry -> visitPath(oai, entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toList());
+        } else {
+            final TokenBuffer specification = tokens(oai);
+            final List<Future<List<Path>>> futures = new ArrayList<>();
+            for (int from = 0; from < entries.size(); from += PATHS_PER_TASK) {
+                final List<String> pathNames = entries.subList(from, Math.min(from + PATHS_PER_TASK, entries.size()))
+                        .stream()
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList());
+                futures.add(executor.submit(() -> {
+                    final OpenAPI copy = copy(specification);
+                    return pathNames.stream()
+                            .map(pathName -> visitPath(copy, pathName, copy.getPaths().get(pathName)))
+                            .collect(Collectors.toList());
+                }));
+            }
+            paths = new ArrayList<>(entries.size());
+            try {
+                for (Future<List<Path>> future : futures) {
+                    paths.addAll(get(future));
+                }
+            } catch (RuntimeException ex) {
+                // The import has failed, the paths left are not worth visiting
+                futures.forEach(future -> future.cancel(true));
+                throw ex;
+            }
+        }
+
+        // Keep the order of the descriptor, whatever the order the paths have been visited in
+        return paths.stream().collect(toMap(Path::getPath, path -> path, (path1, path2) -> {
+            throw new IllegalStateException(String.format("Duplicate key %s", path1.getPath()));
+        }, LinkedHashMap::new));
+    }
+
+    private Path visitPath(OpenAPI oai, String pathName, PathItem pathItem) {
+        final Path path = new Path();
+        path.setPath(PATH_PARAM_PATTERN.matcher(pathName).replaceAll(":$1"));
+
+        Map<PathItem.HttpMethod, Operation> operations = pathItem.readOperationsMap();
+        List<Rule> rules = new ArrayList<>();
+
+        operations.forEach((httpMethod, operation) -> visitors.forEach(oaiOperationVisitor -> {
+            // Consider only policy visitor for now
+            Optional<Policy> policy = (Optional<Policy>) oaiOperationVisitor.visit(oai, operation);
+
+            if (policy.isPresent()) {
+                final Rule rule = new Rule();
+                rule.setEnabled(true);
+                rule.setDescription(operation.getSummary() == null ?
+                        (operation.getOperationId() == null ? operation.getDescription() : operation.getOperationId()) :
+                        operation.getSummary());
+                rule.setMethods(singleton(HttpMethod.valueOf(httpMethod.name())));
+
+                io.gravitee.definition.model.Policy defPolicy = new io.gravitee.definition.model.Policy();
+                defPolicy.setName(policy.get().getName());
+                defPolicy.setConfiguration(cleanConfiguration(policy.get().getConfiguration()));
+                rule.setPolicy(defPolicy);
+                rules.add(rule);
+            }
+        }));
+
+        path.setRules(rules);
+
+        return path;
+    }
+
+    private String cleanConfiguration(String configuration) {
+        if (configuration == null) {
+            return null;
+        }
+        return configurations.computeIfAbsent(configuration, PolicyCleaner::clearNullValues);
+    }
+
+    private static TokenBuffer tokens(OpenAPI oai) {
+        final ObjectMapper mapper = Json.mapper();
+        final TokenBuffer tokens = new TokenBuffer(mapper, false);
+        try {
+            mapper.writeValue(tokens, oai);
+        } catch (IOException ioe) {
+            throw new TechnicalManagementException("An error occurs while trying to copy the descriptor", ioe);
+        }
+        return tokens;
+    }
+
+    private static OpenAPI copy(TokenBuffer tokens) {
+        final ObjectMapper mapper = Json.mapper();
+        try (JsonParser parser = tokens.asParser(mapper)) {
+            return mapper.readValue(parser, OpenAPI.class);
+        } catch (IOException ioe) {
+            throw new TechnicalManagementException("An error occurs while trying to copy the descriptor", ioe);
+        }
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new TechnicalManagementException("Import of the descriptor has been interrupted", ie);
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ee.getCause();
+            }
+            throw new TechnicalManagementException("An error occurs while trying to visit the descriptor paths", ee.getCause());
+        }
+    }
+
     private String findTagIdByName(Map<String, String> tagMap, String tag) {
         for (Map.Entry<String, String> entry : tagMap.entrySet()) {
             if (entry.getValue().equals(tag)) {
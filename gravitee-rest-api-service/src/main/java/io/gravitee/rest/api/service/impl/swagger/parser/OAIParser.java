@@ -15,10 +15,16 @@
  */
 package io.gravitee.rest.api.service.impl.swagger.parser;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import io.gravitee.rest.api.service.exceptions.SwaggerDescriptorException;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.converter.SwaggerConverter;
+import io.swagger.v3.parser.core.extensions.SwaggerParserExtension;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import org.slf4j.Logger;
@@ -29,6 +35,8 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +47,15 @@ public class OAIParser extends AbstractSwaggerParser<OpenAPI> {
 
     private final Logger logger = LoggerFactory.getLogger(OAIParser.class);
 
+    /**
+     * Top-level version attribute of an OpenAPI 3 (<code>openapi</code>) or Swagger 2 (<code>swagger</code>)
+     * descriptor in YAML, which starts at the first column. Nested attributes are indented and never match.
+     */
+    private static final Pattern VERSION_PATTERN =
+            Pattern.compile("^[\"']?(openapi|swagger)[\"']?[ \\t]*:[ \\t]*[\"']?(\\d)", Pattern.MULTILINE);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     static {
         System.setProperty(String.format("%s.trustAll", io.swagger.v3.parser.util.RemoteUrl.class.getName()), Boolean.TRUE.toString());
     }
@@ -49,20 +66,18 @@ public class OAIParser extends AbstractSwaggerParser<OpenAPI> {
     }
 
     private OpenAPI parse(String content, boolean reparse, ParseOptions options, boolean failIfErrors) {
-        OpenAPIParser parser = new OpenAPIParser();
-        SwaggerParseResult parseResult;
-        String path = content;
-        File temp = null;
+        SwaggerParseResult parseResult = null;
+
         if (!isLocationUrl(content)) {
-            // Swagger v1 supports only a URL to read swagger: create temporary file for Swagger parser
-            temp = createTempFile(content);
-            path = temp.getAbsolutePath();
+            // The version is known from the content: read it with the matching parser only
+            final SwaggerParserExtension parser = sniff(content);
+            if (parser != null) {
+                parseResult = parser.readContents(content, null, options != null ? options : new ParseOptions());
+            }
         }
 
-        parseResult = parser.readLocation(path, null, options);
-
-        if (temp != null) {
-            temp.delete();
+        if (parseResult == null || parseResult.getOpenAPI() == null) {
+            parseResult = readLocation(content, options);
         }
 
         /* Hack due to swagger v1 converting issue
@@ -98,6 +113,73 @@ public class OAIParser extends AbstractSwaggerParser<OpenAPI> {
     }
 
 
+    private SwaggerParseResult readLocation(String content, ParseOptions options) {
+        String path = content;
+        File temp = null;
+        if (!isLocationUrl(content)) {
+            // Swagger v1 supports only a URL to read swagger: create temporary file for Swagger parser
+            temp = createTempFile(content);
+            path = temp.getAbsolutePath();
+        }
+
+        try {
+            return new OpenAPIParser().readLocation(path, null, options);
+        } finally {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * @return the parser of the OpenAPI 3 or Swagger 2 content, or <code>null</code> if the version can not be
+     * found without parsing it, in which case all the parsers are tried.
+     */
+    private SwaggerParserExtension sniff(String content) {
+        if (content.trim().startsWith("{")) {
+            return sniffJson(content);
+        }
+
+        final Matcher matcher = VERSION_PATTERN.matcher(content);
+        if (matcher.find()) {
+            return parser(matcher.group(1), matcher.group(2));
+        }
+        return null;
+    }
+
+    /**
+     * Reads the top-level attributes of a JSON descriptor until the version one, skipping the nested objects.
+     */
+    private SwaggerParserExtension sniffJson(String content) {
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.getCurrentName();
+                    final JsonToken value = parser.nextToken();
+                    if (("openapi".equals(name) || "swagger".equals(name)) && value == JsonToken.VALUE_STRING) {
+                        final String version = parser.getText();
+                        return version.isEmpty() ? null : parser(name, version.substring(0, 1));
+                    }
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException ioe) {
+            logger.debug("Unable to read the version of the JSON descriptor", ioe);
+        }
+        return null;
+    }
+
+    private SwaggerParserExtension parser(String attribute, String majorVersion) {
+        if ("openapi".equals(attribute) && "3".equals(majorVersion)) {
+            logger.debug("Reading an OpenAPI 3 descriptor");
+            return new OpenAPIV3Parser();
+        } else if ("swagger".equals(attribute) && "2".equals(majorVersion)) {
+            logger.debug("Reading a Swagger 2 descriptor");
+            return new SwaggerConverter();
+        }
+        return null;
+    }
+
     private File createTempFile(String content) {
         File temp = null;
         String fileName = "gio_swagger_" + System.currentTimeMillis();
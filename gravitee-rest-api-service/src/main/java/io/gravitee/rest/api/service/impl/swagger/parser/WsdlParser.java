@@ -31,13 +31,33 @@ import java.util.List;
 public class WsdlParser extends AbstractSwaggerParser<OpenAPI> {
     private static final Logger LOGGER = LoggerFactory.getLogger(WsdlParser.class);
 
+    private final int maxSampleDepth;
+    private final int maxSampleElements;
+    private final int maxEnvelopeSize;
+
+    public WsdlParser() {
+        this(WSDLToOpenAPIConverter.DEFAULT_MAX_SAMPLE_DEPTH, WSDLToOpenAPIConverter.DEFAULT_MAX_SAMPLE_ELEMENTS,
+                WSDLToOpenAPIConverter.DEFAULT_MAX_ENVELOPE_SIZE);
+    }
+
+    /**
+     * @see WSDLToOpenAPIConverter#withLimits(int, int, int)
+     */
+    public WsdlParser(int maxSampleDepth, int maxSampleElements, int maxEnvelopeSize) {
+        this.maxSampleDepth = maxSampleDepth;
+        this.maxSampleElements = maxSampleElements;
+        this.maxEnvelopeSize = maxEnvelopeSize;
+    }
+
     @Override
     public OpenAPI parse(String content, boolean failIfErrors) {
         try {
+            final WSDLToOpenAPIConverter converter = new WSDLToOpenAPIConverter()
+                    .withLimits(maxSampleDepth, maxSampleElements, maxEnvelopeSize);
             if (isLocationUrl(content)) {
-                return new WSDLToOpenAPIConverter().toOpenAPI(RemoteUrl.urlToString(content, (List<AuthorizationValue>) null));
+                return converter.toOpenAPI(RemoteUrl.urlToString(content, (List<AuthorizationValue>) null));
             } else {
-                return new WSDLToOpenAPIConverter().toOpenAPI(content);
+                return converter.toOpenAPI(content);
             }
         } catch (Exception e) {
             LOGGER.info("Wsdl parsing failed : {}", e.getMessage());
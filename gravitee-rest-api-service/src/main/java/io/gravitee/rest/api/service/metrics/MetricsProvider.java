@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service.metrics;
+
+import java.util.Map;
+
+/**
+ * A component whose metrics are periodically reported by the {@link MetricsReporter}.
+ *
+ * @author GraviteeSource Team
+ */
+public interface MetricsProvider {
+
+    /**
+     * @return the name under which the metrics are reported.
+     */
+    String getMetricsName();
+
+    /**
+     * @return the current value of each metric, by metric name.
+     */
+    Map<String, Object> getMetrics();
+}
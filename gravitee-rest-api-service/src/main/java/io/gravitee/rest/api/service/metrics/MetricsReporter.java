@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service.metrics;
+
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the metrics of the {@link MetricsProvider}s every <code>metrics.report.interval</code> seconds.
+ *
+ * The providers of the application context are found automatically. The ones living in another context, such as the
+ * services, have to {@link #register(MetricsProvider)} themselves.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class MetricsReporter implements InitializingBean, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(MetricsReporter.class);
+
+    @Value("${metrics.report.interval:300}")
+    private long interval;
+
+    @Autowired
+    private Vertx vertx;
+
+    @Autowired(required = false)
+    private List<MetricsProvider> providers = Collections.emptyList();
+
+    private final List<MetricsProvider> registeredProviders = new CopyOnWriteArrayList<>();
+
+    private long timerId = -1;
+
+    @Override
+    public void afterPropertiesSet() {
+        registeredProviders.addAll(providers);
+        if (interval > 0) {
+            timerId = vertx.setPeriodic(TimeUnit.SECONDS.toMillis(interval), id -> report());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    public void register(MetricsProvider provider) {
+        registeredProviders.add(provider);
+    }
+
+    public void unregister(MetricsProvider provider) {
+        registeredProviders.remove(provider);
+    }
+
+    public void report() {
+        registeredProviders.forEach(provider -> {
+            try {
+                final Map<String, Object> metrics = provider.getMetrics();
+                if (!metrics.isEmpty()) {
+                    LOGGER.info("{} metrics: {}", provider.getMetricsName(), metrics);
+                }
+            } catch (Exception ex) {
+                LOGGER.warn("Unable to report {} metrics", provider.getMetricsName(), ex);
+            }
+        });
+    }
+}
@@ -18,6 +18,7 @@ package io.gravitee.rest.api.service.notifiers;
 import io.gravitee.repository.management.model.GenericNotificationConfig;
 import io.gravitee.rest.api.service.notification.Hook;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -26,4 +27,10 @@ import java.util.Map;
  */
 public interface EmailNotifierService {
     void trigger(final Hook hook, GenericNotificationConfig genericNotificationConfig, final Map<String, Object> params);
+
+    /**
+     * Notify all the given configurations at once, so that the content is rendered once and the emails are sent in
+     * batches.
+     */
+    void trigger(final Hook hook, List<GenericNotificationConfig> genericNotificationConfigs, final Map<String, Object> params);
 }
@@ -15,6 +15,8 @@
  */
 package io.gravitee.rest.api.service.notifiers.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
@@ -22,6 +24,7 @@ import io.gravitee.repository.management.model.GenericNotificationConfig;
 import io.gravitee.rest.api.model.ApiModelEntity;
 import io.gravitee.rest.api.model.PlanEntity;
 import io.gravitee.rest.api.model.api.ApiEntity;
+import io.gravitee.rest.api.service.EmailNotification;
 import io.gravitee.rest.api.service.EmailService;
 import io.gravitee.rest.api.service.builder.EmailNotificationBuilder;
 import io.gravitee.rest.api.service.notification.*;
@@ -54,25 +57,51 @@ public class EmailNotifierServiceImpl implements EmailNotifierService {
     @Autowired
     private Configuration freemarkerConfiguration;
 
+    /**
+     * Recipient expressions compiled once, they are evaluated for each notification.
+     */
+    private final Cache<String, Template> recipientTemplates = CacheBuilder.newBuilder().maximumSize(1000).build();
+
     @Override
     public void trigger(final Hook hook, GenericNotificationConfig genericNotificationConfig, final Map<String, Object> params) {
+        EmailNotification emailNotification = getEmailNotification(hook, genericNotificationConfig, params);
+        if (emailNotification != null) {
+            emailService.sendAsyncEmailNotification(emailNotification);
+        }
+    }
+
+    @Override
+    public void trigger(final Hook hook, List<GenericNotificationConfig> genericNotificationConfigs, final Map<String, Object> params) {
+        List<EmailNotification> emailNotifications = new ArrayList<>(genericNotificationConfigs.size());
+        for (GenericNotificationConfig genericNotificationConfig : genericNotificationConfigs) {
+            EmailNotification emailNotification = getEmailNotification(hook, genericNotificationConfig, params);
+            if (emailNotification != null) {
+                emailNotifications.add(emailNotification);
+            }
+        }
+        if (!emailNotifications.isEmpty()) {
+            emailService.sendAsyncEmailNotifications(emailNotifications);
+        }
+    }
+
+    private EmailNotification getEmailNotification(final Hook hook, GenericNotificationConfig genericNotificationConfig, final Map<String, Object> params) {
         if (genericNotificationConfig == null || genericNotificationConfig.getConfig() == null || genericNotificationConfig.getConfig().isEmpty()) {
             LOGGER.error("Email Notifier configuration is empty");
-            return;
+            return null;
         }
         EmailNotificationBuilder.EmailTemplate emailTemplate = getEmailTemplate(hook);
         if (emailTemplate == null) {
             LOGGER.error("Email template not found for hook {}", hook);
-            return;
+            return null;
         }
 
         String[] mails = getMails(genericNotificationConfig, params).toArray(new String[0]);
-        emailService.sendAsyncEmailNotification(new EmailNotificationBuilder()
+        return new EmailNotificationBuilder()
                 .to(mails)
                 .subject(getEmailSubject(hook, params))
                 .template(emailTemplate)
                 .params(params)
-                .build());
+                .build();
     }
 
     private List<String> getMails(final GenericNotificationConfig genericNotificationConfig, final Map<String, Object> params) {
@@ -82,7 +111,7 @@ public class EmailNotifierServiceImpl implements EmailNotifierService {
             if (!mail.isEmpty()) {
                 if (mail.contains("$")) {
                     try {
-                        final Template template = new Template(mail, mail, freemarkerConfiguration);
+                        final Template template = getRecipientTemplate(mail);
                         String tmpMail = FreeMarkerTemplateUtils.processTemplateIntoString(template, params);
                         if (!tmpMail.isEmpty()) {
                             result.add(tmpMail);
@@ -101,6 +130,15 @@ public class EmailNotifierServiceImpl implements EmailNotifierService {
         return result;
     }
 
+    private Template getRecipientTemplate(final String mail) throws IOException {
+        Template template = recipientTemplates.getIfPresent(mail);
+        if (template == null) {
+            template = new Template(mail, mail, freemarkerConfiguration);
+            recipientTemplates.put(mail, template);
+        }
+        return template;
+    }
+
     private EmailNotificationBuilder.EmailTemplate getEmailTemplate(final Hook hook) {
         if (hook == null) {
             return null;
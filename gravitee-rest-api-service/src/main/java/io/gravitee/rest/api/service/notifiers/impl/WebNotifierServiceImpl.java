@@ -29,11 +29,10 @@ import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
 import io.gravitee.rest.api.service.notification.Hook;
 import io.gravitee.rest.api.service.notifiers.WebNotifierService;
 import io.gravitee.rest.api.service.notifiers.WebhookNotifierService;
+import io.gravitee.rest.api.service.vertx.HttpClientPool;
 import io.gravitee.rest.api.service.vertx.VertxCompletableFuture;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpClient;
-import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.ProxyOptions;
@@ -51,6 +50,7 @@ import java.net.URI;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com) 
@@ -89,6 +89,9 @@ public class WebNotifierServiceImpl implements WebNotifierService {
     @Autowired
     private Vertx vertx;
 
+    @Autowired
+    private HttpClientPool httpClientPool;
+
     public void request(HttpMethod method, final String uri, final Map<String, String> headers, String body, boolean useSystemProxy) {
         if (uri == null || uri.isEmpty()) {
             LOGGER.error("Webhook Notifier configuration is empty");
@@ -97,18 +100,9 @@ public class WebNotifierServiceImpl implements WebNotifierService {
 
         CompletableFuture<Buffer> future = new VertxCompletableFuture<>(vertx);
         URI requestUri = URI.create(uri);
-        boolean ssl = HTTPS_SCHEME.equalsIgnoreCase(requestUri.getScheme());
-
-        final HttpClientOptions options = new HttpClientOptions()
-                .setSsl(ssl)
-                .setTrustAll(true)
-                .setMaxPoolSize(1)
-                .setKeepAlive(false)
-                .setTcpKeepAlive(false)
-                .setConnectTimeout(httpClientTimeout);
-
+        ProxyOptions proxyOptions = null;
         if (useSystemProxy) {
-            ProxyOptions proxyOptions = new ProxyOptions();
+            proxyOptions = new ProxyOptions();
             proxyOptions.setType(ProxyType.valueOf(httpClientProxyType));
             if (HTTPS_SCHEME.equals(requestUri.getScheme())) {
                 proxyOptions.setHost(httpClientProxyHttpsHost);
@@ -121,60 +115,49 @@ public class WebNotifierServiceImpl implements WebNotifierService {
                 proxyOptions.setUsername(httpClientProxyHttpUsername);
                 proxyOptions.setPassword(httpClientProxyHttpPassword);
             }
-            options.setProxyOptions(proxyOptions);
         }
 
-        final HttpClient httpClient = vertx.createHttpClient(options);
-
-        final int port = requestUri.getPort() != -1 ? requestUri.getPort() :
-                (HTTPS_SCHEME.equals(requestUri.getScheme()) ? 443 : 80);
-
-        HttpClientRequest request = httpClient.request(
-                io.vertx.core.http.HttpMethod.valueOf(method.name()),
-                port,
-                requestUri.getHost(),
-                requestUri.toString(),
-                response -> LOGGER.debug("Web response status code : {}", response.statusCode())
-        );
-        request.setTimeout(httpClientTimeout);
-
-        //headers
-        request.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
-        request.putHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.length()));
-        headers.forEach(request::putHeader);
-        request.putHeader("X-Gravitee-Request-Id", RandomString.generate());
-        request.write(body);
-
-        request.handler(response -> {
-            if (response.statusCode() == HttpStatusCode.OK_200) {
-                response.bodyHandler(buffer -> {
-                    future.complete(buffer);
-
-                    // Close client
-                    httpClient.close();
-                });
-            } else {
-                future.completeExceptionally(new TechnicalManagementException(" Error on url '" + uri + "'. Status code: " + response.statusCode() + ". Message: " + response.statusMessage(), null));
-            }
-        });
-        request.exceptionHandler(event -> {
-            try {
+        final HttpClientPool.Origin origin = httpClientPool.acquire(requestUri, proxyOptions);
+        final AtomicBoolean failed = new AtomicBoolean();
+        try {
+            HttpClientRequest request = origin.getClient().request(
+                    io.vertx.core.http.HttpMethod.valueOf(method.name()),
+                    origin.getPort(),
+                    origin.getHost(),
+                    requestUri.toString(),
+                    response -> LOGGER.debug("Web response status code : {}", response.statusCode())
+            );
+            request.setTimeout(httpClientTimeout);
+
+            //headers
+            request.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+            request.putHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.length()));
+            headers.forEach(request::putHeader);
+            request.putHeader("X-Gravitee-Request-Id", RandomString.generate());
+            request.write(body);
+
+            request.handler(response -> {
+                if (response.statusCode() == HttpStatusCode.OK_200) {
+                    response.bodyHandler(future::complete);
+                } else {
+                    // Drain the response so that the connection can be reused
+                    response.bodyHandler(buffer -> future.completeExceptionally(new TechnicalManagementException(" Error on url '" + uri + "'. Status code: " + response.statusCode() + ". Message: " + response.statusMessage(), null)));
+                }
+            });
+            request.exceptionHandler(event -> {
+                // the connection failed before getting a response, so the client is evicted from the pool
+                failed.set(true);
                 future.completeExceptionally(event);
+            });
 
-                // Close client
-                httpClient.close();
-            } catch (IllegalStateException ise) {
-                // Do not take care about exception when closing client
-            }
-        });
+            request.end();
 
-        request.end();
-
-        try {
             future.get();
         } catch (InterruptedException | ExecutionException e) {
             LOGGER.error(e.getMessage(), e);
             throw new TechnicalManagementException(e.getMessage(), e);
+        } finally {
+            httpClientPool.release(origin, failed.get());
         }
     }
 }
@@ -19,6 +19,7 @@ import io.gravitee.common.http.HttpMethod;
 import io.gravitee.repository.management.model.GenericNotificationConfig;
 import io.gravitee.rest.api.model.*;
 import io.gravitee.rest.api.model.api.ApiEntity;
+import io.gravitee.rest.api.service.metrics.MetricsProvider;
 import io.gravitee.rest.api.service.notification.Hook;
 import io.gravitee.rest.api.service.notifiers.WebNotifierService;
 import io.gravitee.rest.api.service.notifiers.WebhookNotifierService;
@@ -26,26 +27,74 @@ import io.vertx.core.json.JsonObject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import static io.gravitee.rest.api.service.notification.NotificationParamsBuilder.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Webhooks are delivered by a bounded pool of workers, so that a slow or unavailable receiver does not slow down the
+ * operation which triggered the notification. Failed deliveries are retried with an exponential delay, and an
+ * endpoint failing repeatedly is not called anymore for a while.
+ *
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com) 
  * @author GraviteeSource Team
  */
 @Component
-public class WebhookNotifierServiceImpl implements WebhookNotifierService {
+public class WebhookNotifierServiceImpl implements WebhookNotifierService, MetricsProvider, InitializingBean, DisposableBean {
 
     private final Logger LOGGER = LoggerFactory.getLogger(WebhookNotifierServiceImpl.class);
 
     @Autowired
     WebNotifierService webNotifierService;
 
+    @Value("${notifiers.webhook.queue.capacity:1000}")
+    private int queueCapacity = 1000;
+    @Value("${notifiers.webhook.workers:4}")
+    private int workers = 4;
+    @Value("${notifiers.webhook.retry.maxAttempts:5}")
+    private int maxAttempts = 5;
+    @Value("${notifiers.webhook.retry.delay:1000}")
+    private long retryDelay = 1000;
+    @Value("${notifiers.webhook.retry.maxDelay:300000}")
+    private long maxRetryDelay = 300000;
+    @Value("${notifiers.webhook.circuitBreaker.failureThreshold:5}")
+    private int failureThreshold = 5;
+    @Value("${notifiers.webhook.circuitBreaker.openDuration:60000}")
+    private long openDuration = 60000;
+
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService retryScheduler;
+
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+    private final AtomicLong deliveries = new AtomicLong();
+    private final AtomicLong deliveryTime = new AtomicLong();
+    private final AtomicLong droppedDeliveries = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("gio-webhook-"));
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("gio-webhook-retry-"));
+    }
+
+    @Override
+    public void destroy() {
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+    }
+
     @Override
     public void trigger(final Hook hook, GenericNotificationConfig genericNotificationConfig, final Map<String, Object> params) {
 
@@ -57,7 +106,97 @@ public class WebhookNotifierServiceImpl implements WebhookNotifierService {
         headers.put("X-Gravitee-Event", hook.name());
         headers.put("X-Gravitee-Event-Scope", hook.getScope().name());
 
-        webNotifierService.request(HttpMethod.POST, genericNotificationConfig.getConfig(), headers, body, genericNotificationConfig.isUseSystemProxy());
+        enqueue(new Delivery(genericNotificationConfig.getConfig(), headers, body, genericNotificationConfig.isUseSystemProxy()));
+    }
+
+    /**
+     * @return the number of deliveries waiting for a worker.
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return the mean duration of the successful deliveries, in milliseconds.
+     */
+    public long getAverageDeliveryTime() {
+        final long count = deliveries.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(deliveryTime.get() / count);
+    }
+
+    /**
+     * @return the number of deliveries given up, because the queue was full or all the attempts failed.
+     */
+    public long getDroppedDeliveries() {
+        return droppedDeliveries.get();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "Webhook notifications";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queueSize", getQueueSize());
+        metrics.put("delivered", deliveries.get());
+        metrics.put("averageDeliveryTime", getAverageDeliveryTime());
+        metrics.put("dropped", getDroppedDeliveries());
+        return metrics;
+    }
+
+    private void enqueue(Delivery delivery) {
+        try {
+            executor.execute(() -> deliver(delivery));
+        } catch (RejectedExecutionException ree) {
+            droppedDeliveries.incrementAndGet();
+            LOGGER.warn("Webhook delivery queue is full, notification to {} is dropped", delivery.url);
+        }
+    }
+
+    private void deliver(Delivery delivery) {
+        final Circuit circuit = circuits.computeIfAbsent(delivery.url, url -> new Circuit());
+        final long openFor = circuit.openUntil - System.currentTimeMillis();
+        if (openFor > 0) {
+            // The endpoint is not called until the circuit closes, this does not count as an attempt
+            LOGGER.debug("Too many failures on {}, webhook notification deferred for {} ms", delivery.url, openFor);
+            schedule(delivery, openFor);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        try {
+            webNotifierService.request(HttpMethod.POST, delivery.url, delivery.headers, delivery.body, delivery.useSystemProxy);
+            deliveryTime.addAndGet(System.nanoTime() - start);
+            deliveries.incrementAndGet();
+            circuit.success();
+        } catch (Exception ex) {
+            circuit.failure();
+            retry(delivery, ex.getMessage());
+        }
+    }
+
+    private void retry(Delivery delivery, String reason) {
+        final int attempt = ++delivery.attempts;
+        if (attempt >= maxAttempts) {
+            droppedDeliveries.incrementAndGet();
+            LOGGER.error("Unable to deliver webhook notification to {} after {} attempts: {}", delivery.url, attempt, reason);
+            return;
+        }
+
+        final long delay = Math.min(maxRetryDelay, retryDelay << Math.min(attempt - 1, 30));
+        LOGGER.debug("Webhook notification to {} failed ({}), retrying in {} ms", delivery.url, reason, delay);
+        schedule(delivery, delay);
+    }
+
+    private void schedule(Delivery delivery, long delay) {
+        try {
+            retryScheduler.schedule(() -> enqueue(delivery), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ree) {
+            // The service is stopping
+            droppedDeliveries.incrementAndGet();
+        }
     }
 
     private String toJson(final Hook hook, final Map<String, Object> params) {
@@ -125,4 +264,37 @@ public class WebhookNotifierServiceImpl implements WebhookNotifierService {
 
         return content.encode();
     }
+
+    private static class Delivery {
+
+        private final String url;
+        private final Map<String, String> headers;
+        private final String body;
+        private final boolean useSystemProxy;
+        private int attempts;
+
+        private Delivery(String url, Map<String, String> headers, String body, boolean useSystemProxy) {
+            this.url = url;
+            this.headers = headers;
+            this.body = body;
+            this.useSystemProxy = useSystemProxy;
+        }
+    }
+
+    private class Circuit {
+
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile long openUntil;
+
+        private void success() {
+            failures.set(0);
+            openUntil = 0;
+        }
+
+        private void failure() {
+            if (failures.incrementAndGet() >= failureThreshold) {
+                openUntil = System.currentTimeMillis() + openDuration;
+            }
+        }
+    }
 }
@@ -15,18 +15,16 @@
  */
 package io.gravitee.rest.api.service.processor;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
-import io.gravitee.rest.api.model.DeploymentRequired;
 import io.gravitee.rest.api.model.api.ApiEntity;
 
 /**
@@ -34,41 +32,42 @@ import io.gravitee.rest.api.model.api.ApiEntity;
  * @author GraviteeSource Team
  */
 @Component
-public class ApiSynchronizationProcessor {
+public class ApiSynchronizationProcessor implements InitializingBean {
 
     private final Logger LOGGER = LoggerFactory.getLogger(ApiSynchronizationProcessor.class);
 
+    private static final DeploymentRequiredFields<ApiEntity> REQUIRED_FIELDS = new DeploymentRequiredFields<>(ApiEntity.class);
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    private ObjectWriter writer;
+
+    @Override
+    public void afterPropertiesSet() {
+        // Map entries are sorted so that the same fields always give the same digest
+        writer = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    }
+
     public boolean processCheckSynchronization(ApiEntity deployedApi, ApiEntity apiToDeploy) {
-        Class<ApiEntity> cl = ApiEntity.class;
-        List<Object> requiredFieldsDeployedApi = new ArrayList<Object>();
-        List<Object> requiredFieldsApiToDeploy = new ArrayList<Object>();
-        for (Field f : cl.getDeclaredFields()) {
-            if (f.getAnnotation(DeploymentRequired.class) != null) {
-                boolean previousAccessibleState = f.isAccessible();
-                f.setAccessible(true);
-                try {
-                    requiredFieldsDeployedApi.add(f.get(deployedApi));
-                    requiredFieldsApiToDeploy.add(f.get(apiToDeploy));
-                } catch (Exception e) {
-                    LOGGER.error("Error access API required deployment fields", e);
-                } finally {
-                    f.setAccessible(previousAccessibleState);
-                }
-            }
-        }
+        String deployedApiDigest = computeDeploymentDigest(deployedApi);
 
-        try {
-            String requiredFieldsDeployedApiDefinition = objectMapper.writeValueAsString(requiredFieldsDeployedApi);
-            String requiredFieldsApiToDeployDefinition = objectMapper.writeValueAsString(requiredFieldsApiToDeploy);
+        return deployedApiDigest != null && deployedApiDigest.equals(computeDeploymentDigest(apiToDeploy));
+    }
 
-            return requiredFieldsDeployedApiDefinition.equals(requiredFieldsApiToDeployDefinition);
+    /**
+     * Compute the digest of the fields of the API which require a deployment. Two APIs with the same digest are
+     * synchronized according to {@link #processCheckSynchronization(ApiEntity, ApiEntity)}.
+     *
+     * @param api the API
+     * @return the SHA-256 digest of the required fields, or <code>null</code> if they can not be serialized.
+     */
+    public String computeDeploymentDigest(ApiEntity api) {
+        try {
+            return REQUIRED_FIELDS.digest(writer, api);
         } catch (Exception e) {
             LOGGER.error("Unexpected error while generating API deployment required fields definition", e);
-            return false;
+            return null;
         }
     }
-
 }
@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service.processor;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.gravitee.rest.api.model.DeploymentRequired;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.hash.Funnels.asOutputStream;
+
+/**
+ * The fields of an entity annotated with {@link DeploymentRequired}, resolved once into getters, in their
+ * declaration order.
+ *
+ * @author GraviteeSource Team
+ */
+final class DeploymentRequiredFields<T> {
+
+    private final List<MethodHandle> getters;
+
+    DeploymentRequiredFields(Class<T> type) {
+        final List<MethodHandle> getters = new ArrayList<>();
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Field field : type.getDeclaredFields()) {
+            if (field.getAnnotation(DeploymentRequired.class) != null) {
+                // The field is a copy owned by this class, so it is left accessible
+                field.setAccessible(true);
+                try {
+                    getters.add(lookup.unreflectGetter(field));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Unable to read deployment required field " + field.getName(), e);
+                }
+            }
+        }
+        this.getters = Collections.unmodifiableList(getters);
+    }
+
+    /**
+     * @return the values of the fields of the given entity, in their declaration order.
+     */
+    List<Object> values(T entity) {
+        final List<Object> values = new ArrayList<>(getters.size());
+        for (MethodHandle getter : getters) {
+            try {
+                values.add(getter.invoke(entity));
+            } catch (Throwable t) {
+                throw new IllegalStateException("Unable to read deployment required fields", t);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Compute the SHA-256 digest of the JSON representation of the fields of the given entity. The JSON is written
+     * straight into the digest, so that it is never held in memory.
+     *
+     * @param writer the writer giving the canonical representation of the fields
+     */
+    String digest(ObjectWriter writer, T entity) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        try (OutputStream out = asOutputStream(hasher)) {
+            writer.writeValue(out, values(entity));
+        }
+        return hasher.hash().toString();
+    }
+}
@@ -17,7 +17,6 @@ package io.gravitee.rest.api.service.processor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.gravitee.rest.api.model.DeploymentRequired;
 import io.gravitee.rest.api.model.PlanEntity;
 
 import org.slf4j.Logger;
@@ -25,10 +24,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
@@ -38,31 +33,15 @@ public class PlanSynchronizationProcessor {
 
     private final Logger LOGGER = LoggerFactory.getLogger(PlanSynchronizationProcessor.class);
 
+    private static final DeploymentRequiredFields<PlanEntity> REQUIRED_FIELDS = new DeploymentRequiredFields<>(PlanEntity.class);
+
     @Autowired
     private ObjectMapper objectMapper;
 
     public boolean processCheckSynchronization(PlanEntity deployedPlan, PlanEntity planToDeploy) {
-        Class<PlanEntity> cl = PlanEntity.class;
-        List<Object> requiredFieldsDeployedPlan = new ArrayList<>();
-        List<Object> requiredFieldsPlanToDeploy = new ArrayList<>();
-        for (Field f : cl.getDeclaredFields()) {
-            if (f.getAnnotation(DeploymentRequired.class) != null) {
-                boolean previousAccessibleState = f.isAccessible();
-                f.setAccessible(true);
-                try {
-                    requiredFieldsDeployedPlan.add(f.get(deployedPlan));
-                    requiredFieldsPlanToDeploy.add(f.get(planToDeploy));
-                } catch (Exception e) {
-                    LOGGER.error("Error access Plan required deployment fields", e);
-                } finally {
-                    f.setAccessible(previousAccessibleState);
-                }
-            }
-        }
-
         try {
-            String requiredFieldsDeployedPlanDefinition = objectMapper.writeValueAsString(requiredFieldsDeployedPlan);
-            String requiredFieldsPlanToDeployDefinition = objectMapper.writeValueAsString(requiredFieldsPlanToDeploy);
+            String requiredFieldsDeployedPlanDefinition = objectMapper.writeValueAsString(REQUIRED_FIELDS.values(deployedPlan));
+            String requiredFieldsPlanToDeployDefinition = objectMapper.writeValueAsString(REQUIRED_FIELDS.values(planToDeploy));
 
             return requiredFieldsDeployedPlanDefinition.equals(requiredFieldsPlanToDeployDefinition);
         } catch (Exception e) {
@@ -0,0 +1,271 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service.vertx;
+
+import io.gravitee.rest.api.service.metrics.MetricsProvider;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.net.ProxyOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-lived HTTP clients shared by the outbound calls (fetchers, imports by URL, webhooks, ...), one per target
+ * origin and proxy settings, so that connections are kept alive and reused between calls.
+ *
+ * A client has to be acquired before sending a request and released once the response has been handled. Clients
+ * which have not been used for <code>httpClient.pool.idleTimeout</code> seconds are closed. The request counters of
+ * each origin are reported by the {@link io.gravitee.rest.api.service.metrics.MetricsReporter}.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class HttpClientPool implements InitializingBean, DisposableBean, MetricsProvider {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(HttpClientPool.class);
+
+    private static final String HTTPS_SCHEME = "https";
+
+    @Value("${httpClient.timeout:10000}")
+    private int httpClientTimeout;
+    @Value("${httpClient.pool.maxSize:10}")
+    private int maxPoolSize;
+    @Value("${httpClient.pool.keepAliveTimeout:60}")
+    private int keepAliveTimeout;
+    @Value("${httpClient.pool.idleTimeout:300}")
+    private long idleTimeout;
+    @Value("${httpClient.http2.enabled:false}")
+    private boolean http2Enabled;
+
+    @Autowired
+    private Vertx vertx;
+
+    private final Map<String, Origin> origins = new ConcurrentHashMap<>();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private long evictionTimerId = -1;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (idleTimeout > 0) {
+            evictionTimerId = vertx.setPeriodic(TimeUnit.SECONDS.toMillis(idleTimeout), timerId -> evictIdleClients());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (evictionTimerId != -1) {
+            vertx.cancelTimer(evictionTimerId);
+        }
+        origins.keySet().forEach(key -> origins.computeIfPresent(key, (k, origin) -> {
+            origin.close();
+            return null;
+        }));
+    }
+
+    /**
+     * Acquire the client to use to call the given URI.
+     *
+     * @param uri the URI to call
+     * @param proxyOptions the proxy to go through, or <code>null</code>
+     * @return the origin holding the client. It must be given back to {@link #release(Origin, boolean)} once the
+     * response has been handled.
+     */
+    public Origin acquire(URI uri, ProxyOptions proxyOptions) {
+        final boolean ssl = HTTPS_SCHEME.equalsIgnoreCase(uri.getScheme());
+        final int port = uri.getPort() != -1 ? uri.getPort() : (ssl ? 443 : 80);
+        final String name = uri.getScheme().toLowerCase() + "://" + uri.getHost() + ':' + port;
+
+        return origins.compute(key(name, proxyOptions), (key, origin) -> {
+            if (origin == null) {
+                LOGGER.debug("Create HTTP client for {}", name);
+                origin = new Origin(key, name, uri.getHost(), port, vertx.createHttpClient(options(ssl, proxyOptions)));
+            }
+            origin.inFlight.incrementAndGet();
+            origin.requests.incrementAndGet();
+            origin.lastUsedAt = System.currentTimeMillis();
+            return origin;
+        });
+    }
+
+    /**
+     * Give back a client acquired by {@link #acquire(URI, ProxyOptions)}.
+     *
+     * @param origin the origin holding the client
+     * @param failed <code>true</code> if the request failed before getting a response (connection refused, timeout,
+     * ...). The client is then no more given to new requests and is closed once its pending requests are done.
+     */
+    public void release(Origin origin, boolean failed) {
+        origin.lastUsedAt = System.currentTimeMillis();
+        if (failed) {
+            origin.failures.incrementAndGet();
+            if (origins.remove(origin.key, origin)) {
+                evictions.incrementAndGet();
+                LOGGER.debug("Evict HTTP client for {} after a failed request", origin.name);
+                origin.evicted = true;
+            }
+        }
+        if (origin.inFlight.decrementAndGet() == 0 && origin.evicted) {
+            origin.close();
+        }
+    }
+
+    /**
+     * @return the origins currently having an open client, with their usage counters.
+     */
+    public Collection<Origin> getOrigins() {
+        return new ArrayList<>(origins.values());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "HTTP client pool";
+    }
+
+    /**
+     * The in-flight, total and failed requests of each origin having an open client, along with the number of clients
+     * evicted after a failed request.
+     */
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new TreeMap<>();
+        origins.values().forEach(origin -> metrics.put(origin.key,
+                "inFlight=" + origin.getInFlight() + ", requests=" + origin.getRequests() + ", failures=" + origin.getFailures()));
+        metrics.put("evictions", evictions.get());
+        return metrics;
+    }
+
+    private HttpClientOptions options(boolean ssl, ProxyOptions proxyOptions) {
+        final HttpClientOptions options = new HttpClientOptions()
+                .setSsl(ssl)
+                .setTrustAll(true)
+                .setMaxPoolSize(maxPoolSize)
+                .setKeepAlive(true)
+                .setKeepAliveTimeout(keepAliveTimeout)
+                .setTcpKeepAlive(true)
+                .setConnectTimeout(httpClientTimeout);
+
+        // HTTP/2 is only negotiated through ALPN, so plain HTTP endpoints are not asked for an upgrade
+        if (http2Enabled && ssl) {
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setUseAlpn(true)
+                    .setHttp2MaxPoolSize(maxPoolSize);
+        }
+
+        if (proxyOptions != null) {
+            options.setProxyOptions(proxyOptions);
+        }
+
+        return options;
+    }
+
+    private void evictIdleClients() {
+        final long idleSince = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(idleTimeout);
+        origins.keySet().forEach(key -> origins.computeIfPresent(key, (k, origin) -> {
+            if (origin.inFlight.get() == 0 && origin.lastUsedAt < idleSince) {
+                LOGGER.debug("Close idle HTTP client for {} after {} requests ({} failed)",
+                        origin.name, origin.requests.get(), origin.failures.get());
+                origin.close();
+                return null;
+            }
+            return origin;
+        }));
+    }
+
+    private static String key(String name, ProxyOptions proxyOptions) {
+        if (proxyOptions == null) {
+            return name;
+        }
+        return name + '|' + proxyOptions.getType() + "://" + proxyOptions.getUsername() + '@'
+                + proxyOptions.getHost() + ':' + proxyOptions.getPort();
+    }
+
+    public static class Origin {
+
+        private final String key;
+        private final String name;
+        private final String host;
+        private final int port;
+        private final HttpClient client;
+
+        private final AtomicLong inFlight = new AtomicLong();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile long lastUsedAt;
+        private volatile boolean evicted;
+
+        private Origin(String key, String name, String host, int port, HttpClient client) {
+            this.key = key;
+            this.name = name;
+            this.host = host;
+            this.port = port;
+            this.client = client;
+        }
+
+        private void close() {
+            try {
+                client.close();
+            } catch (IllegalStateException ise) {
+                // Do not take care about exception when closing client
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public HttpClient getClient() {
+            return client;
+        }
+
+        public long getInFlight() {
+            return inFlight.get();
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.rest.api.service.impl.definition.ApiDefinitionCache;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ApiDefinitionCacheTest {
+
+    private static final String DEFINITION = "{\"id\":\"my-api\",\"name\":\"my-api\",\"version\":\"1\"," +
+            "\"proxy\":{\"context_path\":\"/test\",\"endpoints\":[{\"name\":\"default\",\"target\":\"http://localhost\"}]}}";
+
+    private ApiDefinitionCache cache;
+
+    private Api api;
+
+    @Before
+    public void init() {
+        cache = new ApiDefinitionCache(new GraviteeMapper());
+
+        api = new Api();
+        api.setId("my-api");
+        api.setUpdatedAt(new Date(1));
+        api.setDefinition(DEFINITION);
+    }
+
+    @Test
+    public void shouldParseDefinitionOnce() throws IOException {
+        final io.gravitee.definition.model.Api first = cache.get(api);
+        final io.gravitee.definition.model.Api second = cache.get(api);
+
+        assertEquals("/test", first.getProxy().getVirtualHosts().get(0).getPath());
+        assertEquals("/test", second.getProxy().getVirtualHosts().get(0).getPath());
+        assertNotSame(first, second);
+        assertNotSame(first.getProxy(), second.getProxy());
+        assertEquals(1, cache.getParsed());
+        assertEquals(1, cache.getReused());
+    }
+
+    @Test
+    public void shouldParseUpdatedDefinition() throws IOException {
+        cache.get(api);
+
+        api.setUpdatedAt(new Date(2));
+        api.setDefinition(DEFINITION.replace("/test", "/updated"));
+
+        assertEquals("/updated", cache.get(api).getProxy().getVirtualHosts().get(0).getPath());
+        assertEquals(2, cache.getParsed());
+    }
+
+    @Test
+    public void shouldParseDefinitionChangedWithoutUpdateDate() throws IOException {
+        cache.get(api);
+
+        api.setDefinition(DEFINITION.replace("/test", "/updated"));
+
+        assertEquals("/updated", cache.get(api).getProxy().getVirtualHosts().get(0).getPath());
+        assertEquals(2, cache.getParsed());
+        assertEquals(0, cache.getReused());
+    }
+
+    @Test
+    public void shouldNotReadMissingDefinition() throws IOException {
+        api.setDefinition(null);
+
+        assertNull(cache.get(api));
+    }
+}
@@ -68,6 +68,7 @@ public class ApiService_CreateTest {
     private MembershipService membershipService;
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
+
     @Mock
     private NewApiEntity newApi;
     @Mock
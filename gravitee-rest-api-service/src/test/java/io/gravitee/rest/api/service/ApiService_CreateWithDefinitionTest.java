@@ -27,6 +27,8 @@ import io.gravitee.rest.api.model.api.ApiEntity;
 import io.gravitee.rest.api.model.permissions.RoleScope;
 import io.gravitee.rest.api.model.permissions.SystemRole;
 import io.gravitee.rest.api.service.impl.ApiServiceImpl;
+import io.gravitee.rest.api.service.impl.definition.ApiDefinitionCache;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
 import io.gravitee.rest.api.service.search.SearchEngineService;
 import io.gravitee.rest.api.service.spring.ServiceConfiguration;
 import org.junit.AfterClass;
@@ -64,12 +66,18 @@ public class ApiService_CreateWithDefinitionTest {
     @InjectMocks
     private ApiServiceImpl apiService = new ApiServiceImpl();
 
+    @Mock
+    private InlinePictureCache inlinePictureCache;
+
     @Mock
     private ApiRepository apiRepository;
     @Mock
     private MembershipRepository membershipRepository;
     @Spy
     private ObjectMapper objectMapper = (new ServiceConfiguration()).objectMapper();
+
+    @Spy
+    private ApiDefinitionCache apiDefinitionCache = new ApiDefinitionCache((new ServiceConfiguration()).objectMapper());
     @Mock
     private Api api;
     @Mock
@@ -35,6 +35,7 @@ import io.gravitee.rest.api.service.TopApiService;
 import io.gravitee.rest.api.service.exceptions.ApiNotDeletableException;
 import io.gravitee.rest.api.service.exceptions.ApiRunningStateException;
 import io.gravitee.rest.api.service.impl.ApiServiceImpl;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
 import io.gravitee.rest.api.service.jackson.filter.ApiPermissionFilter;
 
 import io.gravitee.rest.api.service.search.SearchEngineService;
@@ -64,8 +65,12 @@ public class ApiService_DeleteTest {
     @InjectMocks
     private ApiServiceImpl apiService = new ApiServiceImpl();
 
+    @Mock
+    private InlinePictureCache inlinePictureCache;
+
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
+
     @Mock
     private ApiRepository apiRepository;
     @Mock
@@ -74,6 +74,7 @@ public class ApiService_ExportAsJsonTest {
     private MembershipRepository membershipRepository;
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
+
     @Mock
     private MembershipService membershipService;
     @Mock
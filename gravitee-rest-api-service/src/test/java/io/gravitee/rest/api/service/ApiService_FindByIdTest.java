@@ -19,9 +19,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ser.PropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.model.Workflow;
 import io.gravitee.rest.api.model.MemberEntity;
 import io.gravitee.rest.api.model.MembershipEntity;
 import io.gravitee.rest.api.model.MembershipReferenceType;
+import io.gravitee.rest.api.model.UserEntity;
+import io.gravitee.rest.api.model.parameters.Key;
 import io.gravitee.rest.api.model.api.ApiEntity;
 import io.gravitee.rest.api.service.exceptions.ApiNotFoundException;
 import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
@@ -39,9 +44,15 @@ import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.Optional;
 
+import static io.gravitee.rest.api.model.WorkflowReferenceType.API;
+import static io.gravitee.rest.api.model.WorkflowType.REVIEW;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 /**
@@ -62,6 +73,7 @@ public class ApiService_FindByIdTest {
     private MembershipService membershipService;
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
+
     @Mock
     private Api api;
     @Mock
@@ -72,6 +84,8 @@ public class ApiService_FindByIdTest {
     private EntrypointService entrypointService;
     @Mock
     private CategoryService categoryService;
+    @Mock
+    private WorkflowService workflowService;
 
     @Before
     public void setUp() {
@@ -107,4 +121,26 @@ public class ApiService_FindByIdTest {
 
         apiService.findById(API_ID);
     }
+
+    @Test
+    public void shouldGetSameEntityTagFromIdAndFoundApi() throws TechnicalException {
+        api = new Api();
+        api.setId(API_ID);
+        api.setUpdatedAt(new Date(1000));
+
+        when(apiRepository.findById(API_ID)).thenReturn(Optional.of(api));
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(api));
+        MembershipEntity po = new MembershipEntity();
+        po.setMemberId(USER_NAME);
+        when(membershipService.getPrimaryOwner(MembershipReferenceType.API, API_ID)).thenReturn(po);
+        UserEntity user = new UserEntity();
+        user.setId(USER_NAME);
+        when(userService.findById(USER_NAME)).thenReturn(user);
+        when(parameterService.findAsBoolean(Key.API_REVIEW_ENABLED)).thenReturn(true);
+        final Workflow workflow = new Workflow();
+        workflow.setState("IN_REVIEW");
+        when(workflowService.findByReferenceAndType(API, API_ID, REVIEW)).thenReturn(singletonList(workflow));
+
+        assertEquals(apiService.getEntityTag(API_ID), apiService.getEntityTag(apiService.findById(API_ID)));
+    }
 }
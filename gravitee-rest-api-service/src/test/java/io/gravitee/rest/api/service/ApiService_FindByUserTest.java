@@ -67,6 +67,7 @@ public class ApiService_FindByUserTest {
     private SubscriptionService subscriptionService;
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
+
     @Mock
     private Api api;
     @Mock
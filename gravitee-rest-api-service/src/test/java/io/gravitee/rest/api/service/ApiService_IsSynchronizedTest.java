@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.rest.api.model.*;
+import io.gravitee.rest.api.model.permissions.RoleScope;
+import io.gravitee.rest.api.model.permissions.SystemRole;
+import io.gravitee.rest.api.service.impl.ApiServiceImpl;
+import io.gravitee.rest.api.service.jackson.filter.ApiPermissionFilter;
+import io.gravitee.rest.api.service.processor.ApiSynchronizationProcessor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static io.gravitee.rest.api.model.EventType.PUBLISH_API;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiService_IsSynchronizedTest {
+
+    private static final String API_ID = "id-api";
+    private static final String USER_NAME = "myUser";
+    private static final String EVENT_ID = "id-event";
+    private static final String DEFINITION = "{\"id\": \"" + API_ID + "\",\"name\": \"api\",\"proxy\": {\"context_path\": \"/old\"} ,\"tags\": [\"public\"]}";
+    private static final String CHANGED_DEFINITION = "{\"id\": \"" + API_ID + "\",\"name\": \"api\",\"proxy\": {\"context_path\": \"/old\"} ,\"tags\": [\"private\"]}";
+
+    @InjectMocks
+    private ApiServiceImpl apiService = new ApiServiceImpl();
+
+    @Mock
+    private ApiRepository apiRepository;
+    @Mock
+    private EventService eventService;
+    @Mock
+    private PlanService planService;
+    @Mock
+    private RoleService roleService;
+    @Mock
+    private MembershipService membershipService;
+    @Mock
+    private UserService userService;
+    @Mock
+    private CategoryService categoryService;
+    @Mock
+    private ParameterService parameterService;
+    @Spy
+    private ObjectMapper objectMapper = new GraviteeMapper();
+
+    private Api api;
+
+    @Before
+    public void setUp() throws Exception {
+        objectMapper.setFilterProvider(new SimpleFilterProvider(Collections.singletonMap("apiMembershipTypeFilter", new ApiPermissionFilter())));
+
+        final ApiSynchronizationProcessor apiSynchronizationProcessor = new ApiSynchronizationProcessor();
+        ReflectionTestUtils.setField(apiSynchronizationProcessor, "objectMapper", objectMapper);
+        apiSynchronizationProcessor.afterPropertiesSet();
+        ReflectionTestUtils.setField(apiService, "apiSynchronizationProcessor", apiSynchronizationProcessor);
+
+        api = new Api();
+        api.setId(API_ID);
+        api.setDefinition(DEFINITION);
+        api.setUpdatedAt(new Date(1000));
+        api.setDeployedAt(api.getUpdatedAt());
+        when(apiRepository.findById(API_ID)).thenReturn(Optional.of(api));
+    }
+
+    @Test
+    public void shouldBeSynchronizedWithDeployedDigest() throws Exception {
+        mockLastEvent(deploy());
+
+        assertTrue(apiService.isSynchronized(API_ID));
+        verify(eventService, never()).findById(any());
+    }
+
+    @Test
+    public void shouldNotBeSynchronizedWhenDefinitionChanged() throws Exception {
+        mockLastEvent(deploy());
+
+        api.setDefinition(CHANGED_DEFINITION);
+        api.setUpdatedAt(new Date(api.getUpdatedAt().getTime() + 1000));
+
+        assertFalse(apiService.isSynchronized(API_ID));
+        verify(eventService, never()).findById(any());
+    }
+
+    @Test
+    public void shouldNotBeSynchronizedWhenDefinitionChangedWithSameUpdateDate() throws Exception {
+        mockLastEvent(deploy());
+        assertTrue(apiService.isSynchronized(API_ID));
+
+        // e.g. changed by another node without updating the date
+        api.setDefinition(CHANGED_DEFINITION);
+
+        assertFalse(apiService.isSynchronized(API_ID));
+    }
+
+    @Test
+    public void shouldCompareWithPayloadWhenEventHasNoDigest() throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(io.gravitee.repository.management.model.Event.EventProperties.API_ID.getValue(), API_ID);
+        mockLastEvent(properties);
+
+        final EventEntity deployedEvent = new EventEntity();
+        deployedEvent.setId(EVENT_ID);
+        deployedEvent.setPayload(objectMapper.writeValueAsString(api));
+        when(eventService.findById(EVENT_ID)).thenReturn(deployedEvent);
+
+        assertTrue(apiService.isSynchronized(API_ID));
+
+        api.setDefinition(CHANGED_DEFINITION);
+        api.setUpdatedAt(new Date(api.getUpdatedAt().getTime() + 1000));
+
+        assertFalse(apiService.isSynchronized(API_ID));
+    }
+
+    /**
+     * Deploys the API and returns the properties of the created event.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, String> deploy() throws Exception {
+        final RoleEntity poRole = new RoleEntity();
+        poRole.setId("po-role");
+        when(roleService.findByScopeAndName(RoleScope.API, SystemRole.PRIMARY_OWNER.name())).thenReturn(Optional.of(poRole));
+        final MemberEntity primaryOwner = new MemberEntity();
+        primaryOwner.setId(USER_NAME);
+        primaryOwner.setReferenceId(API_ID);
+        when(membershipService.getMembersByReferencesAndRole(eq(MembershipReferenceType.API), anyList(), eq("po-role")))
+                .thenReturn(Collections.singleton(primaryOwner));
+        when(apiRepository.update(any(Api.class))).then(returnsFirstArg());
+
+        apiService.deploy(API_ID, USER_NAME, PUBLISH_API);
+
+        final ArgumentCaptor<Map<String, String>> properties = ArgumentCaptor.forClass(Map.class);
+        verify(eventService).create(eq(PUBLISH_API), anyString(), properties.capture());
+        assertTrue(properties.getValue().containsKey("deployment_digest"));
+        return properties.getValue();
+    }
+
+    private void mockLastEvent(Map<String, String> properties) {
+        final EventEntity lastEvent = new EventEntity();
+        lastEvent.setId(EVENT_ID);
+        lastEvent.setType(PUBLISH_API);
+        lastEvent.setProperties(properties);
+        when(eventService.search(anyList(), anyMap(), anyLong(), anyLong(), anyInt(), anyInt(), eq(false)))
+                .thenReturn(new Page<>(Collections.singletonList(lastEvent), 0, 1, 1));
+    }
+}
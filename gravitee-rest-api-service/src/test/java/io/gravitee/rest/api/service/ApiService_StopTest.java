@@ -68,6 +68,7 @@ public class ApiService_StopTest {
     private MembershipService membershipService;
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
+
     @Mock
     private Api api;
     @Mock
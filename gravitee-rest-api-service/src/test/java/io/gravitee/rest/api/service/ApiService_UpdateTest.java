@@ -34,6 +34,7 @@ import io.gravitee.rest.api.model.permissions.RoleScope;
 import io.gravitee.rest.api.model.permissions.SystemRole;
 import io.gravitee.rest.api.service.exceptions.*;
 import io.gravitee.rest.api.service.impl.ApiServiceImpl;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
 import io.gravitee.rest.api.service.jackson.filter.ApiPermissionFilter;
 import io.gravitee.rest.api.service.search.SearchEngineService;
 import org.junit.AfterClass;
@@ -133,6 +134,9 @@ public class ApiService_UpdateTest {
     @InjectMocks
     private ApiServiceImpl apiService = new ApiServiceImpl();
 
+    @Mock
+    private InlinePictureCache inlinePictureCache;
+
     @Mock
     private ApiRepository apiRepository;
     @Mock
@@ -141,6 +145,7 @@ public class ApiService_UpdateTest {
     private RoleService roleService;
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
+
     @Mock
     private UpdateApiEntity existingApi;
     @Mock
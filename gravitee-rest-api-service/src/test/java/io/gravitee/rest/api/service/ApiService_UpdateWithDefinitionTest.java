@@ -28,6 +28,7 @@ import io.gravitee.rest.api.model.api.ApiEntity;
 import io.gravitee.rest.api.model.permissions.RoleScope;
 import io.gravitee.rest.api.model.permissions.SystemRole;
 import io.gravitee.rest.api.service.impl.ApiServiceImpl;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
 import io.gravitee.rest.api.service.search.SearchEngineService;
 import org.junit.AfterClass;
 import org.junit.Test;
@@ -66,10 +67,14 @@ public class ApiService_UpdateWithDefinitionTest {
     @InjectMocks
     private ApiServiceImpl apiService = new ApiServiceImpl();
 
+    @Mock
+    private InlinePictureCache inlinePictureCache;
+
     @Mock
     private ApiRepository apiRepository;
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
+
     @Mock
     private Api api;
     @Mock
@@ -33,6 +33,7 @@ import io.gravitee.rest.api.model.parameters.Key;
 import io.gravitee.rest.api.model.permissions.RoleScope;
 import io.gravitee.rest.api.model.permissions.SystemRole;
 import io.gravitee.rest.api.service.impl.ApiServiceImpl;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
 import io.gravitee.rest.api.service.jackson.filter.ApiPermissionFilter;
 import io.gravitee.rest.api.service.search.SearchEngineService;
 import org.junit.AfterClass;
@@ -74,6 +75,9 @@ public class ApiService_Update_DefaultLoggingMaxDurationTest {
     @InjectMocks
     private ApiServiceImpl apiService = new ApiServiceImpl();
 
+    @Mock
+    private InlinePictureCache inlinePictureCache;
+
     @Mock
     private ApiRepository apiRepository;
 
@@ -86,6 +90,7 @@ public class ApiService_Update_DefaultLoggingMaxDurationTest {
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
 
+
     @Mock
     private Api api;
 
@@ -76,6 +76,7 @@ public class ApiService_gRPC_ExportAsJsonTest {
     private MembershipRepository membershipRepository;
     @Spy
     private ObjectMapper objectMapper = new GraviteeMapper();
+
     @Mock
     private MembershipService membershipService;
     @Mock
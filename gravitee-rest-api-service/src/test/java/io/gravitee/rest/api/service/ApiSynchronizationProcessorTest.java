@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.rest.api.model.api.ApiEntity;
+import io.gravitee.rest.api.service.processor.ApiSynchronizationProcessor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiSynchronizationProcessorTest {
+
+    @InjectMocks
+    private ApiSynchronizationProcessor apiSynchronizationProcessor;
+
+    @Spy
+    private ObjectMapper objectMapper = new GraviteeMapper();
+
+    @Before
+    public void init() {
+        apiSynchronizationProcessor.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldBeSynchronizedWhenOnlyNotRequiredFieldsChange() {
+        final ApiEntity deployedApi = api("deployed", "tag");
+        final ApiEntity apiToDeploy = api("renamed", "tag");
+
+        assertTrue(apiSynchronizationProcessor.processCheckSynchronization(deployedApi, apiToDeploy));
+        assertEquals(apiSynchronizationProcessor.computeDeploymentDigest(deployedApi),
+                apiSynchronizationProcessor.computeDeploymentDigest(apiToDeploy));
+    }
+
+    @Test
+    public void shouldNotBeSynchronizedWhenRequiredFieldsChange() {
+        assertFalse(apiSynchronizationProcessor.processCheckSynchronization(api("api", "tag"), api("api", "other-tag")));
+    }
+
+    @Test
+    public void shouldComputeSameDigestWhateverTheMapOrder() {
+        final ApiEntity api = api("api", "tag");
+        final Map<String, io.gravitee.definition.model.Path> paths = new LinkedHashMap<>();
+        paths.put("/a", new io.gravitee.definition.model.Path());
+        paths.put("/b", new io.gravitee.definition.model.Path());
+        api.setPaths(paths);
+
+        final ApiEntity sameApi = api("api", "tag");
+        final Map<String, io.gravitee.definition.model.Path> reversedPaths = new LinkedHashMap<>();
+        reversedPaths.put("/b", new io.gravitee.definition.model.Path());
+        reversedPaths.put("/a", new io.gravitee.definition.model.Path());
+        sameApi.setPaths(reversedPaths);
+
+        assertEquals(apiSynchronizationProcessor.computeDeploymentDigest(api),
+                apiSynchronizationProcessor.computeDeploymentDigest(sameApi));
+    }
+
+    private static ApiEntity api(String name, String... tags) {
+        final ApiEntity api = new ApiEntity();
+        api.setName(name);
+        api.setTags(new HashSet<>(Arrays.asList(tags)));
+        api.setPaths(Collections.emptyMap());
+        return api;
+    }
+}
@@ -28,6 +28,7 @@ import io.gravitee.rest.api.service.AuditService;
 import io.gravitee.rest.api.service.SubscriptionService;
 import io.gravitee.rest.api.service.exceptions.ApplicationNotFoundException;
 import io.gravitee.rest.api.service.impl.ApplicationServiceImpl;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -54,6 +55,9 @@ public class ApplicationService_ArchiveTest {
     @InjectMocks
     private ApplicationServiceImpl applicationService = new ApplicationServiceImpl();
 
+    @Mock
+    private InlinePictureCache inlinePictureCache;
+
     @Mock
     private ApplicationRepository applicationRepository;
 
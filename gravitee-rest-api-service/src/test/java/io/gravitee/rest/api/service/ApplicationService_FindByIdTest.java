@@ -22,7 +22,9 @@ import io.gravitee.repository.management.model.ApplicationStatus;
 import io.gravitee.repository.management.model.ApplicationType;
 import io.gravitee.rest.api.model.ApplicationEntity;
 import io.gravitee.rest.api.model.MemberEntity;
+import io.gravitee.rest.api.model.MembershipEntity;
 import io.gravitee.rest.api.model.MembershipReferenceType;
+import io.gravitee.rest.api.model.UserEntity;
 import io.gravitee.rest.api.service.exceptions.ApplicationNotFoundException;
 import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
 import io.gravitee.rest.api.service.impl.ApplicationServiceImpl;
@@ -33,8 +35,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Date;
 import java.util.Optional;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -88,4 +92,37 @@ public class ApplicationService_FindByIdTest {
 
         applicationService.findById(APPLICATION_ID);
     }
+
+    @Test
+    public void shouldGetSameEntityTagFromIdAndFoundApplication() throws TechnicalException {
+        final Application app = newApplication();
+        when(applicationRepository.findById(APPLICATION_ID)).thenReturn(Optional.of(app));
+        final MembershipEntity primaryOwner = new MembershipEntity();
+        primaryOwner.setMemberId("user");
+        when(membershipService.getPrimaryOwner(MembershipReferenceType.APPLICATION, APPLICATION_ID)).thenReturn(primaryOwner);
+        final UserEntity user = new UserEntity();
+        user.setId("user");
+        when(userService.findById("user")).thenReturn(user);
+
+        assertEquals(applicationService.getEntityTag(APPLICATION_ID),
+                applicationService.getEntityTag(applicationService.findById(APPLICATION_ID)));
+    }
+
+    @Test
+    public void shouldGetSameEntityTagFromIdAndFoundApplicationWithoutPrimaryOwner() throws TechnicalException {
+        final Application app = newApplication();
+        when(applicationRepository.findById(APPLICATION_ID)).thenReturn(Optional.of(app));
+
+        assertEquals(applicationService.getEntityTag(APPLICATION_ID),
+                applicationService.getEntityTag(applicationService.findById(APPLICATION_ID)));
+    }
+
+    private Application newApplication() {
+        final Application app = new Application();
+        app.setId(APPLICATION_ID);
+        app.setStatus(ApplicationStatus.ACTIVE);
+        app.setType(ApplicationType.SIMPLE);
+        app.setUpdatedAt(new Date(1000));
+        return app;
+    }
 }
@@ -35,6 +35,7 @@ import io.gravitee.rest.api.service.exceptions.ApplicationNotFoundException;
 import io.gravitee.rest.api.service.exceptions.ClientIdAlreadyExistsException;
 import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
 import io.gravitee.rest.api.service.impl.ApplicationServiceImpl;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -69,6 +70,9 @@ public class ApplicationService_UpdateTest {
     @InjectMocks
     private ApplicationServiceImpl applicationService = new ApplicationServiceImpl();
 
+    @Mock
+    private InlinePictureCache inlinePictureCache;
+
     @Mock
     private ApplicationRepository applicationRepository;
 
@@ -34,6 +34,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -183,4 +184,23 @@ public class EmailNotifierServiceTest {
             verify(mockEmailService, never()).sendEmailNotification(any());
         }
     }
+
+    @Test
+    public void shouldSendAllConfigsInOneBatch() {
+        GenericNotificationConfig cfg1 = new GenericNotificationConfig();
+        cfg1.setConfig("test1@mail.com");
+        GenericNotificationConfig cfg2 = new GenericNotificationConfig();
+        cfg2.setConfig("test2@mail.com");
+        GenericNotificationConfig emptyCfg = new GenericNotificationConfig();
+        emptyCfg.setConfig("");
+
+        service.trigger(PortalHook.USER_REGISTERED, Arrays.asList(cfg1, emptyCfg, cfg2), Collections.emptyMap());
+
+        verify(mockEmailService, times(1)).sendAsyncEmailNotifications(argThat(notifications ->
+                notifications.size() == 2
+                        && notifications.get(0).getTo()[0].equals("test1@mail.com")
+                        && notifications.get(1).getTo()[0].equals("test2@mail.com")
+        ));
+        verify(mockEmailService, never()).sendAsyncEmailNotification(any());
+    }
 }
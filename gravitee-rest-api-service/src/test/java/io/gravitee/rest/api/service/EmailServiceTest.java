@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import freemarker.cache.StringTemplateLoader;
+import freemarker.template.Configuration;
+import io.gravitee.rest.api.service.impl.EmailServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class EmailServiceTest {
+
+    private static final String TEMPLATE = "notification.html";
+    private static final String OTHER_TEMPLATE = "other.html";
+
+    @InjectMocks
+    private EmailServiceImpl emailService = new EmailServiceImpl();
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Spy
+    private Configuration freemarkerConfiguration = configuration();
+
+    @Before
+    public void init() {
+        ReflectionTestUtils.setField(emailService, "enabled", true);
+        ReflectionTestUtils.setField(emailService, "batchSize", 50);
+        ReflectionTestUtils.setField(emailService, "subject", "[Gravitee.io] %s");
+        ReflectionTestUtils.setField(emailService, "defaultFrom", "noreply@gravitee.io");
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+    }
+
+    @Test
+    public void shouldRenderOncePerTemplate() throws Exception {
+        final Map<String, Object> params = Collections.singletonMap("name", "api");
+
+        emailService.sendAsyncEmailNotifications(Arrays.asList(
+                notification(TEMPLATE, params, "a@gravitee.io"),
+                notification(TEMPLATE, params, "b@gravitee.io"),
+                notification(OTHER_TEMPLATE, params, "c@gravitee.io"),
+                notification(TEMPLATE, params, "d@gravitee.io")));
+
+        verify(freemarkerConfiguration, times(1)).getTemplate(TEMPLATE);
+        verify(freemarkerConfiguration, times(1)).getTemplate(OTHER_TEMPLATE);
+    }
+
+    @Test
+    public void shouldSendNotificationsInOneBatch() {
+        final Map<String, Object> params = Collections.singletonMap("name", "api");
+
+        emailService.sendAsyncEmailNotifications(Arrays.asList(
+                notification(TEMPLATE, params, "a@gravitee.io"),
+                notification(TEMPLATE, params, "b@gravitee.io"),
+                notification(TEMPLATE, params, "c@gravitee.io")));
+
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        verify(mailSender, never()).send(any(MimeMessage.class));
+        assertEquals(3, emailService.getSentEmails());
+        assertEquals(0, emailService.getFailedEmails());
+    }
+
+    @Test
+    public void shouldSplitNotificationsInBatches() {
+        ReflectionTestUtils.setField(emailService, "batchSize", 2);
+        final Map<String, Object> params = Collections.singletonMap("name", "api");
+
+        emailService.sendAsyncEmailNotifications(Arrays.asList(
+                notification(TEMPLATE, params, "a@gravitee.io"),
+                notification(TEMPLATE, params, "b@gravitee.io"),
+                notification(TEMPLATE, params, "c@gravitee.io")));
+
+        verify(mailSender, times(2)).send(any(MimeMessage[].class));
+        assertEquals(3, emailService.getSentEmails());
+    }
+
+    @Test
+    public void shouldCountPartiallySentBatch() {
+        final Map<Object, Exception> failedMessages = new HashMap<>();
+        failedMessages.put(new Object(), new Exception("rejected"));
+        doThrow(new MailSendException(failedMessages)).when(mailSender).send(any(MimeMessage[].class));
+        final Map<String, Object> params = Collections.singletonMap("name", "api");
+
+        emailService.sendAsyncEmailNotifications(Arrays.asList(
+                notification(TEMPLATE, params, "a@gravitee.io"),
+                notification(TEMPLATE, params, "b@gravitee.io"),
+                notification(TEMPLATE, params, "c@gravitee.io")));
+
+        assertEquals(2, emailService.getSentEmails());
+        assertEquals(1, emailService.getFailedEmails());
+        assertEquals(2L, emailService.getMetrics().get("sent"));
+        assertEquals(1L, emailService.getMetrics().get("failed"));
+    }
+
+    private static EmailNotification notification(final String template, final Map<String, Object> params, final String to) {
+        final EmailNotification notification = new EmailNotification();
+        notification.setTemplate(template);
+        notification.setParams(params);
+        notification.setSubject("Notification");
+        notification.setTo(to);
+        return notification;
+    }
+
+    private static Configuration configuration() {
+        final StringTemplateLoader templateLoader = new StringTemplateLoader();
+        templateLoader.putTemplate(TEMPLATE, "<html><body>Hello ${name}</body></html>");
+        templateLoader.putTemplate(OTHER_TEMPLATE, "<html><body>Bye ${name}</body></html>");
+        final Configuration configuration = new Configuration(Configuration.VERSION_2_3_23);
+        configuration.setTemplateLoader(templateLoader);
+        return configuration;
+    }
+}
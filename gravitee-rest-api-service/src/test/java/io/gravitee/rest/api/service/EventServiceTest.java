@@ -24,6 +24,7 @@ import io.gravitee.repository.management.model.Event;
 import io.gravitee.repository.management.model.EventType;
 import io.gravitee.rest.api.model.EventEntity;
 import io.gravitee.rest.api.model.NewEventEntity;
+import io.gravitee.rest.api.model.UserEntity;
 import io.gravitee.rest.api.service.exceptions.EventNotFoundException;
 import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
 import io.gravitee.rest.api.service.impl.EventServiceImpl;
@@ -39,8 +40,8 @@ import java.util.*;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -330,6 +331,49 @@ public class EventServiceTest {
         assertEquals(3, page.getContent().size());
     }
 
+    @Test
+    public void shouldFilterEventsOfTheRepositoryPage() throws TechnicalException {
+        when(eventRepository.search(any(), any())).thenReturn(new Page<>(Arrays.asList(generateInstanceEvent("evt1", false),
+                generateInstanceEvent("evt2", true),
+                generateInstanceEvent("evt3", true),
+                generateInstanceEvent("evt4", false),
+                generateInstanceEvent("evt5", true)), 1,5,12));
+
+        Page<EventEntity> page = eventService.search(Arrays.asList(io.gravitee.rest.api.model.EventType.GATEWAY_STARTED),
+                Collections.EMPTY_MAP, 0, 0, 1, 5, evt -> evt,
+                evt -> evt.getType() == io.gravitee.rest.api.model.EventType.GATEWAY_STARTED);
+
+        assertEquals(3, page.getContent().size());
+        assertEquals(12, page.getTotalElements());
+        verify(eventRepository, times(1)).search(any(), argThat(pageable -> pageable.pageNumber() == 1 && pageable.pageSize() == 5));
+    }
+
+    @Test
+    public void shouldSearchWithoutPayloadAndResolveUsersAtOnce() throws TechnicalException {
+        when(event.getId()).thenReturn("event1");
+        when(event.getType()).thenReturn(EventType.PUBLISH_API);
+        when(event.getProperties()).thenReturn(EVENT_PROPERTIES);
+        when(event2.getId()).thenReturn("event2");
+        when(event2.getType()).thenReturn(EventType.PUBLISH_API);
+        when(event2.getProperties()).thenReturn(EVENT_PROPERTIES);
+        when(eventPage.getContent()).thenReturn(Arrays.asList(event, event2));
+        when(eventRepository.search(any(), any())).thenReturn(eventPage);
+
+        final UserEntity user = new UserEntity();
+        user.setId(EVENT_USERNAME);
+        when(userService.findByIds(Collections.singletonList(EVENT_USERNAME), false)).thenReturn(Collections.singleton(user));
+
+        Page<EventEntity> eventPageEntity = eventService.search(
+                Collections.singletonList(io.gravitee.rest.api.model.EventType.PUBLISH_API),
+                null, 0, 0, 0, 10, false);
+
+        assertNull(eventPageEntity.getContent().get(0).getPayload());
+        assertSame(user, eventPageEntity.getContent().get(0).getUser());
+        assertSame(user, eventPageEntity.getContent().get(1).getUser());
+        verify(event, never()).getPayload();
+        verify(userService, times(1)).findByIds(any(), anyBoolean());
+    }
+
     private Event generateInstanceEvent(String name, boolean isUnknown) {
         Event event = new Event();
         event.setId("evt1");
@@ -219,23 +219,10 @@ public class FilteringServiceTest {
 
     @Test
     public void shouldGetTrendingsApi() {
-
-        SubscriptionEntity subA1 = new SubscriptionEntity();
-        subA1.setApplication("A");
-        subA1.setApi("1");
-        SubscriptionEntity subA2 = new SubscriptionEntity();
-        subA2.setApplication("A");
-        subA2.setApi("2");
-        SubscriptionEntity subB1 = new SubscriptionEntity();
-        subB1.setApplication("B");
-        subB1.setApi("1");
-        SubscriptionEntity subC4 = new SubscriptionEntity();
-        subC4.setApplication("C");
-        subC4.setApi("4");
-        SubscriptionEntity subC8 = new SubscriptionEntity();
-        subC8.setApplication("C");
-        subC8.setApi("8");
-        doReturn(Arrays.asList(subC8, subA2, subB1, subC4, subA1)).when(subscriptionService).search(any());
+        Map<String, Long> subscriptionsCount = new HashMap<>();
+        subscriptionsCount.put("1", 2L);
+        subscriptionsCount.put("4", 1L);
+        doReturn(subscriptionsCount).when(subscriptionService).countByApis(any(), any());
 
         FilteredEntities<ApiEntity> apiEntityFilteredEntities = filteringService.filterApis(mockApis, FilteringService.FilterType.TRENDINGS, null);
 
@@ -285,17 +272,10 @@ public class FilteringServiceTest {
 
         Set<FilterableItem> mockApplications = new HashSet<>(Arrays.asList(applicationListItem1, applicationListItem2));
 
-        SubscriptionEntity subA1 = new SubscriptionEntity();
-        subA1.setApplication("A");
-        SubscriptionEntity subA2 = new SubscriptionEntity();
-        subA2.setApplication("A");
-        SubscriptionEntity subB1 = new SubscriptionEntity();
-        subB1.setApplication("B");
-        SubscriptionEntity subB2 = new SubscriptionEntity();
-        subB2.setApplication("B");
-        SubscriptionEntity subB3 = new SubscriptionEntity();
-        subB3.setApplication("B");
-        doReturn(Arrays.asList(subA1, subA2, subB1, subB2, subB3)).when(subscriptionService).search(any());
+        Map<String, Long> subscriptionsCount = new HashMap<>();
+        subscriptionsCount.put("A", 2L);
+        subscriptionsCount.put("B", 3L);
+        doReturn(subscriptionsCount).when(subscriptionService).countByApplications(any(), any());
 
         FilteredEntities<FilterableItem> applicationListItemFilteredEntities = filteringService.getEntitiesOrderByNumberOfSubscriptions(mockApplications, false, false);
 
@@ -328,27 +308,12 @@ public class FilteringServiceTest {
 
         Set<FilterableItem> mockApplications = new HashSet<>(Arrays.asList(applicationListItem1, applicationListItem2, applicationListItem3, applicationListItem4));
 
-        SubscriptionEntity subA1 = new SubscriptionEntity();
-        subA1.setApplication("A");
-        SubscriptionEntity subA2 = new SubscriptionEntity();
-        subA2.setApplication("A");
-        SubscriptionEntity subB1 = new SubscriptionEntity();
-        subB1.setApplication("B");
-        SubscriptionEntity subB2 = new SubscriptionEntity();
-        subB2.setApplication("B");
-        SubscriptionEntity subB3 = new SubscriptionEntity();
-        subB3.setApplication("B");
-        SubscriptionEntity subC1 = new SubscriptionEntity();
-        subC1.setApplication("C");
-        SubscriptionEntity subC2 = new SubscriptionEntity();
-        subC2.setApplication("C");
-        SubscriptionEntity subC3 = new SubscriptionEntity();
-        subC3.setApplication("C");
-        SubscriptionEntity subD1 = new SubscriptionEntity();
-        subD1.setApplication("D");
-        SubscriptionEntity subD2 = new SubscriptionEntity();
-        subD2.setApplication("D");
-        doReturn(Arrays.asList(subA1, subA2, subB1, subB2, subB3, subC1, subC2, subC3, subD1, subD2)).when(subscriptionService).search(any());
+        Map<String, Long> subscriptionsCount = new HashMap<>();
+        subscriptionsCount.put("A", 2L);
+        subscriptionsCount.put("B", 3L);
+        subscriptionsCount.put("C", 3L);
+        subscriptionsCount.put("D", 2L);
+        doReturn(subscriptionsCount).when(subscriptionService).countByApplications(any(), any());
 
         FilteredEntities<FilterableItem> applicationListItemFilteredEntities = filteringService.getEntitiesOrderByNumberOfSubscriptions(mockApplications, false, false);
 
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.ApplicationRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Application;
+import io.gravitee.repository.management.model.ApplicationStatus;
+import io.gravitee.rest.api.service.impl.GroupServiceImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GroupService_AssociateTest {
+
+    private static final String GROUP_ID = "my-group";
+
+    @InjectMocks
+    private GroupService groupService = new GroupServiceImpl();
+
+    @Mock
+    private ApiRepository apiRepository;
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Test
+    public void shouldAssociateApisNotInGroup() throws Exception {
+        final Api apiInGroup = new Api();
+        apiInGroup.setId("api-in-group");
+        apiInGroup.setGroups(new HashSet<>(Collections.singletonList(GROUP_ID)));
+        final Api lightApi = new Api();
+        lightApi.setId("api");
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(Arrays.asList(apiInGroup, lightApi));
+
+        final Api api = new Api();
+        api.setId("api");
+        api.setDefinition("{}");
+        when(apiRepository.search(new ApiCriteria.Builder().ids("api").build()))
+                .thenReturn(Collections.singletonList(api));
+
+        groupService.associate(GROUP_ID, "api");
+
+        assertTrue(api.getGroups().contains(GROUP_ID));
+        verify(apiRepository, times(1)).update(api);
+        verify(apiRepository, never()).update(apiInGroup);
+    }
+
+    @Test
+    public void shouldAssociateApplicationsNotInGroup() throws Exception {
+        final Application applicationInGroup = new Application();
+        applicationInGroup.setId("application-in-group");
+        applicationInGroup.setGroups(new HashSet<>(Collections.singletonList(GROUP_ID)));
+        final Application application = new Application();
+        application.setId("application");
+        when(applicationRepository.findAllByEnvironment(any(), eq(ApplicationStatus.ACTIVE)))
+                .thenReturn(new HashSet<>(Arrays.asList(applicationInGroup, application)));
+
+        groupService.associate(GROUP_ID, "application");
+
+        assertTrue(application.getGroups().contains(GROUP_ID));
+        verify(applicationRepository, times(1)).update(application);
+        verify(applicationRepository, never()).update(applicationInGroup);
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import io.gravitee.rest.api.service.vertx.HttpClientPool;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.net.ProxyOptions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HttpClientPoolTest {
+
+    private static final URI URI_1 = URI.create("http://localhost:8080/path");
+    private static final URI URI_2 = URI.create("http://localhost:8080/other/path");
+
+    @InjectMocks
+    private HttpClientPool httpClientPool = new HttpClientPool();
+
+    @Mock
+    private Vertx vertx;
+
+    @Before
+    public void init() {
+        ReflectionTestUtils.setField(httpClientPool, "maxPoolSize", 10);
+        ReflectionTestUtils.setField(httpClientPool, "keepAliveTimeout", 60);
+        ReflectionTestUtils.setField(httpClientPool, "idleTimeout", 300L);
+        lenient().when(vertx.createHttpClient(any(HttpClientOptions.class))).thenAnswer(invocation -> mock(HttpClient.class));
+    }
+
+    @Test
+    public void shouldReuseClientOfSameOrigin() {
+        final HttpClientPool.Origin origin = httpClientPool.acquire(URI_1, null);
+        httpClientPool.release(origin, false);
+        final HttpClientPool.Origin sameOrigin = httpClientPool.acquire(URI_2, null);
+
+        assertSame(origin, sameOrigin);
+        assertEquals("http://localhost:8080", origin.getName());
+        assertEquals("localhost", origin.getHost());
+        assertEquals(8080, origin.getPort());
+        verify(vertx, times(1)).createHttpClient(any(HttpClientOptions.class));
+    }
+
+    @Test
+    public void shouldNotShareClientBetweenOriginsAndProxies() {
+        final ProxyOptions proxyOptions = new ProxyOptions().setHost("proxy").setPort(3128);
+        final ProxyOptions otherProxyOptions = new ProxyOptions().setHost("other-proxy").setPort(3128);
+
+        final HttpClientPool.Origin origin = httpClientPool.acquire(URI_1, null);
+        final HttpClientPool.Origin otherPort = httpClientPool.acquire(URI.create("http://localhost:8081/path"), null);
+        final HttpClientPool.Origin otherScheme = httpClientPool.acquire(URI.create("https://localhost:8080/path"), null);
+        final HttpClientPool.Origin proxied = httpClientPool.acquire(URI_1, proxyOptions);
+        final HttpClientPool.Origin sameProxy = httpClientPool.acquire(URI_2, new ProxyOptions(proxyOptions));
+        final HttpClientPool.Origin otherProxy = httpClientPool.acquire(URI_1, otherProxyOptions);
+
+        assertNotSame(origin.getClient(), otherPort.getClient());
+        assertNotSame(origin.getClient(), otherScheme.getClient());
+        assertNotSame(origin.getClient(), proxied.getClient());
+        assertSame(proxied, sameProxy);
+        assertNotSame(proxied.getClient(), otherProxy.getClient());
+        verify(vertx, times(5)).createHttpClient(any(HttpClientOptions.class));
+    }
+
+    @Test
+    public void shouldUseDefaultPorts() {
+        assertEquals(80, httpClientPool.acquire(URI.create("http://localhost/path"), null).getPort());
+        assertEquals(443, httpClientPool.acquire(URI.create("https://localhost/path"), null).getPort());
+    }
+
+    @Test
+    public void shouldEvictClientAfterFailedRequest() {
+        final HttpClientPool.Origin origin = httpClientPool.acquire(URI_1, null);
+        httpClientPool.release(origin, true);
+
+        verify(origin.getClient()).close();
+        assertNotSame(origin, httpClientPool.acquire(URI_1, null));
+        verify(vertx, times(2)).createHttpClient(any(HttpClientOptions.class));
+    }
+
+    @Test
+    public void shouldCloseEvictedClientOncePendingRequestsAreDone() {
+        final HttpClientPool.Origin origin = httpClientPool.acquire(URI_1, null);
+        httpClientPool.acquire(URI_1, null);
+
+        httpClientPool.release(origin, true);
+        verify(origin.getClient(), never()).close();
+
+        httpClientPool.release(origin, false);
+        verify(origin.getClient()).close();
+    }
+
+    @Test
+    public void shouldCountRequestsByOrigin() {
+        final HttpClientPool.Origin origin = httpClientPool.acquire(URI_1, null);
+        httpClientPool.release(origin, false);
+        httpClientPool.acquire(URI_2, null);
+        final HttpClientPool.Origin failedOrigin = httpClientPool.acquire(URI.create("http://localhost:8081/path"), null);
+        httpClientPool.release(failedOrigin, true);
+
+        assertEquals(1, origin.getInFlight());
+        assertEquals(2, origin.getRequests());
+        assertEquals(0, origin.getFailures());
+        assertEquals(0, failedOrigin.getInFlight());
+        assertEquals(1, failedOrigin.getFailures());
+        assertEquals(singletonList(origin), new ArrayList<>(httpClientPool.getOrigins()));
+
+        final Map<String, Object> metrics = httpClientPool.getMetrics();
+        assertEquals("inFlight=1, requests=2, failures=0", metrics.get("http://localhost:8080"));
+        assertEquals(1L, metrics.get("evictions"));
+    }
+
+    @Test
+    public void shouldKeepClientAfterSuccessfulRequest() {
+        final HttpClientPool.Origin origin = httpClientPool.acquire(URI_1, null);
+        httpClientPool.release(origin, false);
+
+        verify(origin.getClient(), never()).close();
+        assertSame(origin, httpClientPool.acquire(URI_1, null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCloseIdleClients() {
+        httpClientPool.afterPropertiesSet();
+        final ArgumentCaptor<Handler<Long>> timer = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setPeriodic(eq(300000L), timer.capture());
+
+        final HttpClientPool.Origin idle = httpClientPool.acquire(URI_1, null);
+        httpClientPool.release(idle, false);
+        final HttpClientPool.Origin busy = httpClientPool.acquire(URI.create("http://localhost:8081/path"), null);
+        final HttpClientPool.Origin recent = httpClientPool.acquire(URI.create("http://localhost:8082/path"), null);
+        httpClientPool.release(recent, false);
+        ReflectionTestUtils.setField(idle, "lastUsedAt", 0L);
+        ReflectionTestUtils.setField(busy, "lastUsedAt", 0L);
+
+        timer.getValue().handle(1L);
+
+        verify(idle.getClient()).close();
+        verify(busy.getClient(), never()).close();
+        verify(recent.getClient(), never()).close();
+        assertNotSame(idle, httpClientPool.acquire(URI_1, null));
+        assertSame(recent, httpClientPool.acquire(URI.create("http://localhost:8082/path"), null));
+    }
+
+    @Test
+    public void shouldNotScheduleEvictionWithoutIdleTimeout() {
+        ReflectionTestUtils.setField(httpClientPool, "idleTimeout", 0L);
+        httpClientPool.afterPropertiesSet();
+
+        verify(vertx, never()).setPeriodic(anyLong(), any());
+    }
+
+    @Test
+    public void shouldCloseClientsOnDestroy() {
+        when(vertx.setPeriodic(anyLong(), any())).thenReturn(42L);
+        httpClientPool.afterPropertiesSet();
+        final HttpClientPool.Origin origin = httpClientPool.acquire(URI_1, null);
+
+        httpClientPool.destroy();
+
+        verify(vertx).cancelTimer(42L);
+        verify(origin.getClient()).close();
+    }
+
+    @Test
+    public void shouldEnableHttp2OnlyOverTls() {
+        ReflectionTestUtils.setField(httpClientPool, "http2Enabled", true);
+
+        httpClientPool.acquire(URI.create("https://localhost/path"), null);
+        httpClientPool.acquire(URI.create("http://localhost/path"), null);
+
+        final ArgumentCaptor<HttpClientOptions> options = ArgumentCaptor.forClass(HttpClientOptions.class);
+        verify(vertx, times(2)).createHttpClient(options.capture());
+        final HttpClientOptions tlsOptions = options.getAllValues().get(0);
+        assertTrue(tlsOptions.isSsl());
+        assertEquals(HttpVersion.HTTP_2, tlsOptions.getProtocolVersion());
+        assertTrue(tlsOptions.isUseAlpn());
+        final HttpClientOptions plainOptions = options.getAllValues().get(1);
+        assertFalse(plainOptions.isSsl());
+        assertEquals(HttpVersion.HTTP_1_1, plainOptions.getProtocolVersion());
+        assertFalse(plainOptions.isUseAlpn());
+    }
+
+    @Test
+    public void shouldNotEnableHttp2ByDefault() {
+        httpClientPool.acquire(URI.create("https://localhost/path"), null);
+
+        final ArgumentCaptor<HttpClientOptions> options = ArgumentCaptor.forClass(HttpClientOptions.class);
+        verify(vertx).createHttpClient(options.capture());
+        assertEquals(HttpVersion.HTTP_1_1, options.getValue().getProtocolVersion());
+        assertEquals(10, options.getValue().getMaxPoolSize());
+        assertTrue(options.getValue().isKeepAlive());
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import io.gravitee.rest.api.service.impl.HttpClientServiceImpl;
+import io.gravitee.rest.api.service.vertx.HttpClientPool;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.ConnectException;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HttpClientServiceTest {
+
+    private static final String URL = "http://localhost:8080/path";
+
+    @InjectMocks
+    private HttpClientServiceImpl httpClientService = new HttpClientServiceImpl();
+
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private HttpClient client;
+    @Mock
+    private HttpClientRequest request;
+
+    private HttpClientPool httpClientPool;
+
+    @Before
+    public void init() {
+        httpClientPool = new HttpClientPool();
+        ReflectionTestUtils.setField(httpClientPool, "vertx", vertx);
+        ReflectionTestUtils.setField(httpClientService, "httpClientPool", httpClientPool);
+        when(vertx.getOrCreateContext()).thenReturn(mock(Context.class));
+        when(vertx.createHttpClient(any(HttpClientOptions.class))).thenReturn(client);
+    }
+
+    @Test
+    public void shouldReleaseClientWhenRequestCannotBeSent() {
+        when(client.request(any(io.vertx.core.http.HttpMethod.class), anyInt(), anyString(), anyString(), any(Handler.class)))
+                .thenThrow(new IllegalStateException("Client is closed"));
+
+        try {
+            httpClientService.request(HttpMethod.GET, URL, null, null, false);
+            fail("The request should not be sent");
+        } catch (IllegalStateException ise) {
+            // expected
+        }
+
+        final HttpClientPool.Origin origin = httpClientPool.getOrigins().iterator().next();
+        assertEquals(0, origin.getInFlight());
+        assertEquals(1, origin.getRequests());
+        assertEquals(0, origin.getFailures());
+        verify(client, never()).close();
+    }
+
+    @Test
+    public void shouldReturnResponseBody() {
+        mockResponse(200, "content");
+
+        final Buffer buffer = httpClientService.request(HttpMethod.GET, URL, null, null, false);
+
+        assertEquals("content", buffer.toString());
+        final HttpClientPool.Origin origin = httpClientPool.getOrigins().iterator().next();
+        assertEquals(0, origin.getInFlight());
+        assertEquals(0, origin.getFailures());
+    }
+
+    @Test
+    public void shouldKeepClientAfterErrorStatus() {
+        mockResponse(500, "error");
+
+        try {
+            httpClientService.request(HttpMethod.GET, URL, null, null, false);
+            fail("An error status should fail the request");
+        } catch (TechnicalManagementException tme) {
+            // expected
+        }
+
+        final HttpClientPool.Origin origin = httpClientPool.getOrigins().iterator().next();
+        assertEquals(0, origin.getInFlight());
+        verify(client, never()).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldEvictClientAfterConnectionFailure() {
+        when(client.request(any(io.vertx.core.http.HttpMethod.class), anyInt(), anyString(), anyString(), any(Handler.class)))
+                .thenReturn(request);
+        final ArgumentCaptor<Handler<Throwable>> exceptionHandler = ArgumentCaptor.forClass(Handler.class);
+        when(request.exceptionHandler(exceptionHandler.capture())).thenReturn(request);
+        doAnswer(invocation -> {
+            exceptionHandler.getValue().handle(new ConnectException("Connection refused"));
+            return null;
+        }).when(request).end();
+
+        try {
+            httpClientService.request(HttpMethod.GET, URL, null, null, false);
+            fail("A connection failure should fail the request");
+        } catch (TechnicalManagementException tme) {
+            // expected
+        }
+
+        assertTrue(httpClientPool.getOrigins().isEmpty());
+        verify(client).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockResponse(int status, String body) {
+        when(client.request(any(io.vertx.core.http.HttpMethod.class), anyInt(), anyString(), anyString(), any(Handler.class)))
+                .thenReturn(request);
+        final ArgumentCaptor<Handler<HttpClientResponse>> responseHandler = ArgumentCaptor.forClass(Handler.class);
+        when(request.handler(responseHandler.capture())).thenReturn(request);
+        final HttpClientResponse response = mock(HttpClientResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.bodyHandler(any())).thenAnswer(invocation -> {
+            ((Handler<Buffer>) invocation.getArgument(0)).handle(Buffer.buffer(body));
+            return response;
+        });
+        doAnswer(invocation -> {
+            responseHandler.getValue().handle(response);
+            return null;
+        }).when(request).end();
+    }
+}
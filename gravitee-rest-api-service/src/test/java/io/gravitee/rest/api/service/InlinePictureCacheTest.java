@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import com.google.common.hash.Hashing;
+import io.gravitee.rest.api.model.InlinePictureEntity;
+import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import io.gravitee.rest.api.service.impl.picture.InlinePictureCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.gravitee.rest.api.service.impl.picture.InlinePictureCache.key;
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class InlinePictureCacheTest {
+
+    private static final String CONTENT = "picture";
+    private static final String DATA_URI = dataUri(CONTENT);
+
+    private InlinePictureCache cache;
+
+    private AtomicInteger loads;
+
+    @Before
+    public void init() {
+        cache = new InlinePictureCache();
+        cache.afterPropertiesSet();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void shouldDecodePictureOnce() {
+        final InlinePictureEntity first = cache.get(key("api", "my-api", "picture"), loader(DATA_URI));
+        final InlinePictureEntity second = cache.get(key("api", "my-api", "picture"), loader(DATA_URI));
+
+        assertEquals("image/png", first.getType());
+        assertArrayEquals(CONTENT.getBytes(StandardCharsets.UTF_8), first.getContent());
+        assertArrayEquals(first.getContent(), second.getContent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldNotShareCachedPicture() {
+        final InlinePictureEntity first = cache.get(key("api", "my-api", "picture"), loader(DATA_URI));
+        first.getContent()[0] = 0;
+        first.setType("image/gif");
+
+        final InlinePictureEntity second = cache.get(key("api", "my-api", "picture"), loader(DATA_URI));
+
+        assertNotSame(first, second);
+        assertEquals("image/png", second.getType());
+        assertArrayEquals(CONTENT.getBytes(StandardCharsets.UTF_8), second.getContent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldDecodeLineWrappedPicture() {
+        final String content = "a picture long enough for its base64 encoding to be wrapped on several lines";
+        final String wrapped = "data:image/png;base64," + Base64.getMimeEncoder(16, "\r\n".getBytes(StandardCharsets.UTF_8))
+                .encodeToString(content.getBytes(StandardCharsets.UTF_8));
+
+        final InlinePictureEntity picture = cache.get(key("api", "my-api", "picture"), loader(wrapped));
+
+        assertTrue(wrapped.contains("\r\n"));
+        assertArrayEquals(content.getBytes(StandardCharsets.UTF_8), picture.getContent());
+    }
+
+    @Test
+    public void shouldHashContent() {
+        final InlinePictureEntity picture = cache.get(key("api", "my-api", "picture"), loader(DATA_URI));
+        final InlinePictureEntity samePicture = cache.get(key("application", "my-app", "picture"), loader(DATA_URI));
+        final InlinePictureEntity otherPicture = cache.get(key("api", "my-api", "background"), loader(dataUri("other")));
+
+        assertEquals(Hashing.sha256().hashBytes(CONTENT.getBytes(StandardCharsets.UTF_8)).toString(), picture.getHash());
+        assertEquals(picture.getHash(), samePicture.getHash());
+        assertNotEquals(picture.getHash(), otherPicture.getHash());
+    }
+
+    @Test
+    public void shouldCacheMissingPicture() {
+        final InlinePictureEntity picture = cache.get(key("api", "my-api", "picture"), loader(null));
+        cache.get(key("api", "my-api", "picture"), loader(null));
+
+        assertNull(picture.getContent());
+        assertNull(picture.getHash());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldEvictPicturesOfReference() {
+        cache.get(key("api", "my-api", "picture"), loader(DATA_URI));
+        cache.get(key("api", "my-api", "background"), loader(DATA_URI));
+        cache.get(key("api", "other-api", "picture"), loader(DATA_URI));
+
+        cache.evict("api", "my-api");
+
+        cache.get(key("api", "my-api", "picture"), loader(DATA_URI));
+        cache.get(key("api", "my-api", "background"), loader(DATA_URI));
+        cache.get(key("api", "other-api", "picture"), loader(DATA_URI));
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    public void shouldNotKeepPicturesHeavierThanTheCache() {
+        cache = new InlinePictureCache();
+        ReflectionTestUtils.setField(cache, "maxSize", 4L);
+        cache.afterPropertiesSet();
+
+        cache.get(key("api", "my-api", "picture"), loader(DATA_URI));
+        cache.get(key("api", "my-api", "picture"), loader(DATA_URI));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test(expected = TechnicalManagementException.class)
+    public void shouldNotDecodeInvalidDataUri() {
+        cache.get(key("api", "my-api", "picture"), loader("not a data uri"));
+    }
+
+    @Test(expected = TechnicalManagementException.class)
+    public void shouldNotDecodeInvalidContent() {
+        cache.get(key("api", "my-api", "picture"), loader("data:image/png;base64,a"));
+    }
+
+    @Test
+    public void shouldLoadAgainAfterInvalidData() {
+        try {
+            cache.get(key("api", "my-api", "picture"), loader("not a data uri"));
+            fail("Invalid picture should not be decoded");
+        } catch (TechnicalManagementException tme) {
+            // expected
+        }
+
+        assertEquals("image/png", cache.get(key("api", "my-api", "picture"), loader(DATA_URI)).getType());
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<String> loader(String dataUri) {
+        return () -> {
+            loads.incrementAndGet();
+            return dataUri;
+        };
+    }
+
+    private static String dataUri(String content) {
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -15,27 +15,55 @@
  */
 package io.gravitee.rest.api.service;
 
-import io.gravitee.rest.api.model.InstanceListItem;
-import io.gravitee.rest.api.model.InstanceState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.rest.api.model.*;
 import io.gravitee.rest.api.service.impl.InstanceServiceImpl;
+import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Eric LELEU (eric.leleu at graviteesource.com)
  * @author GraviteeSource Team
  */
+@RunWith(MockitoJUnitRunner.class)
 public class InstanceServiceTest {
 
+    private static final long EXPIRE_AFTER = Duration.ofDays(7).getSeconds();
+
+    @InjectMocks
+    private InstanceServiceImpl instanceService = new InstanceServiceImpl();
+
+    @Mock
+    private EventService eventService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(instanceService, "unknownExpireAfterInSec", EXPIRE_AFTER);
+    }
+
     @Test
     public void expirePredicateShouldFilterOldUnknownState() {
         InstanceServiceImpl.ExpiredPredicate predicateDays = new InstanceServiceImpl.ExpiredPredicate(Duration.ofDays(7));
@@ -62,6 +90,63 @@ public class InstanceServiceTest {
         execFiltering(predicateSeconds, Stream.of(itemStarted, itemUnknownNotVisible, itemStopped, itemUnknownVisible));
     }
 
+    @Test
+    public void shouldSearchNotExpiredInstancesInRepository() {
+        final long minFrom = Instant.now().minusSeconds(EXPIRE_AFTER).toEpochMilli();
+        final Page<InstanceListItem> expected = new Page<>(Collections.emptyList(), 1, 0, 0);
+        when(eventService.search(eq(Collections.singletonList(EventType.GATEWAY_STARTED)), any(),
+                longThat(from -> from >= minFrom), longThat(to -> to > minFrom), eq(1), eq(10),
+                any(Function.class), any(Predicate.class))).thenReturn(expected);
+
+        final InstanceQuery query = new InstanceQuery();
+        query.setPage(1);
+        query.setSize(10);
+
+        assertSame(expected, instanceService.search(query));
+    }
+
+    @Test
+    public void shouldMergeStoppedAndNotExpiredInstances() {
+        final long minFrom = Instant.now().minusSeconds(EXPIRE_AFTER).toEpochMilli();
+        when(eventService.search(eq(Collections.singletonList(EventType.GATEWAY_STOPPED)), any(), eq(0L), eq(0L),
+                eq(0), eq(4), eq(true)))
+                .thenReturn(new Page<>(Collections.singletonList(instanceEvent("stopped-1", EventType.GATEWAY_STOPPED, 60)), 0, 1, 1));
+        when(eventService.search(eq(Collections.singletonList(EventType.GATEWAY_STARTED)), any(),
+                longThat(from -> from >= minFrom), longThat(to -> to > minFrom), eq(0), eq(4), eq(true)))
+                .thenReturn(new Page<>(Arrays.asList(instanceEvent("started-1", EventType.GATEWAY_STARTED, 30),
+                        instanceEvent("started-2", EventType.GATEWAY_STARTED, 120)), 0, 2, 2));
+
+        final InstanceQuery query = new InstanceQuery();
+        query.setIncludeStopped(true);
+        query.setPage(1);
+        query.setSize(2);
+
+        final Page<InstanceListItem> page = instanceService.search(query);
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        assertEquals("started-2", page.getContent().get(0).getId());
+    }
+
+    private EventEntity instanceEvent(String id, EventType type, long minutesAgo) {
+        final long updatedAt = Instant.now().minus(minutesAgo, ChronoUnit.MINUTES).toEpochMilli();
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("id", id);
+        properties.put("started_at", Long.toString(updatedAt));
+        properties.put("last_heartbeat_at", Long.toString(updatedAt));
+        if (type == EventType.GATEWAY_STOPPED) {
+            properties.put("stopped_at", Long.toString(updatedAt));
+        }
+
+        final EventEntity event = new EventEntity();
+        event.setId("evt-" + id);
+        event.setType(type);
+        event.setProperties(properties);
+        event.setPayload("{\"systemProperties\":{}}");
+        event.setUpdatedAt(new Date(updatedAt));
+        return event;
+    }
+
     private void execFiltering(InstanceServiceImpl.ExpiredPredicate predicateDays, Stream<InstanceListItem> stream) {
         List<InstanceListItem> items = stream.filter(predicateDays).collect(Collectors.toList());
         assertNotNull(items);
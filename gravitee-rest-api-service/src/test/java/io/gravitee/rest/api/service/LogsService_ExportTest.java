@@ -0,0 +1,219 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import io.gravitee.repository.analytics.query.tabular.TabularQuery;
+import io.gravitee.repository.analytics.query.tabular.TabularResponse;
+import io.gravitee.repository.log.api.LogRepository;
+import io.gravitee.repository.log.model.Log;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.ApplicationRepository;
+import io.gravitee.repository.management.api.PlanRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Application;
+import io.gravitee.repository.management.model.Plan;
+import io.gravitee.rest.api.model.analytics.query.LogQuery;
+import io.gravitee.rest.api.service.exceptions.InvalidDataException;
+import io.gravitee.rest.api.service.impl.LogsServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class LogsService_ExportTest {
+
+    private static final String API_ID = "my-api";
+    private static final int TOTAL_LOGS = 10000;
+
+    @InjectMocks
+    private LogsServiceImpl logsService = new LogsServiceImpl();
+
+    @Mock
+    private LogRepository logRepository;
+
+    @Mock
+    private ApiRepository apiRepository;
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private PlanRepository planRepository;
+
+    @Before
+    public void init() throws Exception {
+        // Logs are numbered by their position in the whole result, so that the exported range can be checked
+        lenient().when(logRepository.query(any(TabularQuery.class))).thenAnswer(invocation -> {
+            final TabularQuery query = invocation.getArgument(0);
+            final List<Log> logs = new ArrayList<>();
+            for (int i = (query.page() - 1) * query.size(); i < Math.min(query.page() * query.size(), TOTAL_LOGS); i++) {
+                final Log log = new Log();
+                log.setId("log-" + i);
+                log.setTimestamp(i);
+                log.setUri("/path");
+                log.setApi("api-" + (i % 2));
+                log.setApplication("application-" + (i % 2));
+                log.setPlan("plan-" + (i % 2));
+                logs.add(log);
+            }
+            final TabularResponse response = mock(TabularResponse.class);
+            when(response.getLogs()).thenReturn(logs);
+            return response;
+        });
+    }
+
+    @Test
+    public void shouldExportFirstPageByChunks() throws Exception {
+        final String[] lines = export(1, 1200);
+
+        assertEquals(1201, lines.length);
+        assertEquals("log-0", lines[1].split(";")[1]);
+        assertEquals("log-1199", lines[1200].split(";")[1]);
+        verifyQueries(new int[]{1, 2, 3}, 500);
+    }
+
+    @Test
+    public void shouldExportNextPageByChunks() throws Exception {
+        final String[] lines = export(2, 1000);
+
+        assertEquals(1001, lines.length);
+        assertEquals("log-1000", lines[1].split(";")[1]);
+        assertEquals("log-1999", lines[1000].split(";")[1]);
+        verifyQueries(new int[]{3, 4}, 500);
+    }
+
+    @Test
+    public void shouldExportPageNotAlignedOnChunks() throws Exception {
+        final String[] lines = export(2, 750);
+
+        assertEquals(751, lines.length);
+        assertEquals("log-750", lines[1].split(";")[1]);
+        assertEquals("log-1499", lines[750].split(";")[1]);
+        verifyQueries(new int[]{2}, 750);
+    }
+
+    @Test
+    public void shouldStopAtLastLog() throws Exception {
+        final String[] lines = export(9, 1200);
+
+        assertEquals(401, lines.length);
+        assertEquals("log-9600", lines[1].split(";")[1]);
+        assertEquals("log-9999", lines[400].split(";")[1]);
+        verify(logRepository, times(1)).query(any(TabularQuery.class));
+    }
+
+    @Test
+    public void shouldResolveMetadataByChunk() throws Exception {
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(Arrays.asList(api("api-0"), api("api-1")));
+        when(applicationRepository.findByIds(any())).thenReturn(Collections.singleton(application("application-0")));
+        when(planRepository.findByApi("api-0")).thenReturn(Collections.singleton(plan("plan-0")));
+        when(planRepository.findByApi("api-1")).thenReturn(Collections.emptySet());
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        logsService.exportPlatform(query(1, 1200), output);
+        final String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split(System.lineSeparator());
+
+        assertEquals(1201, lines.length);
+        assertEquals("plan-0 name", lines[1].split(";")[7]);
+        assertEquals("api-0 name", lines[1].split(";")[8]);
+        assertEquals("application-0 name", lines[1].split(";")[9]);
+        assertEquals("Deleted plan", lines[2].split(";")[7]);
+        assertEquals("api-1 name", lines[2].split(";")[8]);
+        assertEquals("Deleted application", lines[2].split(";")[9]);
+        verify(logRepository, times(3)).query(any(TabularQuery.class));
+        verify(apiRepository, times(1)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+        verify(applicationRepository, times(1)).findByIds(any());
+        verify(planRepository, times(1)).findByApi("api-0");
+        verify(planRepository, times(1)).findByApi("api-1");
+    }
+
+    @Test(expected = InvalidDataException.class)
+    public void shouldNotExportEmptyPage() {
+        logsService.exportByApi(API_ID, query(1, 0), new ByteArrayOutputStream());
+    }
+
+    @Test(expected = InvalidDataException.class)
+    public void shouldNotExportPageBeforeFirstOne() {
+        logsService.exportByApi(API_ID, query(0, 10), new ByteArrayOutputStream());
+    }
+
+    private String[] export(int page, int size) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        logsService.exportByApi(API_ID, query(page, size), output);
+
+        return new String(output.toByteArray(), StandardCharsets.UTF_8).split(System.lineSeparator());
+    }
+
+    private LogQuery query(int page, int size) {
+        final LogQuery query = new LogQuery();
+        query.setPage(page);
+        query.setSize(size);
+        query.setFrom(0);
+        query.setTo(1);
+        return query;
+    }
+
+    private Api api(String id) {
+        final Api api = new Api();
+        api.setId(id);
+        api.setName(id + " name");
+        return api;
+    }
+
+    private Application application(String id) {
+        final Application application = new Application();
+        application.setId(id);
+        application.setName(id + " name");
+        return application;
+    }
+
+    private Plan plan(String id) {
+        final Plan plan = new Plan();
+        plan.setId(id);
+        plan.setName(id + " name");
+        return plan;
+    }
+
+    private void verifyQueries(int[] pages, int size) throws Exception {
+        final ArgumentCaptor<TabularQuery> queries = ArgumentCaptor.forClass(TabularQuery.class);
+        verify(logRepository, times(pages.length)).query(queries.capture());
+        for (int i = 0; i < pages.length; i++) {
+            assertEquals(pages[i], queries.getAllValues().get(i).page());
+            assertEquals(size, queries.getAllValues().get(i).size());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import io.gravitee.rest.api.service.metrics.MetricsProvider;
+import io.gravitee.rest.api.service.metrics.MetricsReporter;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MetricsReporterTest {
+
+    @InjectMocks
+    private MetricsReporter metricsReporter = new MetricsReporter();
+
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private MetricsProvider provider;
+    @Mock
+    private MetricsProvider registeredProvider;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReportProvidersPeriodically() {
+        ReflectionTestUtils.setField(metricsReporter, "interval", 60L);
+        ReflectionTestUtils.setField(metricsReporter, "providers", Collections.singletonList(provider));
+        when(provider.getMetrics()).thenReturn(Collections.singletonMap("requests", 1L));
+        when(registeredProvider.getMetrics()).thenReturn(Collections.singletonMap("deliveries", 2L));
+
+        metricsReporter.afterPropertiesSet();
+        metricsReporter.register(registeredProvider);
+        final ArgumentCaptor<Handler<Long>> timer = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setPeriodic(eq(60000L), timer.capture());
+        timer.getValue().handle(1L);
+
+        verify(provider).getMetrics();
+        verify(registeredProvider).getMetrics();
+    }
+
+    @Test
+    public void shouldNotReportUnregisteredProvider() {
+        metricsReporter.register(registeredProvider);
+        metricsReporter.unregister(registeredProvider);
+
+        metricsReporter.report();
+
+        verify(registeredProvider, never()).getMetrics();
+    }
+
+    @Test
+    public void shouldKeepReportingAfterProviderFailure() {
+        ReflectionTestUtils.setField(metricsReporter, "providers", Collections.singletonList(provider));
+        metricsReporter.afterPropertiesSet();
+        metricsReporter.register(registeredProvider);
+        when(provider.getMetrics()).thenThrow(new IllegalStateException("closed"));
+        when(registeredProvider.getMetrics()).thenReturn(Collections.emptyMap());
+
+        metricsReporter.report();
+
+        verify(registeredProvider).getMetrics();
+    }
+
+    @Test
+    public void shouldNotScheduleReportWithoutInterval() {
+        ReflectionTestUtils.setField(metricsReporter, "interval", 0L);
+
+        metricsReporter.afterPropertiesSet();
+
+        verify(vertx, never()).setPeriodic(anyLong(), any());
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import io.gravitee.definition.model.Path;
+import io.gravitee.policy.api.swagger.Policy;
+import io.gravitee.rest.api.model.api.SwaggerApiEntity;
+import io.gravitee.rest.api.service.impl.swagger.converter.api.OAIToAPIConverter;
+import io.gravitee.rest.api.service.impl.swagger.visitor.v3.OAIOperationVisitor;
+import io.gravitee.rest.api.service.validator.PolicyCleaner;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class OAIToAPIConverterTest {
+
+    private static final int PATHS = 120;
+
+    private static final String CONFIGURATION = "{\"status\":200,\"content\":null}";
+
+    private ExecutorService executor;
+
+    private final OAIOperationVisitor<Optional<Policy>> visitor = (descriptor, operation) -> {
+        Policy policy = new Policy();
+        policy.setName("mock");
+        policy.setConfiguration(CONFIGURATION);
+        return Optional.of(policy);
+    };
+
+    @Before
+    public void init() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldVisitPathsInParallelInDescriptorOrder() {
+        final OpenAPI oai = openAPI();
+
+        final SwaggerApiEntity sequential = new OAIToAPIConverter(Collections.singletonList(visitor), null, null).visit(oai);
+        final SwaggerApiEntity parallel = new OAIToAPIConverter(Collections.singletonList(visitor), null, null, executor).visit(oai);
+
+        final List<String> expectedPaths = new ArrayList<>(oai.getPaths().keySet());
+        expectedPaths.replaceAll(path -> path.replace("{id}", ":id"));
+        assertEquals(expectedPaths, new ArrayList<>(sequential.getPaths().keySet()));
+        assertEquals(expectedPaths, new ArrayList<>(parallel.getPaths().keySet()));
+
+        for (String pathName : expectedPaths) {
+            final Path path = parallel.getPaths().get(pathName);
+            assertEquals(2, path.getRules().size());
+            assertEquals("get" + pathName.hashCode(), path.getRules().get(0).getDescription());
+            assertEquals("post" + pathName.hashCode(), path.getRules().get(1).getDescription());
+            assertEquals(PolicyCleaner.clearNullValues(CONFIGURATION), path.getRules().get(0).getPolicy().getConfiguration());
+        }
+    }
+
+    @Test
+    public void shouldVisitPathsOnCopiesOfTheDescriptor() {
+        final OpenAPI oai = openAPI();
+        final Set<OpenAPI> descriptors = Collections.newSetFromMap(new IdentityHashMap<>());
+        final OAIOperationVisitor<Optional<Policy>> mutatingVisitor = (descriptor, operation) -> {
+            synchronized (descriptors) {
+                descriptors.add(descriptor);
+            }
+            operation.setDescription("visited");
+            return Optional.empty();
+        };
+
+        new OAIToAPIConverter(Collections.singletonList(mutatingVisitor), null, null, executor).visit(oai);
+
+        assertFalse(descriptors.contains(oai));
+        assertEquals(PATHS / 25 + (PATHS % 25 == 0 ? 0 : 1), descriptors.size());
+        oai.getPaths().values().forEach(pathItem ->
+                pathItem.readOperations().forEach(operation -> assertNull(operation.getDescription())));
+    }
+
+    @Test
+    public void shouldCancelRemainingPathsWhenOneFails() throws InterruptedException {
+        final ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        final OpenAPI oai = openAPI();
+        final String failingOperation = oai.getPaths().values().iterator().next().getGet().getOperationId();
+        final CountDownLatch never = new CountDownLatch(1);
+        final AtomicInteger visited = new AtomicInteger();
+        final OAIOperationVisitor<Optional<Policy>> failingVisitor = (descriptor, operation) -> {
+            if (failingOperation.equals(operation.getOperationId())) {
+                throw new IllegalStateException("invalid operation");
+            }
+            try {
+                never.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ie);
+            }
+            visited.incrementAndGet();
+            return Optional.empty();
+        };
+
+        try {
+            new OAIToAPIConverter(Collections.singletonList(failingVisitor), null, null, singleThread).visit(oai);
+            fail("The failure of a path should be rethrown");
+        } catch (IllegalStateException ise) {
+            assertEquals("invalid operation", ise.getMessage());
+        } finally {
+            singleThread.shutdown();
+        }
+
+        assertTrue(singleThread.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(0, visited.get());
+    }
+
+    private OpenAPI openAPI() {
+        final Paths paths = new Paths();
+        for (int i = 0; i < PATHS; i++) {
+            final String name = "/resources" + i + "/{id}";
+            final String pathName = name.replace("{id}", ":id");
+            paths.addPathItem(name, new PathItem()
+                    .get(new Operation().operationId("get" + pathName.hashCode()))
+                    .post(new Operation().operationId("post" + pathName.hashCode())));
+        }
+
+        final OpenAPI oai = new OpenAPI();
+        oai.setInfo(new Info().title("My API").version("1.0"));
+        oai.setPaths(paths);
+        oai.setServers(new ArrayList<>());
+        return oai;
+    }
+}
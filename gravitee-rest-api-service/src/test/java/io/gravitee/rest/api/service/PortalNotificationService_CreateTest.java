@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.PortalNotificationRepository;
+import io.gravitee.repository.management.model.PortalNotification;
+import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import io.gravitee.rest.api.service.impl.PortalNotificationServiceImpl;
+import io.gravitee.rest.api.service.notification.ApiHook;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.StringReader;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PortalNotificationService_CreateTest {
+
+    private static final String TEMPLATE = "title: API ${api} started\nmessage: The API ${api} has been started";
+
+    @InjectMocks
+    private PortalNotificationServiceImpl portalNotificationService = new PortalNotificationServiceImpl();
+
+    @Mock
+    private PortalNotificationRepository portalNotificationRepository;
+
+    @Mock
+    private Configuration freemarkerConfiguration;
+
+    @Before
+    public void init() throws Exception {
+        final Template template = new Template("API.API_STARTED.yml", new StringReader(TEMPLATE),
+                new Configuration(Configuration.VERSION_2_3_23));
+        when(freemarkerConfiguration.getTemplate(anyString())).thenReturn(template);
+    }
+
+    @Test
+    public void shouldCreateNotificationsByPages() throws Exception {
+        final List<String> users = users(1201);
+
+        portalNotificationService.createAsync(ApiHook.API_STARTED, users, Collections.singletonMap("api", "my-api"));
+
+        final List<List<PortalNotification>> pages = capturePages(3);
+        assertEquals(500, pages.get(0).size());
+        assertEquals(500, pages.get(1).size());
+        assertEquals(201, pages.get(2).size());
+
+        final Map<String, Integer> notificationsByUser = new HashMap<>();
+        final Set<String> ids = new HashSet<>();
+        pages.forEach(page -> page.forEach(notification -> {
+            notificationsByUser.merge(notification.getUser(), 1, Integer::sum);
+            ids.add(notification.getId());
+            assertEquals("API my-api started", notification.getTitle());
+            assertEquals("The API my-api has been started", notification.getMessage());
+        }));
+        assertEquals(users.size(), notificationsByUser.size());
+        users.forEach(user -> assertEquals(Integer.valueOf(1), notificationsByUser.get(user)));
+        assertEquals(users.size(), ids.size());
+    }
+
+    @Test
+    public void shouldCreateSinglePageForExactPageSize() throws Exception {
+        portalNotificationService.create(ApiHook.API_STARTED, users(500), Collections.singletonMap("api", "my-api"));
+
+        assertEquals(500, capturePages(1).get(0).size());
+    }
+
+    @Test
+    public void shouldNotCreateNotificationsWithoutUsers() throws Exception {
+        portalNotificationService.create(ApiHook.API_STARTED, Collections.emptyList(), Collections.singletonMap("api", "my-api"));
+
+        verify(portalNotificationRepository, never()).create(anyList());
+    }
+
+    @Test(expected = TechnicalManagementException.class)
+    public void shouldNotCreateNotificationsBecauseOfTechnicalException() throws Exception {
+        doThrow(TechnicalException.class).when(portalNotificationRepository).create(anyList());
+
+        portalNotificationService.create(ApiHook.API_STARTED, users(10), Collections.singletonMap("api", "my-api"));
+    }
+
+    private static List<String> users(int count) {
+        final List<String> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add("user-" + i);
+        }
+        return users;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<PortalNotification>> capturePages(int count) throws TechnicalException {
+        final ArgumentCaptor<List<PortalNotification>> pages = ArgumentCaptor.forClass(List.class);
+        verify(portalNotificationRepository, times(count)).create(pages.capture());
+        return pages.getAllValues();
+    }
+}
@@ -15,15 +15,27 @@
  */
 package io.gravitee.rest.api.service;
 
+import io.gravitee.common.data.domain.Page;
 import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.ApplicationRepository;
+import io.gravitee.repository.management.api.PlanRepository;
 import io.gravitee.repository.management.api.SubscriptionRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.api.search.Pageable;
 import io.gravitee.repository.management.api.search.SubscriptionCriteria;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Application;
+import io.gravitee.repository.management.model.Plan;
 import io.gravitee.repository.management.model.Subscription;
 import io.gravitee.rest.api.idp.api.authentication.UserDetails;
 import io.gravitee.rest.api.model.*;
 import io.gravitee.rest.api.model.api.ApiEntity;
 import io.gravitee.rest.api.model.application.ApplicationSettings;
 import io.gravitee.rest.api.model.application.OAuthClientSettings;
+import io.gravitee.rest.api.model.common.PageableImpl;
+import io.gravitee.rest.api.model.subscription.SubscriptionQuery;
 import io.gravitee.rest.api.service.exceptions.*;
 import io.gravitee.rest.api.service.impl.SubscriptionServiceImpl;
 import io.gravitee.rest.api.service.notification.ApiHook;
@@ -42,9 +54,15 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.util.Arrays.asList;
@@ -107,6 +125,12 @@ public class SubscriptionServiceTest {
     private ParameterService parameterService;
     @Mock
     private UserService userService;
+    @Mock
+    private ApplicationRepository applicationRepository;
+    @Mock
+    private PlanRepository planRepository;
+    @Mock
+    private ApiRepository apiRepository;
 
     @AfterClass
     public static void cleanSecurityContextHolder() {
@@ -222,6 +246,198 @@ public class SubscriptionServiceTest {
         subscriptionService.findByPlan(PLAN_ID);
     }
 
+    @Test
+    public void shouldCountByApis() throws TechnicalException {
+        when(subscriptionRepository.search(eq(new SubscriptionCriteria.Builder()
+                .apis(singleton(API_ID)).statuses(singleton(Subscription.Status.ACCEPTED)).build()), any(Pageable.class)))
+                .thenReturn(new Page<>(singletonList(new Subscription()), 0, 1, 42));
+        when(subscriptionRepository.search(eq(new SubscriptionCriteria.Builder()
+                .apis(singleton("unsubscribed-api")).statuses(singleton(Subscription.Status.ACCEPTED)).build()), any(Pageable.class)))
+                .thenReturn(new Page<>(Collections.emptyList(), 0, 0, 0));
+
+        Map<String, Long> counts = subscriptionService.countByApis(asList(API_ID, "unsubscribed-api", API_ID),
+                singleton(SubscriptionStatus.ACCEPTED));
+
+        assertEquals(1, counts.size());
+        assertEquals(Long.valueOf(42), counts.get(API_ID));
+        final ArgumentCaptor<Pageable> pageables = ArgumentCaptor.forClass(Pageable.class);
+        verify(subscriptionRepository, times(2)).search(any(SubscriptionCriteria.class), pageables.capture());
+        pageables.getAllValues().forEach(pageable -> assertEquals(1, pageable.pageSize()));
+        verify(subscriptionRepository, never()).search(any(SubscriptionCriteria.class));
+    }
+
+    @Test
+    public void shouldCountByApplications() throws TechnicalException {
+        when(subscriptionRepository.search(eq(new SubscriptionCriteria.Builder()
+                .applications(singleton(APPLICATION_ID)).build()), any(Pageable.class)))
+                .thenReturn(new Page<>(singletonList(new Subscription()), 0, 1, 3));
+        when(subscriptionRepository.search(eq(new SubscriptionCriteria.Builder()
+                .applications(singleton("other-application")).build()), any(Pageable.class)))
+                .thenReturn(new Page<>(singletonList(new Subscription()), 0, 1, 1));
+
+        Map<String, Long> counts = subscriptionService.countByApplications(asList(APPLICATION_ID, "other-application"), null);
+
+        assertEquals(2, counts.size());
+        assertEquals(Long.valueOf(3), counts.get(APPLICATION_ID));
+        assertEquals(Long.valueOf(1), counts.get("other-application"));
+        verify(subscriptionRepository, never()).search(any(SubscriptionCriteria.class));
+    }
+
+    @Test
+    public void shouldNotCountWithoutIds() throws TechnicalException {
+        assertTrue(subscriptionService.countByApis(Collections.emptyList(), null).isEmpty());
+        assertTrue(subscriptionService.countByApplications(null, null).isEmpty());
+        verify(subscriptionRepository, never()).search(any(SubscriptionCriteria.class), any(Pageable.class));
+    }
+
+    @Test
+    public void shouldSearchByApiKey() throws TechnicalException {
+        Subscription sub1 = new Subscription();
+        sub1.setId(SUBSCRIPTION_ID);
+        sub1.setStatus(Subscription.Status.ACCEPTED);
+        sub1.setApi(API_ID);
+
+        when(apiKeyEntity.getSubscription()).thenReturn(SUBSCRIPTION_ID);
+        when(apiKeyService.findByKey("my-api-key")).thenReturn(apiKeyEntity);
+        when(subscriptionRepository.findById(SUBSCRIPTION_ID)).thenReturn(Optional.of(sub1));
+
+        SubscriptionQuery query = new SubscriptionQuery();
+        query.setApi(API_ID);
+        query.setApiKey("my-api-key");
+        Collection<SubscriptionEntity> subscriptions = subscriptionService.search(query);
+
+        assertEquals(1, subscriptions.size());
+        assertEquals(SUBSCRIPTION_ID, subscriptions.iterator().next().getId());
+        verify(subscriptionRepository, never()).search(any(SubscriptionCriteria.class));
+        verify(apiKeyService, never()).findBySubscription(any());
+    }
+
+    @Test
+    public void shouldNotSearchByApiKeyOfAnotherApi() throws TechnicalException {
+        Subscription sub1 = new Subscription();
+        sub1.setId(SUBSCRIPTION_ID);
+        sub1.setStatus(Subscription.Status.ACCEPTED);
+        sub1.setApi("another-api");
+
+        when(apiKeyEntity.getSubscription()).thenReturn(SUBSCRIPTION_ID);
+        when(apiKeyService.findByKey("my-api-key")).thenReturn(apiKeyEntity);
+        when(subscriptionRepository.findById(SUBSCRIPTION_ID)).thenReturn(Optional.of(sub1));
+
+        SubscriptionQuery query = new SubscriptionQuery();
+        query.setApi(API_ID);
+        query.setApiKey("my-api-key");
+
+        assertTrue(subscriptionService.search(query).isEmpty());
+    }
+
+    @Test
+    public void shouldSearchByApiKeyWithinDates() throws TechnicalException {
+        final Subscription sub1 = newSubscription(SUBSCRIPTION_ID, API_ID, APPLICATION_ID);
+        sub1.setUpdatedAt(new Date(1500));
+        when(apiKeyEntity.getSubscription()).thenReturn(SUBSCRIPTION_ID);
+        when(apiKeyService.findByKey("my-api-key")).thenReturn(apiKeyEntity);
+        when(subscriptionRepository.findById(SUBSCRIPTION_ID)).thenReturn(Optional.of(sub1));
+
+        SubscriptionQuery query = new SubscriptionQuery();
+        query.setApiKey("my-api-key");
+        query.setFrom(1000);
+        query.setTo(2000);
+        Collection<SubscriptionEntity> subscriptions = subscriptionService.search(query);
+
+        assertEquals(1, subscriptions.size());
+        assertEquals(SUBSCRIPTION_ID, subscriptions.iterator().next().getId());
+        // The dates are checked against the subscription of the key, without searching the subscriptions again
+        verify(subscriptionRepository, never()).search(any(SubscriptionCriteria.class));
+    }
+
+    @Test
+    public void shouldNotSearchByApiKeyOutOfDates() throws TechnicalException {
+        final Subscription sub1 = newSubscription(SUBSCRIPTION_ID, API_ID, APPLICATION_ID);
+        sub1.setUpdatedAt(new Date(2500));
+        when(apiKeyEntity.getSubscription()).thenReturn(SUBSCRIPTION_ID);
+        when(apiKeyService.findByKey("my-api-key")).thenReturn(apiKeyEntity);
+        when(subscriptionRepository.findById(SUBSCRIPTION_ID)).thenReturn(Optional.of(sub1));
+
+        SubscriptionQuery query = new SubscriptionQuery();
+        query.setApiKey("my-api-key");
+        query.setFrom(1000);
+        query.setTo(2000);
+
+        assertTrue(subscriptionService.search(query).isEmpty());
+        assertEquals(0, subscriptionService.search(query, new PageableImpl(1, 10)).getTotalElements());
+    }
+
+    @Test
+    public void shouldExportAsCsvPageByPage() throws TechnicalException {
+        final List<Subscription> firstPage = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            firstPage.add(newSubscription("subscription-" + i, "api-" + (i % 2), "app-" + (i % 3)));
+        }
+        final List<Subscription> secondPage = singletonList(newSubscription("subscription-500", "api-0", "app-0"));
+        when(subscriptionRepository.search(any(SubscriptionCriteria.class), any(Pageable.class))).thenAnswer(invocation -> {
+            final Pageable pageable = invocation.getArgument(1);
+            return pageable.pageNumber() == 0 ?
+                    new Page<>(firstPage, 0, 500, 501) : new Page<>(secondPage, 1, 1, 501);
+        });
+
+        final List<Application> applications = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Application app = new Application();
+            app.setId("app-" + i);
+            app.setName("Application " + i);
+            applications.add(app);
+        }
+        when(applicationRepository.findByIds(any())).thenReturn(new HashSet<>(applications));
+        when(planRepository.findByApi(any())).thenAnswer(invocation -> {
+            final Plan plan = new Plan();
+            plan.setId("plan-" + invocation.getArgument(0));
+            plan.setName("Plan of " + invocation.getArgument(0));
+            return singleton(plan);
+        });
+        final Api api0 = new Api();
+        api0.setId("api-0");
+        api0.setName("API 0");
+        final Api api1 = new Api();
+        api1.setId("api-1");
+        api1.setName("API 1");
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(asList(api0, api1));
+
+        final SubscriptionQuery query = new SubscriptionQuery();
+        query.setApi(API_ID);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        subscriptionService.exportAsCsv(query, output);
+
+        final String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(502, lines.length);
+        assertTrue(lines[1].startsWith("Plan of api-0;Application 0;"));
+        assertTrue(lines[501].startsWith("Plan of api-0;Application 0;"));
+        verify(subscriptionRepository, times(2)).search(any(SubscriptionCriteria.class), any(Pageable.class));
+        // Names are resolved for each page, with one query by kind of name, plans being read by API
+        verify(applicationRepository, times(2)).findByIds(any());
+        verify(planRepository, times(2)).findByApi("api-0");
+        verify(planRepository, times(1)).findByApi("api-1");
+        verify(apiRepository, times(2)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+    }
+
+    @Test
+    public void shouldExportAsCsvByApiKey() throws TechnicalException {
+        when(apiKeyEntity.getSubscription()).thenReturn(SUBSCRIPTION_ID);
+        when(apiKeyService.findByKey("my-api-key")).thenReturn(apiKeyEntity);
+        when(subscriptionRepository.findById(SUBSCRIPTION_ID))
+                .thenReturn(Optional.of(newSubscription(SUBSCRIPTION_ID, API_ID, APPLICATION_ID)));
+
+        final SubscriptionQuery query = new SubscriptionQuery();
+        query.setApi(API_ID);
+        query.setApiKey("my-api-key");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        subscriptionService.exportAsCsv(query, output);
+
+        final String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].endsWith("ACCEPTED"));
+        verify(subscriptionRepository, never()).search(any(SubscriptionCriteria.class), any(Pageable.class));
+    }
+
     @Test(expected = PlanNotYetPublishedException.class)
     public void shouldNotCreateBecausePlanNotPublished() throws Exception {
         // Stub
@@ -933,4 +1149,15 @@ public class SubscriptionServiceTest {
         // Run
         subscriptionService.create(new NewSubscriptionEntity(PLAN_ID, APPLICATION_ID));
     }
+
+    private Subscription newSubscription(String id, String api, String application) {
+        final Subscription subscription = new Subscription();
+        subscription.setId(id);
+        subscription.setApi(api);
+        subscription.setPlan("plan-" + api);
+        subscription.setApplication(application);
+        subscription.setStatus(Subscription.Status.ACCEPTED);
+        subscription.setCreatedAt(new Date());
+        return subscription;
+    }
 }
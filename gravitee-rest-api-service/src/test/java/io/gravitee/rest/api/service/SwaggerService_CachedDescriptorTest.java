@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.policy.api.swagger.Policy;
+import io.gravitee.rest.api.model.ImportSwaggerDescriptorEntity;
+import io.gravitee.rest.api.service.impl.SwaggerServiceImpl;
+import io.gravitee.rest.api.service.impl.swagger.SwaggerDescriptorCache;
+import io.gravitee.rest.api.service.impl.swagger.policy.PolicyOperationVisitor;
+import io.gravitee.rest.api.service.impl.swagger.policy.PolicyOperationVisitorManager;
+import io.gravitee.rest.api.service.impl.swagger.policy.impl.OAIPolicyOperationVisitor;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Operation;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that an API created from a cached descriptor is the same as the one created when the descriptor is parsed,
+ * including what the policy visitors read from the operations and their schemas.
+ *
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SwaggerService_CachedDescriptorTest {
+
+    @Mock
+    private PolicyOperationVisitorManager policyOperationVisitorManager;
+
+    @Mock
+    private GroupService groupService;
+
+    @Mock
+    private TagService tagService;
+
+    @InjectMocks
+    private SwaggerServiceImpl swaggerService;
+
+    @Spy
+    private SwaggerDescriptorCache swaggerDescriptorCache = new SwaggerDescriptorCache(33554432, 600);
+
+    @Before
+    public void setup() {
+        final PolicyOperationVisitor policyVisitor = new PolicyOperationVisitor();
+        policyVisitor.setId("operation");
+        when(policyOperationVisitorManager.getPolicyVisitors()).thenReturn(Collections.singletonList(policyVisitor));
+
+        // The operation, with the schemas it refers to, as seen by the visitor becomes the policy configuration
+        final io.gravitee.policy.api.swagger.v3.OAIOperationVisitor operationVisitor =
+                mock(io.gravitee.policy.api.swagger.v3.OAIOperationVisitor.class);
+        when(operationVisitor.visit(any(), any())).thenAnswer(invocation -> {
+            final Policy policy = new Policy();
+            policy.setName("operation");
+            policy.setConfiguration(Json.mapper().writeValueAsString(invocation.<Operation>getArgument(1)));
+            return Optional.of(policy);
+        });
+        when(policyOperationVisitorManager.getOAIOperationVisitor("operation"))
+                .thenReturn(new OAIPolicyOperationVisitor(operationVisitor));
+    }
+
+    @Test
+    public void shouldCreateSameApiFromCachedDescriptor() throws IOException {
+        assertSameApiFromCachedDescriptor("io/gravitee/rest/api/management/service/mock/petstore-expanded.yaml");
+    }
+
+    @Test
+    public void shouldCreateSameApiWithExamplesFromCachedDescriptor() throws IOException {
+        assertSameApiFromCachedDescriptor("io/gravitee/rest/api/management/service/mock/api-with-examples.yaml");
+    }
+
+    @Test
+    public void shouldCreateSameApiFromCachedSwaggerV2Descriptor() throws IOException {
+        assertSameApiFromCachedDescriptor("io/gravitee/rest/api/management/service/swagger-v2.json");
+    }
+
+    private void assertSameApiFromCachedDescriptor(String file) throws IOException {
+        final String descriptor = Resources.toString(Resources.getResource(file), Charsets.UTF_8);
+        final GraviteeMapper mapper = new GraviteeMapper();
+
+        final String parsed = mapper.writeValueAsString(swaggerService.createAPI(importDescriptor(descriptor)));
+        final String cached = mapper.writeValueAsString(swaggerService.createAPI(importDescriptor(descriptor)));
+
+        assertEquals(1, swaggerDescriptorCache.getParsed());
+        assertEquals(1, swaggerDescriptorCache.getReused());
+        assertEquals(parsed, cached);
+    }
+
+    private ImportSwaggerDescriptorEntity importDescriptor(String descriptor) {
+        final ImportSwaggerDescriptorEntity swaggerDescriptor = new ImportSwaggerDescriptorEntity();
+        swaggerDescriptor.setType(ImportSwaggerDescriptorEntity.Type.INLINE);
+        swaggerDescriptor.setPayload(descriptor);
+        swaggerDescriptor.setWithPolicyPaths(true);
+        swaggerDescriptor.setWithPolicies(Collections.singletonList("operation"));
+        return swaggerDescriptor;
+    }
+}
@@ -27,6 +27,7 @@ import io.gravitee.rest.api.model.*;
 import io.gravitee.rest.api.model.api.SwaggerApiEntity;
 import io.gravitee.rest.api.model.api.UpdateApiEntity;
 import io.gravitee.rest.api.service.impl.SwaggerServiceImpl;
+import io.gravitee.rest.api.service.impl.swagger.SwaggerDescriptorCache;
 import io.gravitee.rest.api.service.impl.swagger.policy.PolicyOperationVisitor;
 import io.gravitee.rest.api.service.impl.swagger.policy.PolicyOperationVisitorManager;
 import io.gravitee.rest.api.service.impl.swagger.policy.impl.OAIPolicyOperationVisitor;
@@ -37,6 +38,7 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.IOException;
@@ -70,6 +72,9 @@ public class SwaggerService_CreateAPITest {
     @InjectMocks
     private SwaggerServiceImpl swaggerService;
 
+    @Spy
+    private SwaggerDescriptorCache swaggerDescriptorCache = new SwaggerDescriptorCache(33554432, 600);
+
     @Before
     public void setup() {
         PolicyOperationVisitor swaggerPolicyOperationVisitor = mock(PolicyOperationVisitor.class);
@@ -23,7 +23,9 @@ import io.gravitee.rest.api.model.PageEntity;
 import io.gravitee.rest.api.service.exceptions.SwaggerDescriptorException;
 import io.gravitee.rest.api.service.exceptions.UrlForbiddenException;
 import io.gravitee.rest.api.service.impl.SwaggerServiceImpl;
+import io.gravitee.rest.api.service.impl.swagger.SwaggerDescriptorCache;
 import io.gravitee.rest.api.service.spring.ImportConfiguration;
+import io.gravitee.rest.api.service.swagger.OAIDescriptor;
 import io.gravitee.rest.api.service.swagger.SwaggerDescriptor;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.Yaml;
@@ -31,6 +33,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.IOException;
@@ -48,6 +51,9 @@ public class SwaggerService_ParseTest {
     @InjectMocks
     private SwaggerServiceImpl swaggerService;
 
+    @Spy
+    private SwaggerDescriptorCache swaggerDescriptorCache = new SwaggerDescriptorCache(33554432, 600);
+
     @Mock
     private ImportConfiguration importConfiguration;
 
@@ -89,6 +95,20 @@ public class SwaggerService_ParseTest {
         validateV3(Json.mapper().readTree(descriptor.toJson()), false);
     }
 
+    @Test
+    public void shouldParseSameContentOnce() throws IOException {
+        PageEntity pageEntity = getPage("io/gravitee/rest/api/management/service/openapi.json", MediaType.APPLICATION_JSON);
+
+        OAIDescriptor first = (OAIDescriptor) swaggerService.parse(pageEntity.getContent(), false, true);
+        first.getSpecification().getInfo().setTitle("Updated");
+        OAIDescriptor second = (OAIDescriptor) swaggerService.parse(pageEntity.getContent(), false, true);
+
+        assertNotSame(first.getSpecification(), second.getSpecification());
+        validateV3(Json.mapper().readTree(second.toJson()), true);
+        assertEquals(1, swaggerDescriptorCache.getParsed());
+        assertEquals(1, swaggerDescriptorCache.getReused());
+    }
+
     @Test
     public void shouldThrowSwaggerDescriptorExceptionWhenParseSwaggerV2WithoutInfo_json() throws IOException {
         PageEntity pageEntity = getPage("io/gravitee/rest/api/management/service/swagger-v2-no-info.json", MediaType.APPLICATION_JSON);
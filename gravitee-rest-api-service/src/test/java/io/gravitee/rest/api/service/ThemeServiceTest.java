@@ -158,6 +158,21 @@ public class ThemeServiceTest {
         assertNotNull(themeService.findEnabled());
     }
 
+    @Test
+    public void shouldFindEnabledOnceUntilReset() throws TechnicalException {
+        final Theme theme = mock(Theme.class);
+        when(theme.isEnabled()).thenReturn(false);
+        when(themeRepository.findByReferenceIdAndReferenceType(GraviteeContext.getCurrentEnvironment(), ENVIRONMENT.name())).thenReturn(singleton(theme));
+
+        final ThemeEntity enabledTheme = themeService.findEnabled();
+        assertSame(enabledTheme, themeService.findEnabled());
+        assertNotNull(themeService.getLogo(THEME_ID));
+        verify(themeRepository, times(1)).findByReferenceIdAndReferenceType(GraviteeContext.getCurrentEnvironment(), ENVIRONMENT.name());
+
+        themeService.resetToDefaultTheme(THEME_ID);
+        assertNotSame(enabledTheme, themeService.findEnabled());
+    }
+
     @Test
     public void shouldGetDefaultIfNoThemeEnabled() throws TechnicalException {
         final Theme theme = mock(Theme.class);
@@ -40,6 +40,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static com.google.common.collect.Sets.newHashSet;
 import static io.gravitee.repository.management.model.Token.AuditEvent.TOKEN_CREATED;
@@ -170,6 +171,26 @@ public class TokenServiceTest {
         assertEquals("2", tokens.get(1).getId());
     }
 
+    @Test
+    public void shouldCountByUsers() throws TechnicalException {
+        final Token token2 = new Token();
+        token2.setReferenceType(USER.name());
+        token2.setReferenceId(USER_ID);
+        final Token token3 = new Token();
+        token3.setId("3");
+        token3.setReferenceType(USER.name());
+        token3.setReferenceId(USER_ID);
+
+        when(tokenRepository.findByReference(USER.name(), USER_ID)).thenReturn(asList(token2, token3));
+        when(tokenRepository.findByReference(USER.name(), "unknown")).thenReturn(Collections.emptyList());
+
+        final Map<String, Long> nbTokens = tokenService.countByUsers(asList(USER_ID, "unknown"));
+
+        assertEquals(1, nbTokens.size());
+        assertEquals(Long.valueOf(2), nbTokens.get(USER_ID));
+        verify(tokenRepository, never()).findAll();
+    }
+
     @Test
     public void shouldFindByToken() throws TechnicalException {
         when(tokenRepository.findAll()).thenReturn(newHashSet(token));
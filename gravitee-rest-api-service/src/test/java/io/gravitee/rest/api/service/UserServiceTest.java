@@ -18,6 +18,7 @@ package io.gravitee.rest.api.service;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import io.gravitee.common.data.domain.MetadataPage;
+import io.gravitee.common.data.domain.Page;
 import io.gravitee.common.util.Maps;
 import io.gravitee.el.exceptions.ExpressionEvaluationException;
 import io.gravitee.repository.exceptions.TechnicalException;
@@ -28,6 +29,7 @@ import io.gravitee.rest.api.model.*;
 import io.gravitee.rest.api.model.api.ApiEntity;
 import io.gravitee.rest.api.model.application.ApplicationListItem;
 import io.gravitee.rest.api.model.audit.AuditEntity;
+import io.gravitee.rest.api.model.common.PageableImpl;
 import io.gravitee.rest.api.model.configuration.identity.GroupMappingEntity;
 import io.gravitee.rest.api.model.configuration.identity.RoleMappingEntity;
 import io.gravitee.rest.api.model.configuration.identity.SocialIdentityProviderEntity;
@@ -36,6 +38,7 @@ import io.gravitee.rest.api.model.permissions.RoleScope;
 import io.gravitee.rest.api.service.common.JWTHelper;
 import io.gravitee.rest.api.service.exceptions.*;
 import io.gravitee.rest.api.service.impl.UserServiceImpl;
+import io.gravitee.rest.api.service.impl.search.SearchResult;
 import io.gravitee.rest.api.service.search.SearchEngineService;
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
@@ -162,6 +165,62 @@ public class UserServiceTest {
         assertEquals(null, userEntity.getRoles());
     }
 
+    @Test
+    public void shouldFindByIdsWithoutMetadata() throws TechnicalException {
+        when(user.getId()).thenReturn(USER_NAME);
+        when(user.getEmail()).thenReturn(EMAIL);
+        when(userRepository.findByIds(Collections.singletonList(USER_NAME))).thenReturn(Collections.singleton(user));
+
+        final Set<UserEntity> users = userService.findByIds(Collections.singletonList(USER_NAME), false);
+
+        assertEquals(1, users.size());
+        assertEquals(EMAIL, users.iterator().next().getEmail());
+        verify(userMetadataService, never()).findAllByUserId(any());
+    }
+
+    @Test
+    public void shouldSearchWithUserFlags() throws TechnicalException {
+        final User otherUser = new User();
+        otherUser.setId("other");
+        final User thirdUser = new User();
+        thirdUser.setId("third");
+        when(user.getId()).thenReturn(USER_NAME);
+        when(searchEngineService.search(any())).thenReturn(new SearchResult(Arrays.asList("third", USER_NAME, "other"), 3));
+        when(userRepository.findByIds(Arrays.asList("third", USER_NAME, "other"))).thenReturn(new HashSet<>(Arrays.asList(user, otherUser, thirdUser)));
+
+        final RoleEntity apiPORole = new RoleEntity();
+        apiPORole.setId("API_PRIMARY_OWNER");
+        final RoleEntity applicationPORole = new RoleEntity();
+        applicationPORole.setId("APPLICATION_PRIMARY_OWNER");
+        when(roleService.findByScopeAndName(RoleScope.API, "PRIMARY_OWNER")).thenReturn(of(apiPORole));
+        when(roleService.findByScopeAndName(RoleScope.APPLICATION, "PRIMARY_OWNER")).thenReturn(of(applicationPORole));
+
+        final MembershipEntity apiOwner = new MembershipEntity();
+        apiOwner.setMemberId(USER_NAME);
+        apiOwner.setRoleId("API_PRIMARY_OWNER");
+        final MembershipEntity applicationUser = new MembershipEntity();
+        applicationUser.setMemberId("other");
+        applicationUser.setRoleId("APPLICATION_USER");
+        when(membershipService.getMembershipsByMembersAndReference(eq(MembershipMemberType.USER), anyList(), eq(MembershipReferenceType.API)))
+                .thenReturn(Collections.singleton(apiOwner));
+        when(membershipService.getMembershipsByMembersAndReference(eq(MembershipMemberType.USER), anyList(), eq(MembershipReferenceType.APPLICATION)))
+                .thenReturn(Collections.singleton(applicationUser));
+        when(tokenService.countByUsers(anyList())).thenReturn(Collections.singletonMap("other", 2L));
+
+        final Page<UserEntity> users = userService.search("query", new PageableImpl(1, 10));
+
+        assertEquals(3, users.getContent().size());
+        assertEquals("third", users.getContent().get(0).getId());
+        assertEquals(USER_NAME, users.getContent().get(1).getId());
+        assertTrue(users.getContent().get(1).isPrimaryOwner());
+        assertEquals(0, users.getContent().get(1).getNbActiveTokens());
+        assertEquals("other", users.getContent().get(2).getId());
+        assertFalse(users.getContent().get(2).isPrimaryOwner());
+        assertEquals(2, users.getContent().get(2).getNbActiveTokens());
+        verify(userMetadataService, never()).findAllByUserId(any());
+        verify(tokenService, never()).findByUser(any());
+    }
+
     @Test(expected = UserNotFoundException.class)
     public void shouldNotFindByUsernameBecauseNotExists() throws TechnicalException {
         when(userRepository.findBySource(USER_SOURCE, USER_NAME, ORGANIZATION)).thenReturn(Optional.empty());
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.service;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.repository.management.model.GenericNotificationConfig;
+import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import io.gravitee.rest.api.service.notification.ApiHook;
+import io.gravitee.rest.api.service.notifiers.WebNotifierService;
+import io.gravitee.rest.api.service.notifiers.impl.WebhookNotifierServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WebhookNotifierServiceTest {
+
+    private static final String URL = "http://localhost/webhook";
+
+    @InjectMocks
+    private WebhookNotifierServiceImpl service = new WebhookNotifierServiceImpl();
+
+    @Mock
+    private WebNotifierService webNotifierService;
+
+    private GenericNotificationConfig config;
+
+    @Before
+    public void init() {
+        ReflectionTestUtils.setField(service, "retryDelay", 10L);
+        service.afterPropertiesSet();
+
+        config = new GenericNotificationConfig();
+        config.setConfig(URL);
+    }
+
+    @After
+    public void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    public void shouldDeliverNotification() {
+        service.trigger(ApiHook.API_STARTED, config, Collections.emptyMap());
+
+        verify(webNotifierService, timeout(1000)).request(eq(HttpMethod.POST), eq(URL), anyMap(), anyString(), eq(false));
+    }
+
+    @Test
+    public void shouldRetryFailedDelivery() {
+        doThrow(new TechnicalManagementException("unavailable"))
+                .doNothing()
+                .when(webNotifierService).request(eq(HttpMethod.POST), eq(URL), anyMap(), anyString(), eq(false));
+
+        service.trigger(ApiHook.API_STARTED, config, Collections.emptyMap());
+
+        verify(webNotifierService, timeout(1000).times(2)).request(eq(HttpMethod.POST), eq(URL), anyMap(), anyString(), eq(false));
+    }
+
+    @Test
+    public void shouldDeferDeliveriesWhileCircuitIsOpen() {
+        ReflectionTestUtils.setField(service, "failureThreshold", 1);
+        ReflectionTestUtils.setField(service, "maxAttempts", 2);
+        ReflectionTestUtils.setField(service, "openDuration", 300L);
+        doThrow(new TechnicalManagementException("unavailable"))
+                .doNothing()
+                .when(webNotifierService).request(eq(HttpMethod.POST), eq(URL), anyMap(), anyString(), eq(false));
+
+        service.trigger(ApiHook.API_STARTED, config, Collections.emptyMap());
+        service.trigger(ApiHook.API_STOPPED, config, Collections.emptyMap());
+
+        // Both notifications are delivered once the endpoint has recovered and the circuit is closed
+        verify(webNotifierService, timeout(3000).times(3)).request(eq(HttpMethod.POST), eq(URL), anyMap(), anyString(), eq(false));
+        assertEquals(0, service.getDroppedDeliveries());
+    }
+
+    @Test
+    public void shouldReportDroppedDeliveryInMetrics() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "maxAttempts", 1);
+        doThrow(new TechnicalManagementException("unavailable"))
+                .when(webNotifierService).request(eq(HttpMethod.POST), eq(URL), anyMap(), anyString(), eq(false));
+
+        service.trigger(ApiHook.API_STARTED, config, Collections.emptyMap());
+
+        verify(webNotifierService, timeout(1000)).request(eq(HttpMethod.POST), eq(URL), anyMap(), anyString(), eq(false));
+        final long deadline = System.currentTimeMillis() + 1000;
+        while (service.getDroppedDeliveries() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        final Map<String, Object> metrics = service.getMetrics();
+        assertEquals(1L, metrics.get("dropped"));
+        assertEquals(0L, metrics.get("delivered"));
+        assertEquals(0, metrics.get("queueSize"));
+    }
+}
@@ -0,0 +1,296 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.services.events;
+
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.common.service.AbstractService;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.api.search.builder.PageableBuilder;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import io.gravitee.rest.api.model.EventEntity;
+import io.gravitee.rest.api.service.EventService;
+import io.gravitee.rest.api.service.common.GraviteeContext;
+import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import io.gravitee.rest.api.service.metrics.MetricsProvider;
+import io.gravitee.rest.api.service.metrics.MetricsReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Removes the events which are not needed anymore, so that the event store does not grow forever.
+ *
+ * For each API, only the latest <code>services.events.compaction.api.keep</code> deployment events are kept, the
+ * latest <code>PUBLISH_API</code> event being always kept since it holds the definition deployed on the gateways.
+ * Gateway events whose last heartbeat is older than <code>services.events.compaction.gateway.retention</code>
+ * seconds, i.e. stopped or lost instances, are removed.
+ *
+ * The events are read by pages without their payloads, only their ids are kept until they are removed.
+ *
+ * @author GraviteeSource Team
+ */
+public class ScheduledEventsCompactionService extends AbstractService implements Runnable, MetricsProvider {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(ScheduledEventsCompactionService.class);
+
+    private static final List<io.gravitee.rest.api.model.EventType> API_EVENT_TYPES = Arrays.asList(
+            io.gravitee.rest.api.model.EventType.PUBLISH_API, io.gravitee.rest.api.model.EventType.UNPUBLISH_API,
+            io.gravitee.rest.api.model.EventType.START_API, io.gravitee.rest.api.model.EventType.STOP_API);
+
+    private static final EventType[] GATEWAY_EVENT_TYPES = { EventType.GATEWAY_STARTED, EventType.GATEWAY_STOPPED };
+
+    @Autowired
+    private TaskScheduler scheduler;
+
+    @Value("${services.events.compaction.cron:0 0 3 * * *}")
+    private String cronTrigger;
+
+    @Value("${services.events.compaction.enabled:false}")
+    private boolean enabled;
+
+    @Value("${services.events.compaction.api.keep:20}")
+    private int apiEventsToKeep = 20;
+
+    @Value("${services.events.compaction.gateway.retention:2592000}") // default value : 30 days
+    private long gatewayRetention = 2592000;
+
+    @Value("${services.events.compaction.pageSize:100}")
+    private int pageSize = 100;
+
+    @Autowired
+    private ApiRepository apiRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private MetricsReporter metricsReporter;
+
+    private final AtomicLong counter = new AtomicLong(0);
+
+    private final AtomicLong deletedApiEvents = new AtomicLong(0);
+
+    private final AtomicLong deletedGatewayEvents = new AtomicLong(0);
+
+    private final AtomicLong failures = new AtomicLong(0);
+
+    @Override
+    protected String name() {
+        return "Events Compaction Service";
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (enabled) {
+            super.doStart();
+            logger.info("Events compaction service has been initialized with cron [{}]", cronTrigger);
+            scheduler.schedule(this, new CronTrigger(cronTrigger));
+            // The service lives in a child context, the reporter only collects the providers of the root one
+            metricsReporter.register(this);
+        } else {
+            logger.warn("Events compaction service has been disabled");
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        metricsReporter.unregister(this);
+    }
+
+    @Override
+    public void run() {
+        logger.debug("Events compaction #{} started at {}", counter.incrementAndGet(), Instant.now().toString());
+        final long startedAt = System.currentTimeMillis();
+
+        final long apiEvents = compactApiEvents();
+        final long gatewayEvents = compactGatewayEvents(startedAt - TimeUnit.SECONDS.toMillis(gatewayRetention));
+
+        logger.info("Events compaction #{} removed {} API events and {} gateway events in {} ms",
+                counter.get(), apiEvents, gatewayEvents, System.currentTimeMillis() - startedAt);
+    }
+
+    private long compactApiEvents() {
+        long deleted = 0;
+        try {
+            final List<Api> apis = apiRepository.search(new ApiCriteria.Builder().build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build());
+            for (Api api : apis) {
+                // The events are searched in the environment of the API
+                GraviteeContext.setCurrentEnvironment(api.getEnvironmentId());
+                deleted += compactApiEvents(api.getId());
+            }
+        } catch (Exception ex) {
+            logger.error("An error occurs while trying to compact the events of the APIs", ex);
+        } finally {
+            GraviteeContext.cleanContext();
+        }
+        deletedApiEvents.addAndGet(deleted);
+        return deleted;
+    }
+
+    private long compactApiEvents(String apiId) {
+        final Map<String, Object> properties = Collections.singletonMap(Event.EventProperties.API_ID.getValue(), apiId);
+        final Predicate<EventEntity> toDelete = new OlderApiEvents();
+
+        // Events come from the most recent one, as they are read by the synchronization
+        final List<String> eventIds = new ArrayList<>();
+        int page = 0;
+        Page<EventEntity> events;
+        do {
+            events = eventService.search(API_EVENT_TYPES, properties, 0, 0, page++, pageSize, false);
+            if (events.getTotalElements() <= apiEventsToKeep) {
+                return 0;
+            }
+            events.getContent().stream()
+                    .filter(toDelete)
+                    .map(EventEntity::getId)
+                    .forEach(eventIds::add);
+        } while (!events.getContent().isEmpty() && (long) page * pageSize < events.getTotalElements());
+
+        long deleted = 0;
+        for (String eventId : eventIds) {
+            try {
+                eventService.delete(eventId);
+                deleted++;
+            } catch (TechnicalManagementException ex) {
+                failures.incrementAndGet();
+            }
+        }
+        return deleted;
+    }
+
+    private long compactGatewayEvents(long threshold) {
+        // The gateway keeps its event up to date on each heartbeat
+        final EventCriteria criteria = new EventCriteria.Builder()
+                .types(GATEWAY_EVENT_TYPES)
+                .to(threshold)
+                .build();
+
+        // Gateway events are not bound to an environment, they are read from the repository
+        final List<String> eventIds = new ArrayList<>();
+        int page = 0;
+        Page<Event> events;
+        do {
+            events = eventRepository.search(criteria, new PageableBuilder().pageNumber(page++).pageSize(pageSize).build());
+            events.getContent().stream()
+                    .filter(event -> lastUpdate(event) < threshold)
+                    .map(Event::getId)
+                    .forEach(eventIds::add);
+        } while (!events.getContent().isEmpty() && (long) page * pageSize < events.getTotalElements());
+
+        long deleted = 0;
+        // The repository deletes one event at a time
+        for (String eventId : eventIds) {
+            try {
+                eventRepository.delete(eventId);
+                deleted++;
+            } catch (TechnicalException ex) {
+                failures.incrementAndGet();
+                logger.error("An error occurs while trying to delete event {}", eventId, ex);
+            }
+        }
+        deletedGatewayEvents.addAndGet(deleted);
+        return deleted;
+    }
+
+    private static long lastUpdate(Event event) {
+        if (event.getUpdatedAt() != null) {
+            return event.getUpdatedAt().getTime();
+        }
+        return event.getCreatedAt() == null ? Long.MAX_VALUE : event.getCreatedAt().getTime();
+    }
+
+    /**
+     * @return the number of API events removed since the service has been started.
+     */
+    public long getDeletedApiEvents() {
+        return deletedApiEvents.get();
+    }
+
+    /**
+     * @return the number of gateway events removed since the service has been started.
+     */
+    public long getDeletedGatewayEvents() {
+        return deletedGatewayEvents.get();
+    }
+
+    /**
+     * @return the number of events which could not be removed since the service has been started.
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "Events compaction";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("runs", counter.get());
+        metrics.put("deletedApiEvents", getDeletedApiEvents());
+        metrics.put("deletedGatewayEvents", getDeletedGatewayEvents());
+        metrics.put("failures", getFailures());
+        return metrics;
+    }
+
+    /**
+     * Matches the events of an API after the latest ones and the latest <code>PUBLISH_API</code> one, the events
+     * being tested from the most recent one.
+     */
+    private class OlderApiEvents implements Predicate<EventEntity> {
+
+        private int kept;
+
+        private boolean lastPublishKept;
+
+        @Override
+        public boolean test(EventEntity event) {
+            final boolean publish = event.getType() == io.gravitee.rest.api.model.EventType.PUBLISH_API;
+            if (kept < apiEventsToKeep || (publish && !lastPublishKept)) {
+                kept++;
+                lastPublishKept |= publish;
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.services.events;
+
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import io.gravitee.rest.api.model.EventEntity;
+import io.gravitee.rest.api.service.EventService;
+import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
+import io.gravitee.rest.api.service.metrics.MetricsReporter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduledEventsCompactionServiceTest {
+
+    private static final String API_ID = "my-api";
+
+    private static final Page<Event> NO_EVENT = new Page<>(Collections.emptyList(), 0, 0, 0);
+
+    private static final Page<EventEntity> NO_API_EVENT = new Page<>(Collections.emptyList(), 0, 0, 0);
+
+    @InjectMocks
+    ScheduledEventsCompactionService service = new ScheduledEventsCompactionService();
+
+    @Mock
+    ApiRepository apiRepository;
+
+    @Mock
+    EventRepository eventRepository;
+
+    @Mock
+    EventService eventService;
+
+    @Mock
+    MetricsReporter metricsReporter;
+
+    @Mock
+    TaskScheduler scheduler;
+
+    @Before
+    public void init() throws Exception {
+        ReflectionTestUtils.setField(service, "apiEventsToKeep", 2);
+
+        final Api api = new Api();
+        api.setId(API_ID);
+        api.setEnvironmentId("DEFAULT");
+        lenient().when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(Collections.singletonList(api));
+        lenient().when(eventRepository.search(any(EventCriteria.class), any())).thenReturn(NO_EVENT);
+    }
+
+    @Test
+    public void shouldKeepLatestApiEventsAndLastPublish() {
+        when(searchApiEvents()).thenReturn(new Page<>(Arrays.asList(
+                apiEvent("stop", io.gravitee.rest.api.model.EventType.STOP_API),
+                apiEvent("start", io.gravitee.rest.api.model.EventType.START_API),
+                apiEvent("publish-2", io.gravitee.rest.api.model.EventType.PUBLISH_API),
+                apiEvent("publish-1", io.gravitee.rest.api.model.EventType.PUBLISH_API),
+                apiEvent("start-1", io.gravitee.rest.api.model.EventType.START_API)), 0, 5, 5));
+
+        service.run();
+
+        verify(eventService).delete("publish-1");
+        verify(eventService).delete("start-1");
+        verify(eventService, times(2)).delete(any());
+        assertEquals(2, service.getDeletedApiEvents());
+    }
+
+    @Test
+    public void shouldSearchApiEventsWithoutPayloads() {
+        when(searchApiEvents()).thenReturn(NO_API_EVENT);
+
+        service.run();
+
+        verify(eventService).search(anyList(), eq(Collections.singletonMap(Event.EventProperties.API_ID.getValue(), API_ID)),
+                eq(0L), eq(0L), eq(0), anyInt(), eq(false));
+    }
+
+    @Test
+    public void shouldNotDeleteWhenFewerApiEventsThanKept() throws Exception {
+        when(searchApiEvents()).thenReturn(new Page<>(Arrays.asList(
+                apiEvent("publish-2", io.gravitee.rest.api.model.EventType.PUBLISH_API),
+                apiEvent("publish-1", io.gravitee.rest.api.model.EventType.PUBLISH_API)), 0, 2, 2));
+
+        service.run();
+
+        verify(eventService, never()).delete(any());
+        verify(eventRepository, never()).delete(any());
+    }
+
+    @Test
+    public void shouldCountFailedDeletions() {
+        when(searchApiEvents()).thenReturn(new Page<>(Arrays.asList(
+                apiEvent("start", io.gravitee.rest.api.model.EventType.START_API),
+                apiEvent("publish-2", io.gravitee.rest.api.model.EventType.PUBLISH_API),
+                apiEvent("publish-1", io.gravitee.rest.api.model.EventType.PUBLISH_API),
+                apiEvent("start-1", io.gravitee.rest.api.model.EventType.START_API)), 0, 4, 4));
+        doThrow(new TechnicalManagementException("unavailable")).when(eventService).delete("start-1");
+
+        service.run();
+
+        final Map<String, Object> metrics = service.getMetrics();
+        assertEquals(1L, metrics.get("runs"));
+        assertEquals(1L, metrics.get("deletedApiEvents"));
+        assertEquals(0L, metrics.get("deletedGatewayEvents"));
+        assertEquals(1L, metrics.get("failures"));
+    }
+
+    @Test
+    public void shouldDeleteLostGatewayEvents() throws Exception {
+        final long now = System.currentTimeMillis();
+        when(searchApiEvents()).thenReturn(NO_API_EVENT);
+        when(eventRepository.search(any(EventCriteria.class), any()))
+                .thenReturn(new Page<>(Arrays.asList(
+                        event("lost", EventType.GATEWAY_STARTED, now - TimeUnit.DAYS.toMillis(60)),
+                        event("stopped", EventType.GATEWAY_STOPPED, now - TimeUnit.DAYS.toMillis(31)),
+                        event("alive", EventType.GATEWAY_STARTED, now)), 0, 3, 3));
+
+        service.run();
+
+        verify(eventRepository).delete("lost");
+        verify(eventRepository).delete("stopped");
+        verify(eventRepository, never()).delete("alive");
+        assertEquals(2, service.getDeletedGatewayEvents());
+    }
+
+    @Test
+    public void shouldRegisterMetricsWhenStarted() throws Exception {
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "cronTrigger", "0 0 3 * * *");
+
+        service.start();
+        service.stop();
+
+        verify(metricsReporter).register(service);
+        verify(metricsReporter).unregister(service);
+    }
+
+    private Page<EventEntity> searchApiEvents() {
+        return eventService.search(anyList(), anyMap(), anyLong(), anyLong(), anyInt(), anyInt(), eq(false));
+    }
+
+    private static EventEntity apiEvent(String id, io.gravitee.rest.api.model.EventType type) {
+        final EventEntity event = new EventEntity();
+        event.setId(id);
+        event.setType(type);
+        return event;
+    }
+
+    private static Event event(String id, EventType type, long updatedAt) {
+        final Event event = new Event();
+        event.setId(id);
+        event.setType(type);
+        event.setUpdatedAt(new Date(updatedAt));
+        return event;
+    }
+}
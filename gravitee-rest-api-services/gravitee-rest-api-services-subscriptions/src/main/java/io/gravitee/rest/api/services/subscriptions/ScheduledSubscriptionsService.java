@@ -22,6 +22,8 @@ import io.gravitee.rest.api.model.api.ApiEntity;
 import io.gravitee.rest.api.model.subscription.SubscriptionQuery;
 import io.gravitee.rest.api.service.ApiService;
 import io.gravitee.rest.api.service.SubscriptionService;
+import io.gravitee.rest.api.service.exceptions.SubscriptionNotClosableException;
+import io.gravitee.rest.api.service.exceptions.SubscriptionNotFoundException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,15 +33,18 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.support.CronTrigger;
 
 import java.time.Instant;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Date;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.stream.Collectors.toSet;
 
 /**
+ * Closes the accepted subscriptions once their ending date is reached.
+ *
+ * Subscriptions having an ending date are kept in an index sorted by ending date. The index is fully loaded from time
+ * to time and, in between, only updated with the subscriptions modified since the previous run, so that each run only
+ * reads the modified subscriptions and closes the expired ones.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -50,6 +55,11 @@ public class ScheduledSubscriptionsService extends AbstractService implements Ru
      */
     private final Logger logger = LoggerFactory.getLogger(ScheduledSubscriptionsService.class);
 
+    /**
+     * Subscriptions are searched from a bit before the previous run to deal with clock drift between nodes.
+     */
+    private static final long TIMEFRAME_BEFORE_DELAY = 30_000;
+
     @Autowired
     private TaskScheduler scheduler;
 
@@ -59,8 +69,21 @@ public class ScheduledSubscriptionsService extends AbstractService implements Ru
     @Value("${services.subscriptions.enabled:true}")
     private boolean enabled;
 
+    @Value("${services.subscriptions.fullRefreshDelay:3600000}")
+    private long fullRefreshDelay = 3600000;
+
     private final AtomicLong counter = new AtomicLong(0);
 
+    private final NavigableMap<Long, Set<String>> subscriptionsByEndingDate = new TreeMap<>();
+
+    private final Map<String, Long> endingDates = new HashMap<>();
+
+    private final Set<String> apiIds = new HashSet<>();
+
+    private long lastRefreshAt = -1;
+
+    private long lastFullRefreshAt = -1;
+
     @Autowired
     private ApiService apiService;
 
@@ -86,22 +109,93 @@ public class ScheduledSubscriptionsService extends AbstractService implements Ru
     @Override
     public void run() {
         logger.debug("Refresh subscriptions #{} started at {}", counter.incrementAndGet(), Instant.now().toString());
-        final Set<String> apiIds = apiService.findAllLight().stream()
-                .map(ApiEntity::getId)
-                .collect(toSet());
+        final long now = System.currentTimeMillis();
+
+        if (lastFullRefreshAt == -1 || now - lastFullRefreshAt >= fullRefreshDelay) {
+            fullRefresh();
+            lastFullRefreshAt = now;
+        } else {
+            incrementalRefresh(lastRefreshAt - TIMEFRAME_BEFORE_DELAY);
+        }
+        lastRefreshAt = now;
+
+        closeExpiredSubscriptions(now);
+
+        logger.debug("Refresh subscriptions #{} ended at {}", counter.get(), Instant.now().toString());
+    }
+
+    private void fullRefresh() {
+        refreshApis();
 
         final SubscriptionQuery query = new SubscriptionQuery();
         query.setApis(apiIds);
         query.setStatuses(Collections.singleton(SubscriptionStatus.ACCEPTED));
         final Collection<SubscriptionEntity> subscriptions = subscriptionService.search(query);
-        final Date now = new Date();
-        subscriptions
-                .forEach(subscription -> {
-                    if (subscription.getEndingAt() != null && subscription.getEndingAt().before(now)) {
-                        subscriptionService.close(subscription.getId());
-                    }
-                });
 
-        logger.debug("Refresh subscriptions #{} ended at {}", counter.get(), Instant.now().toString());
+        subscriptionsByEndingDate.clear();
+        endingDates.clear();
+        subscriptions.forEach(this::index);
+    }
+
+    private void incrementalRefresh(long from) {
+        final SubscriptionQuery query = new SubscriptionQuery();
+        query.setFrom(from);
+        final Collection<SubscriptionEntity> subscriptions = subscriptionService.search(query);
+
+        if (subscriptions.stream().anyMatch(subscription -> !apiIds.contains(subscription.getApi()))) {
+            refreshApis();
+        }
+
+        subscriptions.forEach(subscription -> {
+            unindex(subscription.getId());
+            if (subscription.getStatus() == SubscriptionStatus.ACCEPTED && apiIds.contains(subscription.getApi())) {
+                index(subscription);
+            }
+        });
+    }
+
+    private void refreshApis() {
+        apiIds.clear();
+        apiIds.addAll(apiService.findAllLight().stream()
+                .map(ApiEntity::getId)
+                .collect(toSet()));
+    }
+
+    private void closeExpiredSubscriptions(long now) {
+        final List<String> expiredSubscriptions = new ArrayList<>();
+        subscriptionsByEndingDate.headMap(now, false).values().forEach(expiredSubscriptions::addAll);
+
+        for (String subscription : expiredSubscriptions) {
+            try {
+                subscriptionService.close(subscription);
+                unindex(subscription);
+            } catch (SubscriptionNotClosableException | SubscriptionNotFoundException ex) {
+                // The subscription has already been closed or deleted, by another node for instance
+                logger.debug("Subscription {} has already been processed", subscription);
+                unindex(subscription);
+            } catch (Exception ex) {
+                // The subscription is kept in the index to be closed during the next run
+                logger.error("An error occurs while trying to close expired subscription {}", subscription, ex);
+            }
+        }
+    }
+
+    private void index(SubscriptionEntity subscription) {
+        if (subscription.getEndingAt() != null) {
+            final long endingAt = subscription.getEndingAt().getTime();
+            endingDates.put(subscription.getId(), endingAt);
+            subscriptionsByEndingDate.computeIfAbsent(endingAt, key -> new HashSet<>()).add(subscription.getId());
+        }
+    }
+
+    private void unindex(String subscription) {
+        final Long endingAt = endingDates.remove(subscription);
+        if (endingAt != null) {
+            final Set<String> subscriptions = subscriptionsByEndingDate.get(endingAt);
+            subscriptions.remove(subscription);
+            if (subscriptions.isEmpty()) {
+                subscriptionsByEndingDate.remove(endingAt);
+            }
+        }
     }
 }
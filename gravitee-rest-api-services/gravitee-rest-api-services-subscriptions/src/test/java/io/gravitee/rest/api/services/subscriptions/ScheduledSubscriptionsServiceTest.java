@@ -89,6 +89,35 @@ public class ScheduledSubscriptionsServiceTest {
         verify(subscriptionService, never()).close("end_date_in_the_future");
     }
 
+    @Test
+    public void shouldOnlySearchUpdatedSubscriptionsAfterFirstRun() {
+        ApiEntity apiEntity = mock(ApiEntity.class);
+        when(apiEntity.getId()).thenReturn("API_ID");
+        when(apiService.findAllLight()).thenReturn(Collections.singleton(apiEntity));
+
+        SubscriptionQuery query = new SubscriptionQuery();
+        query.setApi(apiEntity.getId());
+        query.setStatuses(Collections.singleton(SubscriptionStatus.ACCEPTED));
+        when(subscriptionService.search(query)).thenReturn(Collections.emptySet());
+
+        service.run();
+
+        SubscriptionEntity endDateInThePast = createSubscription(
+                "end_date_in_the_past",
+                SubscriptionStatus.ACCEPTED,
+                new Date(0));
+        when(endDateInThePast.getStatus()).thenReturn(SubscriptionStatus.ACCEPTED);
+        when(endDateInThePast.getApi()).thenReturn("API_ID");
+        when(subscriptionService.search(argThat(updatedQuery -> updatedQuery.getFrom() > 0 && updatedQuery.getApis() == null)))
+                .thenReturn(Collections.singleton(endDateInThePast));
+
+        service.run();
+
+        verify(apiService, times(1)).findAllLight();
+        verify(subscriptionService, times(1)).search(query);
+        verify(subscriptionService, times(1)).close("end_date_in_the_past");
+    }
+
     private SubscriptionEntity createSubscription(String id, SubscriptionStatus status, Date endingDate) {
         SubscriptionEntity subscriptionEntity = mock(SubscriptionEntity.class);
         when(subscriptionEntity.getId()).thenReturn(id);
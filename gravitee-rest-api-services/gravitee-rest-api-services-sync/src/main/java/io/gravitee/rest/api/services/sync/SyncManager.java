@@ -35,6 +35,7 @@ import io.gravitee.rest.api.service.MembershipService;
 import io.gravitee.rest.api.service.UserService;
 import io.gravitee.rest.api.service.configuration.dictionary.DictionaryService;
 import io.gravitee.rest.api.service.event.DictionaryEvent;
+import io.gravitee.rest.api.service.impl.definition.ApiDefinitionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -76,6 +77,8 @@ public class SyncManager {
     @Autowired
     private ObjectMapper objectMapper;
     @Autowired
+    private ApiDefinitionCache apiDefinitionCache;
+    @Autowired
     private EventManager eventManager;
     @Autowired
     private MembershipService membershipService;
@@ -301,8 +304,7 @@ public class SyncManager {
 
         if (api.getDefinition() != null) {
             try {
-                io.gravitee.definition.model.Api apiDefinition = objectMapper.readValue(api.getDefinition(),
-                        io.gravitee.definition.model.Api.class);
+                io.gravitee.definition.model.Api apiDefinition = apiDefinitionCache.get(api);
 
                 apiEntity.setProxy(apiDefinition.getProxy());
                 apiEntity.setPaths(apiDefinition.getPaths());
@@ -17,6 +17,7 @@ package io.gravitee.rest.api.spec.converter.wsdl;
 
 import io.gravitee.rest.api.spec.converter.wsdl.binding.SoapVersion;
 import io.gravitee.rest.api.spec.converter.wsdl.soap.SoapBodyBuilder;
+import io.gravitee.rest.api.spec.converter.wsdl.soap.SchemaTypes;
 import io.gravitee.rest.api.spec.converter.wsdl.soap.SoapHeadersBuilder;
 import io.gravitee.rest.api.spec.converter.wsdl.utils.SampleXmlUtil;
 import org.apache.xmlbeans.*;
@@ -27,6 +28,7 @@ import javax.wsdl.*;
 import javax.wsdl.extensions.schema.Schema;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.*;
 
 import static io.gravitee.rest.api.spec.converter.wsdl.WSDLUtils.detectSoapVersion;
@@ -41,8 +43,12 @@ public class SoapMessageBuilder {
     private final Map<Object, Object> prefixToNamespaces;
     private final XmlOptions options;
 
+    private int maxSampleDepth = Integer.MAX_VALUE;
+    private int maxSampleElements = Integer.MAX_VALUE;
+    private int maxEnvelopeSize = Integer.MAX_VALUE;
+
     private List<XmlObject> schemas = new ArrayList<>();
-    private SchemaTypeSystem shemaTypeSystem;
+    private SchemaTypes schemaTypes;
     private boolean compiled = false;
 
     public SoapMessageBuilder(Map<Object, Object> namespaceMappings) {
@@ -62,6 +68,20 @@ public class SoapMessageBuilder {
         this.options.setSaveSuggestedPrefixes(this.prefixToNamespaces);
     }
 
+    /**
+     * Bound the SOAP envelope samples, so that large or deeply nested messages do not have to be generated entirely.
+     *
+     * @param maxSampleDepth number of nested types beyond which the elements of a message part are left empty
+     * @param maxSampleElements number of elements generated at most for a message part
+     * @param maxEnvelopeSize number of characters of an envelope beyond which the envelope is not generated
+     */
+    public SoapMessageBuilder withLimits(int maxSampleDepth, int maxSampleElements, int maxEnvelopeSize) {
+        this.maxSampleDepth = maxSampleDepth;
+        this.maxSampleElements = maxSampleElements;
+        this.maxEnvelopeSize = maxEnvelopeSize;
+        return this;
+    }
+
     public void addSchema(Schema schema) {
         try {
             schemas.add(XmlObject.Factory.parse(schema.getElement(), this.options));
@@ -71,12 +91,17 @@ public class SoapMessageBuilder {
     }
 
     public void compileSchemas() {
+        // compiled once, even if it fails, so that the schemas are not compiled again for each operation
+        this.compiled = true;
         try {
-            shemaTypeSystem = XmlBeans.compileXsd(schemas.toArray(new XmlObject[schemas.size()]), XmlBeans.getBuiltinTypeSystem(), options);
-            this.compiled = true;
+            SchemaTypeSystem schemaTypeSystem = XmlBeans.compileXsd(schemas.toArray(new XmlObject[schemas.size()]), XmlBeans.getBuiltinTypeSystem(), options);
+            this.schemaTypes = new SchemaTypes(schemaTypeSystem);
         } catch (XmlException e) {
-            LOGGER.debug("Compilation of XSD failed, OpenAPI specification will be generated without SOAP envelop", e);
+            LOGGER.debug("Compilation of XSD failed, SOAP envelopes will be generated with the built-in types only", e);
+            this.schemaTypes = new SchemaTypes(XmlBeans.getBuiltinTypeSystem());
         }
+        // the schema documents are not needed anymore once the types are compiled
+        this.schemas = new ArrayList<>();
     }
 
     public Optional<String> generateSoapEnvelop(Definition wsdlDef, Binding binding, BindingOperation bindingOperation) {
@@ -115,7 +140,8 @@ public class SoapMessageBuilder {
                     .withBindingOperation(bindingOperation)
                     .withCursor(envelopeCursor)
                     .withNamespaceMappings(namespaceMappings)
-                    .withShemaTypeSystem(shemaTypeSystem)
+                    .withSchemaTypes(schemaTypes)
+                    .withSampleLimits(maxSampleDepth, maxSampleElements)
                     .withVersion(version)
                     .build();
 
@@ -126,18 +152,63 @@ public class SoapMessageBuilder {
                     .withBindingOperation(bindingOperation)
                     .withCursor(envelopeCursor)
                     .withNamespaceMappings(namespaceMappings)
-                    .withShemaTypeSystem(shemaTypeSystem)
+                    .withSchemaTypes(schemaTypes)
+                    .withSampleLimits(maxSampleDepth, maxSampleElements)
                     .withVersion(version)
                     .build();
 
             envelopeCursor.dispose();
-            soapEnvelope.save(writer, options);
+            soapEnvelope.save(new BoundedWriter(writer, maxEnvelopeSize), options);
             writer.flush();
             return Optional.ofNullable(writer.toString());
+        } catch (EnvelopeTooLargeException e) {
+            LOGGER.warn("Soap Envelope of operation {} exceeds {} characters, it is not generated",
+                    bindingOperation.getName(), maxEnvelopeSize);
         } catch (IOException e) {
-            LOGGER.debug("Generation of Soap Envelope failed for binding : {} ", binding.getQName(), e);
+            LOGGER.warn("Generation of Soap Envelope failed for operation {} of binding {}",
+                    bindingOperation.getName(), binding.getQName(), e);
         }
         return Optional.empty();
     }
 
+    private static class EnvelopeTooLargeException extends IOException {
+
+        private EnvelopeTooLargeException(long maxSize) {
+            super("Soap Envelope exceeds " + maxSize + " characters");
+        }
+    }
+
+    /**
+     * Stops the serialization of an envelope as soon as it exceeds the maximum size.
+     */
+    private static class BoundedWriter extends Writer {
+
+        private final Writer writer;
+        private final long maxSize;
+        private long size;
+
+        private BoundedWriter(Writer writer, long maxSize) {
+            this.writer = writer;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            size += length;
+            if (size > maxSize) {
+                throw new EnvelopeTooLargeException(maxSize);
+            }
+            writer.write(chars, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
 }
@@ -52,12 +52,33 @@ public class WSDLToOpenAPIConverter implements OpenAPIConverter {
     public static final String SOAP_EXTENSION_ENVELOPE = "x-graviteeio-soap-envelope";
     public static final String SOAP_EXTENSION_ACTION = "x-graviteeio-soap-action";
 
+    public static final int DEFAULT_MAX_SAMPLE_DEPTH = 32;
+    public static final int DEFAULT_MAX_SAMPLE_ELEMENTS = 2000;
+    public static final int DEFAULT_MAX_ENVELOPE_SIZE = 1024 * 1024;
+
+    private int maxSampleDepth = DEFAULT_MAX_SAMPLE_DEPTH;
+    private int maxSampleElements = DEFAULT_MAX_SAMPLE_ELEMENTS;
+    private int maxEnvelopeSize = DEFAULT_MAX_ENVELOPE_SIZE;
+
     private OpenAPI openAPI;
     private Definition wsdlDefinition;
     private SoapMessageBuilder soapBuilder;
 
     private Set<String> serverCache = new HashSet<>();
 
+    /**
+     * Bound the SOAP envelopes generated for the operations: the elements nested deeper than
+     * <code>maxSampleDepth</code> types are left empty, at most <code>maxSampleElements</code> elements are generated
+     * by message part and the envelopes longer than <code>maxEnvelopeSize</code> characters are not added to the
+     * operations.
+     */
+    public WSDLToOpenAPIConverter withLimits(int maxSampleDepth, int maxSampleElements, int maxEnvelopeSize) {
+        this.maxSampleDepth = maxSampleDepth;
+        this.maxSampleElements = maxSampleElements;
+        this.maxEnvelopeSize = maxEnvelopeSize;
+        return this;
+    }
+
     @Override
     public OpenAPI toOpenAPI(String content) {
         return toOpenAPI(new ByteArrayInputStream(content.getBytes()));
@@ -70,14 +91,22 @@ public class WSDLToOpenAPIConverter implements OpenAPIConverter {
         this.wsdlDefinition = loadWSDL(stream);
         // create the SoapBuilder with namespaces declared in the Definition element
         // this allows Apache XmlBeans to load additional Namespaces if required to parse the XSDs
-        this.soapBuilder = new SoapMessageBuilder(wsdlDefinition.getNamespaces());
+        this.soapBuilder = new SoapMessageBuilder(wsdlDefinition.getNamespaces())
+                .withLimits(maxSampleDepth, maxSampleElements, maxEnvelopeSize);
 
         this.openAPI = new OpenAPI();
         buildInfo();
         createSchemaObjects();
         processServices();
 
-        return openAPI;
+        // the WSDL model and the compiled schemas are only needed during the conversion
+        final OpenAPI result = openAPI;
+        this.wsdlDefinition = null;
+        this.soapBuilder = null;
+        this.openAPI = null;
+        this.serverCache.clear();
+
+        return result;
     }
 
     private Definition loadWSDL(InputStream stream) {
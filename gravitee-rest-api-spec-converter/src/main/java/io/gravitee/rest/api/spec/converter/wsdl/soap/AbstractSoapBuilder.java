@@ -18,9 +18,7 @@ package io.gravitee.rest.api.spec.converter.wsdl.soap;
 import io.gravitee.rest.api.spec.converter.wsdl.utils.SampleXmlUtil;
 import io.gravitee.rest.api.spec.converter.wsdl.binding.SoapVersion;
 import org.apache.xmlbeans.SchemaType;
-import org.apache.xmlbeans.SchemaTypeSystem;
 import org.apache.xmlbeans.XmlCursor;
-import org.apache.xmlbeans.impl.schema.BuiltinSchemaTypeSystem;
 
 import javax.wsdl.BindingOperation;
 import javax.wsdl.Part;
@@ -33,8 +31,10 @@ import java.util.Map;
  */
 public abstract class AbstractSoapBuilder {
 
-    private SchemaTypeSystem shemaTypeSystem;
+    private SchemaTypes schemaTypes;
     private Map<Object, Object> namespaceMappings;
+    private int maxSampleDepth = Integer.MAX_VALUE;
+    private int maxSampleElements = Integer.MAX_VALUE;
 
 
     protected SoapVersion version;
@@ -56,8 +56,14 @@ public abstract class AbstractSoapBuilder {
         return this;
     }
 
-    public AbstractSoapBuilder withShemaTypeSystem(SchemaTypeSystem shemaTypeSystem) {
-        this.shemaTypeSystem = shemaTypeSystem;
+    public AbstractSoapBuilder withSchemaTypes(SchemaTypes schemaTypes) {
+        this.schemaTypes = schemaTypes;
+        return this;
+    }
+
+    public AbstractSoapBuilder withSampleLimits(int maxSampleDepth, int maxSampleElements) {
+        this.maxSampleDepth = maxSampleDepth;
+        this.maxSampleElements = maxSampleElements;
         return this;
     }
 
@@ -73,30 +79,23 @@ public abstract class AbstractSoapBuilder {
         if (part.getElementName() != null) {
             QName rootName = new QName(part.getElementName().getNamespaceURI(), part.getElementName().getLocalPart());
 
-            SchemaType[] globalElems = shemaTypeSystem.documentTypes();
-            SchemaType elem = null;
-            for (int j = 0; j < globalElems.length; ++j) {
-                if (rootName.equals(globalElems[j].getDocumentElementName())) {
-                    elem = globalElems[j];
-                    break;
-                }
+            SchemaType elem = schemaTypes.findDocumentType(rootName);
+            if (elem == null) {
+                return;
             }
 
             if (encoded) {
                 cursor.insertAttributeWithValue(SampleXmlUtil.XSI_TYPE, buildPrefixedName(elem));
             }
 
-            new SampleXmlUtil(encoded).createSampleForType(elem, cursor);
+            new SampleXmlUtil(encoded, maxSampleDepth, maxSampleElements).createSampleForType(elem, cursor);
         } else {
-            SchemaType type = shemaTypeSystem.findType(part.getTypeName());
-            if (type == null) {
-                type = BuiltinSchemaTypeSystem.get().findType(part.getTypeName());
-            }
+            SchemaType type = schemaTypes.findType(part.getTypeName());
             if (type != null) {
                 if (encoded) {
                     cursor.insertAttributeWithValue(SampleXmlUtil.XSI_TYPE, buildPrefixedName(type));
                 }
-                new SampleXmlUtil(encoded).createSampleForType(type, cursor);
+                new SampleXmlUtil(encoded, maxSampleDepth, maxSampleElements).createSampleForType(type, cursor);
             }
         }
     }
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.spec.converter.wsdl.soap;
+
+import org.apache.xmlbeans.SchemaType;
+import org.apache.xmlbeans.SchemaTypeSystem;
+import org.apache.xmlbeans.impl.schema.BuiltinSchemaTypeSystem;
+
+import javax.xml.namespace.QName;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the types of the compiled WSDL schemas, shared by the generation of all the SOAP envelopes of a WSDL,
+ * so that the elements and types of the message parts are not searched again for each operation.
+ *
+ * @author GraviteeSource Team
+ */
+public class SchemaTypes {
+
+    private final SchemaTypeSystem schemaTypeSystem;
+    private final Map<QName, SchemaType> documentTypes = new HashMap<>();
+    private final Map<QName, SchemaType> types = new HashMap<>();
+
+    public SchemaTypes(SchemaTypeSystem schemaTypeSystem) {
+        this.schemaTypeSystem = schemaTypeSystem;
+        for (SchemaType documentType : schemaTypeSystem.documentTypes()) {
+            // keep the first declaration of an element, as the previous linear search did
+            documentTypes.putIfAbsent(documentType.getDocumentElementName(), documentType);
+        }
+    }
+
+    /**
+     * @return the document type of the given global element, or <code>null</code> if it is not declared.
+     */
+    public SchemaType findDocumentType(QName elementName) {
+        return documentTypes.get(elementName);
+    }
+
+    /**
+     * @return the given type, declared by the WSDL schemas or built in, or <code>null</code> if it is unknown.
+     */
+    public SchemaType findType(QName typeName) {
+        return types.computeIfAbsent(typeName, name -> {
+            SchemaType type = schemaTypeSystem.findType(name);
+            if (type == null) {
+                type = BuiltinSchemaTypeSystem.get().findType(name);
+            }
+            return type;
+        });
+    }
+}
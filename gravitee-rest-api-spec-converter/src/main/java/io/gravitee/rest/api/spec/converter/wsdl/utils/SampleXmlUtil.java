@@ -79,6 +79,8 @@ public class SampleXmlUtil
     private boolean _soapEnc;
     private static final int MAX_ELEMENTS = 1000;
     private int _nElements;
+    private final int _maxDepth;
+    private final int _maxElements;
 
     public SampleXmlUtil()
     {
@@ -86,8 +88,19 @@ public class SampleXmlUtil
     }
 
     public SampleXmlUtil(boolean soapEnc)
+    {
+        this(soapEnc, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxDepth number of nested types beyond which the elements are left empty
+     * @param maxElements number of elements beyond which no element is generated anymore, even the required ones
+     */
+    public SampleXmlUtil(boolean soapEnc, int maxDepth, int maxElements)
     {
         _soapEnc = soapEnc;
+        _maxDepth = maxDepth;
+        _maxElements = maxElements;
     }
 
 
@@ -102,7 +115,7 @@ public class SampleXmlUtil
      */
     public void createSampleForType(SchemaType stype, XmlCursor xmlc)
     {
-        if (_typeStack.contains( stype ))
+        if (_typeStack.size() >= _maxDepth || _typeStack.contains( stype ))
             return;
 
         _typeStack.add( stype );
@@ -927,9 +940,12 @@ public class SampleXmlUtil
      */
     private void processParticle(SchemaParticle sp, XmlCursor xmlc, boolean mixed)
     {
+        if (_nElements >= _maxElements)
+            return;
+
         int loop = determineMinMaxForSample(sp, xmlc);
 
-        while (loop-- > 0)
+        while (loop-- > 0 && _nElements < _maxElements)
         {
             switch (sp.getParticleType())
             {
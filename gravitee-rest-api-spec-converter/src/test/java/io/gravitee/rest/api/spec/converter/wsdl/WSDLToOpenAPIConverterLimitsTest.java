@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.rest.api.spec.converter.wsdl;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class WSDLToOpenAPIConverterLimitsTest {
+
+    private static final String PATH = "/StockQuoteService/GetLastTradePrice";
+
+    @Test
+    public void shouldGenerateEnvelopeWithDefaultLimits() {
+        String envelope = envelope(new WSDLToOpenAPIConverter());
+
+        assertNotNull(envelope);
+        assertTrue(envelope.contains("tickerSymbol"));
+    }
+
+    @Test
+    public void shouldNotGenerateElementsBeyondLimit() {
+        String envelope = envelope(new WSDLToOpenAPIConverter().withLimits(32, 0, Integer.MAX_VALUE));
+
+        assertNotNull(envelope);
+        assertTrue(envelope.contains("Body"));
+        assertFalse(envelope.contains("tickerSymbol"));
+    }
+
+    @Test
+    public void shouldNotGenerateTypesBeyondDepth() {
+        // the request element is a complex type holding a string: only the complex type is sampled at depth 1
+        String envelope = envelope(new WSDLToOpenAPIConverter().withLimits(1, 2000, Integer.MAX_VALUE));
+
+        assertNotNull(envelope);
+        assertTrue(envelope.contains("tickerSymbol/>"));
+        assertFalse(envelope(new WSDLToOpenAPIConverter()).contains("tickerSymbol/>"));
+    }
+
+    @Test
+    public void shouldNotGenerateAnyTypeAtDepthZero() {
+        String envelope = envelope(new WSDLToOpenAPIConverter().withLimits(0, 2000, Integer.MAX_VALUE));
+
+        assertNotNull(envelope);
+        assertTrue(envelope.contains("Body"));
+        assertFalse(envelope.contains("tickerSymbol"));
+    }
+
+    @Test
+    public void shouldNotGenerateEnvelopeBeyondSize() {
+        assertNull(envelope(new WSDLToOpenAPIConverter().withLimits(32, 2000, 10)));
+    }
+
+    private String envelope(WSDLToOpenAPIConverter converter) {
+        OpenAPI openApi = converter.toOpenAPI(this.getClass().getResourceAsStream("/example.wsdl"));
+        Operation operation = openApi.getPaths().get(PATH).getGet();
+        return (String) operation.getExtensions().get(WSDLToOpenAPIConverter.SOAP_EXTENSION_ENVELOPE);
+    }
+}
@@ -83,6 +83,18 @@ public class JettyConfiguration {
     @Value("${jetty.ssl.truststore.password:#{null}}")
     private String trustStorePassword;
 
+    @Value("${jetty.http2.enabled:false}")
+    private boolean http2Enabled;
+
+    @Value("${jetty.gzip.enabled:true}")
+    private boolean gzipEnabled;
+
+    @Value("${jetty.gzip.minSize:2048}")
+    private int gzipMinSize;
+
+    @Value("${jetty.gzip.mimeTypes:application/json,application/x-yaml,application/xml,text/plain,text/html,text/css,application/javascript}")
+    private String[] gzipMimeTypes;
+
     public String getHttpHost() {
       return httpHost;
     }
@@ -242,4 +254,36 @@ public class JettyConfiguration {
     public void setTrustStoreType(String trustStoreType) {
         this.trustStoreType = trustStoreType;
     }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    public boolean isGzipEnabled() {
+        return gzipEnabled;
+    }
+
+    public void setGzipEnabled(boolean gzipEnabled) {
+        this.gzipEnabled = gzipEnabled;
+    }
+
+    public int getGzipMinSize() {
+        return gzipMinSize;
+    }
+
+    public void setGzipMinSize(int gzipMinSize) {
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    public String[] getGzipMimeTypes() {
+        return gzipMimeTypes;
+    }
+
+    public void setGzipMimeTypes(String[] gzipMimeTypes) {
+        this.gzipMimeTypes = gzipMimeTypes;
+    }
 }
@@ -24,6 +24,7 @@ import javax.servlet.DispatcherType;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.handler.AbstractHandler;
 import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.FilterHolder;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
@@ -56,6 +57,9 @@ public final class JettyEmbeddedContainer extends AbstractLifecycleComponent<Jet
     @Autowired
     private Server server;
 
+    @Autowired
+    private JettyConfiguration jettyConfiguration;
+
     private ApplicationContext applicationContext;
 
     @Value("${http.api.management.enabled:true}")
@@ -98,7 +102,18 @@ public final class JettyEmbeddedContainer extends AbstractLifecycleComponent<Jet
             throw new IllegalStateException("At least one API should be enabled");
         }
 
-        server.setHandler(new ContextHandlerCollection(contexts.toArray(new ServletContextHandler[contexts.size()])));
+        ContextHandlerCollection contextHandlers = new ContextHandlerCollection(contexts.toArray(new ServletContextHandler[contexts.size()]));
+
+        if (jettyConfiguration.isGzipEnabled()) {
+            // Compress the responses, as long as the client accepts it
+            GzipHandler gzipHandler = new GzipHandler();
+            gzipHandler.setMinGzipSize(jettyConfiguration.getGzipMinSize());
+            gzipHandler.setIncludedMimeTypes(jettyConfiguration.getGzipMimeTypes());
+            gzipHandler.setHandler(contextHandlers);
+            server.setHandler(gzipHandler);
+        } else {
+            server.setHandler(contextHandlers);
+        }
 
         // start the server
         server.start();
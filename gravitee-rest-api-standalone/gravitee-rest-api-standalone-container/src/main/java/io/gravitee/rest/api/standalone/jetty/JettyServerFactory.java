@@ -15,7 +15,11 @@
  */
 package io.gravitee.rest.api.standalone.jetty;
 
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
 import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.jmx.MBeanContainer;
 import org.eclipse.jetty.server.*;
 import org.eclipse.jetty.server.handler.StatisticsHandler;
@@ -35,6 +39,7 @@ public class JettyServerFactory implements FactoryBean<Server> {
 
     private final static String KEYSTORE_TYPE_PKCS12 = "pkcs12";
     private final static String KEYSTORE_TYPE_JKS = "jks";
+    private final static String HTTP2_PROTOCOL = "h2";
 
     @Autowired
     private JettyConfiguration jettyConfiguration;
@@ -102,17 +107,37 @@ public class JettyServerFactory implements FactoryBean<Server> {
             HttpConfiguration httpsConfig = new HttpConfiguration(httpConfig);
             httpsConfig.addCustomizer(new SecureRequestCustomizer());
 
-            ServerConnector https = new ServerConnector(server,
-                    new SslConnectionFactory(sslContextFactory, HttpVersion.HTTP_1_1.asString()),
-                    new HttpConnectionFactory(httpsConfig));
+            ServerConnector https;
+            if (jettyConfiguration.isHttp2Enabled()) {
+                // Negotiate HTTP/2 through ALPN, falling back to HTTP/1.1
+                ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory(
+                        HTTP2_PROTOCOL, HttpVersion.HTTP_1_1.asString());
+                alpn.setDefaultProtocol(HttpVersion.HTTP_1_1.asString());
+                sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+
+                https = new ServerConnector(server,
+                        new SslConnectionFactory(sslContextFactory, alpn.getProtocol()),
+                        alpn,
+                        new HTTP2ServerConnectionFactory(httpsConfig),
+                        new HttpConnectionFactory(httpsConfig));
+            } else {
+                https = new ServerConnector(server,
+                        new SslConnectionFactory(sslContextFactory, HttpVersion.HTTP_1_1.asString()),
+                        new HttpConnectionFactory(httpsConfig));
+            }
             https.setHost(jettyConfiguration.getHttpHost());
             https.setPort(jettyConfiguration.getHttpPort());
             server.addConnector(https);
         } else {
+            ConnectionFactory[] connectionFactories = jettyConfiguration.isHttp2Enabled()
+                    // Accept HTTP/2 over clear text (h2c), either by upgrade or with prior knowledge
+                    ? new ConnectionFactory[] { new HttpConnectionFactory(httpConfig), new HTTP2CServerConnectionFactory(httpConfig) }
+                    : new ConnectionFactory[] { new HttpConnectionFactory(httpConfig) };
+
             ServerConnector http = new ServerConnector(server,
                     jettyConfiguration.getAcceptors(),
                     jettyConfiguration.getSelectors(),
-                    new HttpConnectionFactory(httpConfig));
+                    connectionFactories);
             http.setHost(jettyConfiguration.getHttpHost());
             http.setPort(jettyConfiguration.getHttpPort());
             http.setIdleTimeout(jettyConfiguration.getIdleTimeout());